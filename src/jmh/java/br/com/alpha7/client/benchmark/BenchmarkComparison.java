@@ -0,0 +1,118 @@
+package br.com.alpha7.client.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara dois resultados JMH em JSON ({@code -rf json}), por exemplo de dois
+ * commits diferentes.
+ *
+ * <p>
+ * Os benchmarks são associados pelo nome e pelos parâmetros. Uma diferença só é
+ * considerada regressão quando ultrapassa o limite percentual informado e
+ * também a soma das margens de erro das duas medições. Para o modo
+ * {@code thrpt} maior é melhor; para os demais, menor é melhor.
+ * </p>
+ *
+ * <p>
+ * Uso: {@code BenchmarkComparison <base.json> <atual.json> [limite %]}. Termina
+ * com erro quando houver regressões.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD = 5.0;
+
+    private BenchmarkComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparison <base.json> <atual.json> [limite %]");
+            return;
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Base", "Atual", "Dif.");
+
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            JsonNode metric = after.path("primaryMetric");
+
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  (novo)%n",
+                        entry.getKey(), "-", metric.path("score").asDouble(), "-");
+                continue;
+            }
+
+            JsonNode previous = before.path("primaryMetric");
+            double base = previous.path("score").asDouble();
+            double score = metric.path("score").asDouble();
+            double change = base == 0 ? 0 : (score - base) / base * 100;
+            double worse = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+            double error = errorOf(previous) + errorOf(metric);
+
+            boolean regression = worse > threshold && Math.abs(score - base) > error;
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    entry.getKey(), base, score, change, metric.path("scoreUnit").asText(),
+                    regression ? "  REGRESSÃO" : "");
+        }
+
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf("%-70s (removido)%n", name);
+            }
+        }
+
+        if (regressions > 0) {
+            throw new IllegalStateException(String.format(
+                    "%d benchmark(s) com regressão acima de %.1f%%.", regressions, threshold));
+        }
+    }
+
+    /**
+     * Lê o resultado JMH, indexado pelo nome do benchmark e seus parâmetros.
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, JsonNode> results = new TreeMap<>();
+
+        for (JsonNode result : root) {
+            String name = result.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+
+            Map<String, String> params = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            results.put(params.isEmpty() ? name : name + params, result);
+        }
+        return results;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+}
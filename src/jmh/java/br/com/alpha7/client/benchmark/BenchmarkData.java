@@ -0,0 +1,80 @@
+package br.com.alpha7.client.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import br.com.alpha7.client.infrastructure.dto.AuthorDTO;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.dto.PublisherDTO;
+import br.com.alpha7.client.infrastructure.utils.IsbnUtil;
+
+/**
+ * Massa de dados sintética e determinística utilizada pelos benchmarks.
+ *
+ * <p>
+ * Os autores e editoras são sorteados de conjuntos pequenos, como em um
+ * catálogo real, onde os mesmos nomes se repetem em muitos livros.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+final class BenchmarkData {
+
+    private static final int AUTHORS = 500;
+    private static final int PUBLISHERS = 50;
+
+    private BenchmarkData() {}
+
+    /**
+     * Gera a quantidade informada de livros.
+     *
+     * @param count quantidade de livros
+     * @return livros gerados
+     */
+    static List<BookDTO> books(int count) {
+        Random random = new Random(count);
+        List<BookDTO> books = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int authors = 1 + random.nextInt(3);
+            List<AuthorDTO> authorList = new ArrayList<>(authors);
+            for (int a = 0; a < authors; a++) {
+                long id = random.nextInt(AUTHORS);
+                authorList.add(new AuthorDTO(id, "Autor " + id));
+            }
+            long publisher = random.nextInt(PUBLISHERS);
+
+            books.add(BookDTO.builder()
+                    .id((long) i + 1)
+                    .isbn(IsbnUtil.randomIsbn13(random))
+                    .title("Título do livro " + i)
+                    .authors(authorList)
+                    .publishers(Arrays.asList(new PublisherDTO(publisher, "Editora " + publisher)))
+                    .publicationDate(LocalDate.ofEpochDay(random.nextInt(20_000)))
+                    .build());
+        }
+        return books;
+    }
+
+    /**
+     * Gera um relatório de importação com os livros informados e um erro a
+     * cada dez livros.
+     *
+     * @param count quantidade de livros importados
+     * @return relatório gerado
+     */
+    static ImportReportDTO importReport(int count) {
+        List<ImportErrorDTO> errors = new ArrayList<>(count / 10);
+        for (int i = 0; i < count / 10; i++) {
+            errors.add(new ImportErrorDTO(i * 10 + 2, "9780000000000;Título;Autor;2020-01-01", "ISBN inválido"));
+        }
+        return new ImportReportDTO(books(count), errors);
+    }
+
+}
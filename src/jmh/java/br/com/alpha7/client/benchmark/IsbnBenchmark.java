@@ -0,0 +1,176 @@
+package br.com.alpha7.client.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextField;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.alpha7.client.infrastructure.dto.FieldErrorDTO;
+import br.com.alpha7.client.infrastructure.utils.ConvertJTextFieldUtil;
+import br.com.alpha7.client.infrastructure.utils.IsbnUtil;
+
+/**
+ * Compara a validação de ISBN baseada em expressões regulares (implementação
+ * original de {@code ConvertJTextFieldUtil.toISBN}) com {@link IsbnUtil}.
+ *
+ * <p>
+ * A massa contém ISBN-10 e ISBN-13 válidos e inválidos, com e sem hífens.
+ * {@link #textField} mede o caminho completo do formulário, a partir de um
+ * {@link JTextField}. Para observar as alocações por operação, execute com
+ * {@code -prof gc}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class IsbnBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private String[] texts;
+    private byte[] bytes;
+    private int[] offsets;
+    private JTextField field;
+    private List<FieldErrorDTO> errors;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        texts = new String[SIZE];
+        offsets = new int[SIZE + 1];
+        StringBuilder all = new StringBuilder();
+
+        for (int i = 0; i < SIZE; i++) {
+            texts[i] = sample(random);
+            offsets[i] = all.length();
+            all.append(texts[i]);
+        }
+        offsets[SIZE] = all.length();
+        bytes = all.toString().getBytes(StandardCharsets.US_ASCII);
+
+        field = new JTextField();
+        errors = new ArrayList<>();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void legacyRegex(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(legacyToIsbn(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void normalize(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(IsbnUtil.normalize(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void parseCharSequence(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(IsbnUtil.parse(text));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void parseBytes(Blackhole blackhole) {
+        for (int i = 0; i < SIZE; i++) {
+            blackhole.consume(IsbnUtil.parse(bytes, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void textField(Blackhole blackhole) {
+        for (String text : texts) {
+            field.setText(text);
+            blackhole.consume(ConvertJTextFieldUtil.toISBN(field, errors));
+        }
+        errors.clear();
+    }
+
+    /**
+     * Gera um ISBN-13 ou ISBN-10, válido em 3/4 dos casos, com hífens em metade deles.
+     */
+    private static String sample(Random random) {
+        String isbn = IsbnUtil.randomIsbn13(random);
+
+        if (random.nextBoolean()) {
+            isbn = IsbnUtil.toIsbn10(IsbnUtil.parse(isbn));
+        }
+        if (random.nextInt(4) == 0) {
+            isbn = isbn.substring(0, isbn.length() - 1) + (isbn.endsWith("1") ? "2" : "1");
+        }
+        if (random.nextBoolean()) {
+            isbn = isbn.substring(0, 3) + "-" + isbn.substring(3, 6) + "-" + isbn.substring(6);
+        }
+        return isbn;
+    }
+
+    /**
+     * Implementação original, baseada em {@code replaceAll} e {@code matches}.
+     */
+    private static String legacyToIsbn(String value) {
+        String isbn = value.replaceAll("[^0-9Xx]", "");
+        return legacyIsValidIsbn10(isbn) || legacyIsValidIsbn13(isbn) ? isbn.toUpperCase() : null;
+    }
+
+    private static boolean legacyIsValidIsbn10(String isbn) {
+        if (isbn.length() != 10) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = isbn.charAt(i);
+            int value;
+            if (i == 9 && (c == 'X' || c == 'x')) {
+                value = 10;
+            } else if (Character.isDigit(c)) {
+                value = Character.getNumericValue(c);
+            } else {
+                return false;
+            }
+            sum += value * (10 - i);
+        }
+        return sum % 11 == 0;
+    }
+
+    private static boolean legacyIsValidIsbn13(String isbn) {
+        if (isbn.length() != 13 || !isbn.matches("\\d{13}")) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += Character.getNumericValue(isbn.charAt(i)) * ((i % 2 == 0) ? 1 : 3);
+        }
+        return (10 - (sum % 10)) % 10 == Character.getNumericValue(isbn.charAt(12));
+    }
+
+}
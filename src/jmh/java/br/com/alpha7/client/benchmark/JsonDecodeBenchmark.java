@@ -0,0 +1,91 @@
+package br.com.alpha7.client.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.factory.JsonMapperFactory;
+
+/**
+ * Decodificação das respostas do servidor com o mapper da aplicação.
+ *
+ * <p>
+ * Mede a leitura completa de {@code List<BookDTO>} (como em
+ * {@code BaseHttpService.readResponse}), a leitura elemento a elemento
+ * (como em {@code readStreamingResponse}) e a leitura de {@link ImportReportDTO}.
+ * O tempo é por documento decodificado.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int size;
+
+    private ObjectReader listReader;
+    private ObjectReader elementReader;
+    private ObjectReader reportReader;
+
+    private byte[] booksJson;
+    private byte[] reportJson;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = JsonMapperFactory.get();
+        listReader = mapper.readerFor(new TypeReference<List<BookDTO>>() {});
+        elementReader = mapper.readerFor(BookDTO.class);
+        reportReader = mapper.readerFor(ImportReportDTO.class);
+
+        booksJson = mapper.writeValueAsBytes(BenchmarkData.books(size));
+        reportJson = mapper.writeValueAsBytes(BenchmarkData.importReport(size));
+    }
+
+    @Benchmark
+    public List<BookDTO> bookList() throws IOException {
+        return listReader.readValue(new ByteArrayInputStream(booksJson));
+    }
+
+    @Benchmark
+    public void bookStream(Blackhole blackhole) throws IOException {
+        try (MappingIterator<BookDTO> iterator = elementReader.readValues(new ByteArrayInputStream(booksJson))) {
+            while (iterator.hasNextValue()) {
+                blackhole.consume(iterator.nextValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public ImportReportDTO importReport() throws IOException {
+        return reportReader.readValue(new ByteArrayInputStream(reportJson));
+    }
+
+}
@@ -0,0 +1,96 @@
+package br.com.alpha7.client.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.alpha7.client.infrastructure.http.MultipartFileWriter;
+
+/**
+ * Escrita do corpo multipart da importação CSV por {@link MultipartFileWriter}.
+ *
+ * <p>
+ * O corpo é escrito em um fluxo que descarta os bytes, isolando o custo de
+ * leitura do arquivo e cópia para o fluxo da requisição. O arquivo permanece
+ * no cache do sistema operacional após a primeira iteração.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultipartWriterBenchmark {
+
+    @Param({"1", "32"})
+    private int megabytes;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("alpha7-benchmark-", ".csv");
+
+        StringBuilder sb = new StringBuilder("isbn,title,authors,publishers,publicationDate\n");
+        Random random = new Random(megabytes);
+        while (sb.length() < megabytes * 1024 * 1024) {
+            sb.append("978").append(random.nextInt(1_000_000_000))
+              .append(",Título ").append(random.nextInt())
+              .append(",Autor,Editora,2020-01-01\n");
+        }
+        Files.write(file, sb.toString().getBytes("UTF-8"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long writeBody() throws IOException {
+        MultipartFileWriter writer = new MultipartFileWriter(file, "file", "text/csv");
+        DiscardingOutputStream out = new DiscardingOutputStream();
+        writer.writeTo(out);
+        return out.count;
+    }
+
+    /**
+     * Fluxo que apenas contabiliza os bytes recebidos.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package br.com.alpha7.client.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.alpha7.client.controller.BookSearchTableController;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.view.book.BookSearchTablePanel;
+
+/**
+ * Preenchimento da tabela de resultados por {@link BookSearchTableController#fillTable(List)}.
+ *
+ * <p>
+ * A tabela não é exibida (modo headless), de modo que é medido o custo do
+ * controlador e do modelo, sem pintura. {@link #fillAndRenderVisible} inclui a
+ * formatação das células de uma tela de resultados (50 linhas).
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TableFillBenchmark {
+
+    private static final int VISIBLE_ROWS = 50;
+
+    @Param({"100", "10000", "100000"})
+    private int size;
+
+    private List<BookDTO> books;
+    private BookSearchTableController controller;
+    private JTable table;
+
+    @Setup
+    public void setup() {
+        books = BenchmarkData.books(size);
+        BookSearchTablePanel panel = new BookSearchTablePanel();
+        table = panel.getTable();
+        controller = new BookSearchTableController(panel);
+    }
+
+    @Benchmark
+    public void fill() {
+        controller.fillTable(books);
+    }
+
+    @Benchmark
+    public void fillAndRenderVisible(Blackhole blackhole) {
+        controller.fillTable(books);
+
+        int rows = Math.min(VISIBLE_ROWS, table.getRowCount());
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < table.getColumnCount(); column++) {
+                blackhole.consume(table.getValueAt(row, column));
+            }
+        }
+    }
+
+}
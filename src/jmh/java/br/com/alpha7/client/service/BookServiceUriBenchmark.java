@@ -0,0 +1,68 @@
+package br.com.alpha7.client.service;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
+
+/**
+ * Montagem da URI de pesquisa por {@link BookService#buildQuery(BookToSearchDTO)}
+ * e {@link BookService#buildUri(String)}.
+ *
+ * <p>
+ * Fica no pacote do serviço para acessar os métodos de visibilidade de pacote.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookServiceUriBenchmark {
+
+    private BookService service;
+    private BookToSearchDTO emptyFilter;
+    private BookToSearchDTO fullFilter;
+
+    @Setup
+    public void setup() {
+        service = new BookService();
+        emptyFilter = BookToSearchDTO.builder().build();
+        fullFilter = BookToSearchDTO.builder()
+                .isbn("9780306406157")
+                .title("Introdução à programação")
+                .author("José da Silva")
+                .publisher("Editora Ação & Cia")
+                .publicationDate(LocalDate.of(2020, 1, 31))
+                .page(3)
+                .size(200)
+                .build();
+    }
+
+    @Benchmark
+    public URI emptyFilter() {
+        return service.buildUri(service.buildQuery(emptyFilter));
+    }
+
+    @Benchmark
+    public URI fullFilter() {
+        return service.buildUri(service.buildQuery(fullFilter));
+    }
+
+}
@@ -1,5 +1,15 @@
 package br.com.alpha7.client.configuration;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
 /**
  * Configurações do cliente da aplicação Alpha7.
  *
@@ -9,6 +19,17 @@ package br.com.alpha7.client.configuration;
  * aplicação cliente.
  * </p>
  *
+ * <p>
+ * Com várias réplicas do servidor, as URLs base são lidas do arquivo de
+ * configuração externo {@value #CONFIG_FILE} (ou do arquivo indicado pela
+ * propriedade de sistema {@code alpha7.config}), na chave
+ * {@code server.urls}, separadas por vírgulas:
+ * </p>
+ *
+ * <pre>
+ * server.urls=http://app1:8080/alpha7-server/api, http://app2:8080/alpha7-server/api
+ * </pre>
+ *
  * @author Fernando Kramer De Souza
  * @since 1.0.0
  */
@@ -19,11 +40,67 @@ public class ServerConfig {
      *
      * <p>
      * Esta constante define o endpoint principal da API que será consumida
-     * pelo cliente. Caso o endereço do servidor seja alterado, basta atualizar
-     * este valor.
+     * pelo cliente. Pode ser alterada com a propriedade de sistema
+     * {@code alpha7.server.url}.
+     * </p>
+     */
+	public static final String BASE_URL =
+			System.getProperty("alpha7.server.url", "http://localhost:8080/alpha7-server/api");
+
+    /**
+     * Nome do arquivo de configuração externo, procurado no diretório de
+     * trabalho quando a propriedade de sistema {@code alpha7.config} não é informada.
+     */
+	public static final String CONFIG_FILE = "alpha7-client.properties";
+
+    /**
+     * URLs base das réplicas do servidor, entre as quais as requisições são
+     * distribuídas.
+     *
+     * <p>
+     * Lidas, nesta ordem, da propriedade de sistema {@code alpha7.server.urls}
+     * ou da chave {@code server.urls} do arquivo de configuração externo.
+     * Sem nenhuma delas, contém somente {@link #BASE_URL}. A primeira URL é a
+     * base sobre a qual as requisições são montadas.
      * </p>
      */
-	public static final String BASE_URL = "http://localhost:8080/alpha7-server/api";
+	public static final List<String> SERVER_URLS = loadServerUrls();
+
+    /**
+     * Indica se o servidor suporta paginação da pesquisa de livros
+     * (parâmetros {@code page} e {@code size}).
+     *
+     * <p>
+     * Quando habilitada, a tabela de resultados busca as páginas sob demanda
+     * conforme a rolagem, em vez de carregar toda a pesquisa. Pode ser ativada
+     * com a propriedade de sistema {@code alpha7.server.pagination=true}.
+     * </p>
+     */
+	public static final boolean PAGINATION_ENABLED =
+			Boolean.parseBoolean(System.getProperty("alpha7.server.pagination", "false"));
+
+    /**
+     * Quantidade de livros por página quando a paginação está habilitada.
+     */
+	public static final int PAGE_SIZE = Integer.getInteger("alpha7.server.pageSize", 200);
+
+    /**
+     * Quantidade máxima de partes de uma importação CSV enviadas simultaneamente.
+     *
+     * <p>
+     * Arquivos maiores que {@link #IMPORT_CHUNK_SIZE} são divididos em partes,
+     * enviadas em paralelo e processadas de forma independente pelo servidor.
+     * Com o valor {@code 1} o arquivo é sempre enviado em uma única requisição.
+     * Pode ser alterada com a propriedade de sistema {@code alpha7.import.parallelism}.
+     * </p>
+     */
+	public static final int IMPORT_PARALLELISM = Integer.getInteger("alpha7.import.parallelism", 4);
+
+    /**
+     * Tamanho aproximado, em bytes, de cada parte de uma importação CSV
+     * (propriedade de sistema {@code alpha7.import.chunkSize}).
+     */
+	public static final long IMPORT_CHUNK_SIZE = Long.getLong("alpha7.import.chunkSize", 16L * 1024 * 1024);
 
     /**
      * Construtor padrão.
@@ -35,4 +112,39 @@ public class ServerConfig {
      */
 	public ServerConfig() {}
 
+	private static List<String> loadServerUrls() {
+		String configured = System.getProperty("alpha7.server.urls");
+		if (configured == null) {
+			configured = loadConfigFile().getProperty("server.urls");
+		}
+
+		List<String> urls = new ArrayList<>();
+		if (configured != null) {
+			for (String url : configured.split(",")) {
+				if (!url.trim().isEmpty()) {
+					urls.add(url.trim());
+				}
+			}
+		}
+		if (urls.isEmpty()) {
+			urls.add(BASE_URL);
+		}
+		return Collections.unmodifiableList(urls);
+	}
+
+	private static Properties loadConfigFile() {
+		Properties properties = new Properties();
+		String explicit = System.getProperty("alpha7.config");
+		Path path = Paths.get(explicit != null ? explicit : CONFIG_FILE);
+		if (explicit == null && !Files.isRegularFile(path)) {
+			return properties;
+		}
+		try (InputStream in = Files.newInputStream(path)) {
+			properties.load(in);
+		} catch (IOException e) {
+			throw new IllegalStateException("Não foi possível ler o arquivo de configuração " + path, e);
+		}
+		return properties;
+	}
+
 }
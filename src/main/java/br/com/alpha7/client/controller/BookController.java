@@ -2,12 +2,17 @@ package br.com.alpha7.client.controller;
 
 import java.awt.Window;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
+import br.com.alpha7.client.configuration.ServerConfig;
 import br.com.alpha7.client.infrastructure.dto.BookDTO;
 import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.jfr.ClientEvents;
+import br.com.alpha7.client.infrastructure.validation.ServiceErrorDialogHandler;
 import br.com.alpha7.client.service.BookService;
 import br.com.alpha7.client.view.book.BookFormDialog;
 import br.com.alpha7.client.view.book.BookSearchFooterPanel;
@@ -31,13 +36,22 @@ import br.com.alpha7.client.view.book.BookSearchTablePanel;
  *
  * <p>
  * Também coordena a comunicação com a camada de serviço {@link BookService}
- * para operações de CRUD e importação de livros.
+ * para operações de CRUD e importação de livros. As chamadas utilizam a API
+ * assíncrona do serviço, mantendo a Event Dispatch Thread livre durante as
+ * requisições; os resultados são aplicados na interface através de
+ * {@link ExecutorFactory#edt()}.
  * </p>
  * 
  * <p>
  * Todos os eventos de botões são inicializados no método {@link #initListeners()},
  * incluindo busca, limpeza, cadastro e importação de livros.
  * </p>
+ *
+ * <p>
+ * As ações de busca, cadastro e importação emitem eventos do Flight Recorder
+ * ({@link ClientEvents#action(String, String)}) que cobrem do clique até a
+ * aplicação do resultado, ou até o fechamento do diálogo.
+ * </p>
  * 
  * @author Fernando Kramer De Souza
  * @since 1.0.0
@@ -48,13 +62,15 @@ public class BookController {
 	private final BookSearchFormController formController;
     private final BookSearchTableController tableController;
 	private final BookService service;
+	private final SearchSession searchSession = new SearchSession();
 	
     /**
      * Cria um novo controlador para a tela de busca e cadastro de livros.
      *
      * <p>
      * Inicializa os subcontroladores de formulário e tabela, além do serviço
-     * responsável pelas operações de backend.
+     * responsável pelas operações de backend, no qual instala a exibição dos
+     * erros das operações síncronas ({@link ServiceErrorDialogHandler#listener}).
      * </p>
      *
      * @param form painel de formulário de busca de livros
@@ -67,6 +83,7 @@ public class BookController {
 			BookSearchFooterPanel footer) {
 		this.footer = footer;
 		this.service = new BookService();
+		this.service.setErrorListener(ServiceErrorDialogHandler.listener(footer));
 		this.formController = new BookSearchFormController(form);
 		this.tableController = new BookSearchTableController(table);
 		initListeners();
@@ -94,23 +111,89 @@ public class BookController {
      * Caso os filtros sejam inválidos, a operação é cancelada.
      * Os resultados são exibidos na tabela.
      * </p>
+     *
+     * <p>
+     * Uma nova busca aborta a anterior ainda em andamento ({@link SearchSession});
+     * respostas atrasadas e erros de buscas substituídas são descartados.
+     * </p>
+     *
+     * <p>
+     * Quando a paginação do servidor está habilitada
+     * ({@link ServerConfig#PAGINATION_ENABLED}), a busca é paginada; caso
+     * contrário os livros são exibidos progressivamente, em lotes, à medida que chegam do
+     * servidor. A tabela anterior só é limpa quando o primeiro lote chega ou a
+     * busca termina sem resultados; em caso de erro ela é mantida.
+     * </p>
      */
     private void onSearch() {
+        ClientEvents.Action action = ClientEvents.action("BookController", "onSearch");
         BookToSearchDTO filters = formController.getFiltersOrShowErrors();
         if (filters == null) {
+        	action.end("invalid");
             return;
         }
-        List<BookDTO> books = service.searchBooks(filters);
+        if (ServerConfig.PAGINATION_ENABLED) {
+        	searchPaged(filters);
+        	action.end("paged");
+        	return;
+        }
         
-        if(books != null)
-        	tableController.fillTable(books);
+        SearchSession.Ticket ticket = searchSession.begin();
+        AtomicBoolean started = new AtomicBoolean();
+        
+        service.searchBooksStreamingAsync(filters, ticket.getHandle(), batch ->
+        	ExecutorFactory.edt().execute(() -> {
+        		if (!searchSession.isCurrent(ticket)) {
+        			return;
+        		}
+        		if (started.compareAndSet(false, true)) {
+        			tableController.clear();
+        		}
+        		tableController.appendRows(batch);
+        	})
+        ).whenCompleteAsync((total, error) -> {
+            if (!searchSession.isCurrent(ticket)) {
+            	action.end("cancelled");
+                return;
+            }
+            if (error != null) {
+            	action.end("failed");
+                ServiceErrorDialogHandler.show(footer, error, BookService.SEARCH_ERROR);
+                return;
+            }
+            if (started.compareAndSet(false, true)) {
+            	tableController.clear();
+            }
+            action.end("completed");
+        }, ExecutorFactory.edt());
     }
     
 
+    /**
+     * Executa a busca de livros de forma paginada.
+     *
+     * <p>
+     * A tabela passa a buscar as páginas sob demanda conforme a rolagem,
+     * pré-carregando a página seguinte e descartando as mais distantes.
+     * </p>
+     *
+     * @param filters filtros de busca
+     */
+    private void searchPaged(BookToSearchDTO filters) {
+        searchSession.cancel();
+        
+        tableController.showPages(
+        		(page, size, handle) -> service.searchBooksAsync(
+        				filters.toBuilder().page(page).size(size).build(), handle),
+        		ServerConfig.PAGE_SIZE,
+        		error -> ServiceErrorDialogHandler.show(footer, error, BookService.SEARCH_ERROR));
+    }
+
     /**
      * Limpa os filtros do formulário e os dados exibidos na tabela.
      */
     private void onClean() {
+        searchSession.cancel();
         formController.clear();
         tableController.clear();
     }
@@ -124,23 +207,32 @@ public class BookController {
      * </p>
      */
     private void onRegister() {
+	    ClientEvents.Action action = ClientEvents.action("BookController", "onRegister");
 	    Window parent = SwingUtilities.getWindowAncestor(footer);
 
 	    BookFormDialog dialog = new BookFormDialog(parent, null);
 
 	    dialog.onSave(book -> {
 	    	if(book != null)
-	         service.saveBook(book);
+	         service.saveBookAsync(book)
+	         	.whenCompleteAsync((saved, error) -> showIfFailed(parent, error, BookService.SAVE_ERROR),
+	         			ExecutorFactory.edt());
 	    });
 
 	    dialog.onRemove(book -> {
 	    	if(book.getId() != null)
-	         service.deleteBook(book.getId());
+	         service.deleteBookAsync(book.getId())
+	         	.whenCompleteAsync((ignored, error) -> showIfFailed(parent, error, BookService.DELETE_ERROR),
+	         			ExecutorFactory.edt());
 	    });
 	    
-	    dialog.onFindByIsbn(isbn -> {
+	    dialog.onFindByIsbn(isbn -> service.searchByIsbnOpenLibraryAsync(isbn)
+	    		.whenCompleteAsync((dto, error) -> {
 	    	
-	        BookDTO dto = service.searchByIsbnOpenLibrary(isbn);
+	    	if(error != null) {
+	    		ServiceErrorDialogHandler.show(parent, error, BookService.OPEN_LIBRARY_ERROR);
+	    		return;
+	    	}
 	        
 	        if(dto == null) {
 	        	JOptionPane.showMessageDialog(
@@ -153,9 +245,10 @@ public class BookController {
 	        }
 	        
 	        dialog.fillForm(dto);
-	    });
+	    }, ExecutorFactory.edt()));
 	    
 	    dialog.setVisible(true);
+	    action.end("closed");
     }
 	
     /**
@@ -169,9 +262,11 @@ public class BookController {
 	private void onImport() {
 		Window parent = SwingUtilities.getWindowAncestor(footer);
 		BookSearchImportDialog dialog = new BookSearchImportDialog(parent);
+		ClientEvents.Action action = ClientEvents.action("BookController", "onImport");
 		new BookImportController(dialog, service, this);
 		dialog.setLocationRelativeTo(parent);
 		dialog.setVisible(true);
+		action.end("closed");
 	}
 	
     /**
@@ -180,8 +275,22 @@ public class BookController {
      * @param books lista de livros importados
      */
 	public void reloadTableByImport(List<BookDTO> books) {
+		searchSession.cancel();
 		tableController.fillTable(books);
 	}
 	
+    /**
+     * Exibe o erro de uma operação assíncrona, caso exista.
+     *
+     * @param parent componente pai do diálogo
+     * @param error erro ocorrido ou {@code null} em caso de sucesso
+     * @param title título da janela
+     */
+	private void showIfFailed(Window parent, Throwable error, String title) {
+		if (error != null) {
+			ServiceErrorDialogHandler.show(parent, error, title);
+		}
+	}
+	
 }
 
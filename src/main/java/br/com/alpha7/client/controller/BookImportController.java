@@ -1,10 +1,25 @@
 package br.com.alpha7.client.controller;
 
+import java.awt.Cursor;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import br.com.alpha7.client.infrastructure.csv.CsvLineMapping;
+import br.com.alpha7.client.infrastructure.csv.CsvPreValidator;
+import br.com.alpha7.client.infrastructure.csv.CsvValidationResult;
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
 import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.http.UploadProgress;
+import br.com.alpha7.client.infrastructure.validation.ServiceErrorDialogHandler;
 import br.com.alpha7.client.infrastructure.validation.ValidationDialogDefaultHandler;
 import br.com.alpha7.client.service.BookService;
 import br.com.alpha7.client.view.book.BookSearchImportDialog;
@@ -39,6 +54,18 @@ public class BookImportController {
 	private final BookService service;
 	private final BookController controller;
 	
+	/** Colunas da tabela de erros de importação. */
+	private static final String[] ERROR_COLUMNS = {"Linha", "Conteudo", "Erro"};
+	
+	/** Quantidade máxima de erros da pré-validação exibidos antes do envio. */
+	private static final int MAX_PREVIEW_ROWS = 1000;
+	
+	private static final String SEND_VALID = "Enviar somente válidos";
+	private static final String SEND_ALL = "Enviar todos";
+	private static final String CANCEL = "Cancelar";
+	
+	private UploadProgress lastProgress;
+	
     /**
      * Cria um novo controlador de importação de livros.
      *
@@ -74,9 +101,18 @@ public class BookImportController {
      * Executa a importação do arquivo CSV selecionado.
      *
      * <p>
-     * Valida se um arquivo foi selecionado, processa a importação via
-     * {@link BookService}, exibe relatórios de erros em tabela e atualiza
-     * a tabela de livros na tela principal.
+     * Valida se um arquivo foi selecionado e, antes do envio, pré-valida o
+     * arquivo localmente com {@link CsvPreValidator}. Caso existam registros
+     * inválidos, eles são exibidos ao operador, que pode enviar somente os
+     * registros válidos, enviar o arquivo completo ou cancelar.
+     * </p>
+     *
+     * <p>
+     * A importação é processada via {@link BookService} de forma assíncrona.
+     * Enquanto a validação e o envio estão em andamento o botão de importação
+     * fica desabilitado e o andamento é exibido na barra de progresso do
+     * diálogo; ao final, exibe relatórios de erros em tabela e atualiza a
+     * tabela de livros na tela principal.
      * </p>
      *
      * @param dialog diálogo de importação de livros
@@ -91,41 +127,238 @@ public class BookImportController {
             return;
         }
         
-        try {
+        setBusy(true);
+        dialog.showStatus("Validando arquivo...");
+        
+        ExecutorFactory.supplyAsync(() -> {
+        	try {
+        		return CsvPreValidator.validate(file.toPath());
+        	} catch (IOException e) {
+        		throw new UncheckedIOException(e);
+        	}
+        }, ExecutorFactory.background()).whenCompleteAsync((validation, error) -> {
         	
-        	ImportReportDTO result = service.importBooksFromCsv(file);
+        	if (error != null) {
+        		setBusy(false);
+        		dialog.resetProgress();
+        		ServiceErrorDialogHandler.show(dialog, error, BookService.IMPORT_ERROR);
+        		return;
+        	}
         	
-        	String[] columns = {"Linha", "Conteudo", "Erro"};
+        	onValidated(file, validation);
         	
-        	List<Object[]> rows = result.getErrors().stream()
-        	        .map(e -> new Object[]{
-        	                e.getLineNumber(),
-        	                e.getLineContent(),
-        	                e.getMessage()
-        	        })
-        	        .collect(Collectors.toList());
+        }, ExecutorFactory.edt());
+	}
+	
+    /**
+     * Decide o envio conforme o resultado da pré-validação.
+     *
+     * <p>
+     * Sem erros, o arquivo é enviado diretamente. Com erros, os registros
+     * rejeitados são exibidos (no máximo {@value #MAX_PREVIEW_ROWS}) junto das
+     * opções de envio. Enviar somente os válidos gera um arquivo temporário
+     * sem os registros rejeitados.
+     * </p>
+     *
+     * @param file arquivo selecionado
+     * @param validation resultado da pré-validação
+     */
+	private void onValidated(File file, CsvValidationResult validation) {
+		
+		if (!validation.hasErrors()) {
+			upload(file, CsvLineMapping.identity(), Collections.emptyList(), null);
+			return;
+		}
+		
+		boolean canFilter = validation.getValidCount() > 0;
+		String[] options = canFilter
+				? new String[] {SEND_VALID, SEND_ALL, CANCEL}
+				: new String[] {SEND_ALL, CANCEL};
+		
+		int choice = ValidationDialogDefaultHandler.showOptionsWithTable(
+				dialog, getValidationMessage(validation), ERROR_COLUMNS,
+				toRows(validation.getErrors(), MAX_PREVIEW_ROWS), options);
+		String selected = choice >= 0 ? options[choice] : CANCEL;
+		
+		if (SEND_ALL.equals(selected)) {
+			upload(file, CsvLineMapping.identity(), Collections.emptyList(), null);
+			return;
+		}
+		
+		if (!SEND_VALID.equals(selected)) {
+			setBusy(false);
+			dialog.resetProgress();
+			return;
+		}
+		
+		dialog.showStatus("Preparando registros válidos...");
+		
+		ExecutorFactory.supplyAsync(() -> {
+			try {
+				Path filtered = Files.createTempFile("alpha7-import-valid-", ".csv");
+				return new FilteredFile(filtered, validation.writeValidRows(filtered));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, ExecutorFactory.background()).whenCompleteAsync((filtered, error) -> {
+			
+			if (error != null) {
+				setBusy(false);
+				dialog.resetProgress();
+				ServiceErrorDialogHandler.show(dialog, error, BookService.IMPORT_ERROR);
+				return;
+			}
+			
+			upload(filtered.path.toFile(), filtered.mapping, validation.getErrors(), filtered.path);
+			
+		}, ExecutorFactory.edt());
+	}
+	
+    /**
+     * Envia o arquivo ao servidor e exibe o relatório ao final.
+     *
+     * @param file arquivo a ser enviado
+     * @param mapping conversão das linhas do arquivo enviado para o arquivo original
+     * @param rejected erros da pré-validação dos registros não enviados
+     * @param temporary arquivo temporário a ser removido ao final ou {@code null}
+     */
+	private void upload(File file, CsvLineMapping mapping, List<ImportErrorDTO> rejected, Path temporary) {
+		
+        dialog.resetProgress();
+        lastProgress = null;
+        
+        service.importBooksFromCsvAsync(file, progress -> ExecutorFactory.edt().execute(() -> {
+        	lastProgress = progress;
+        	dialog.showProgress(progress);
+        })).whenCompleteAsync((result, error) -> {
         	
-        	ValidationDialogDefaultHandler.showInfoWithTable(
-        			dialog, getMessageToResponse(result), columns, rows);
+        	deleteQuietly(temporary);
+        	setBusy(false);
         	
-            if (!result.getBooks().isEmpty()) {
-                controller.reloadTableByImport(result.getBooks());
-            }
+        	if (error != null) {
+        		dialog.resetProgress();
+        		ServiceErrorDialogHandler.show(dialog, error, BookService.IMPORT_ERROR);
+        		return;
+        	}
         	
-        	dialog.dispose();
+        	showReport(dialog, withRejected(result, mapping, rejected));
         	
-		} catch (Exception e) {
-			ValidationDialogDefaultHandler.showError(dialog,e.getMessage());
-			
+        }, ExecutorFactory.edt());
+	}
+	
+    /**
+     * Converte os números de linha do relatório para o arquivo original e
+     * acrescenta os registros rejeitados na pré-validação.
+     *
+     * @param result relatório retornado pelo servidor
+     * @param mapping conversão das linhas do arquivo enviado para o arquivo original
+     * @param rejected erros da pré-validação
+     * @return relatório referente ao arquivo original
+     */
+	private ImportReportDTO withRejected(ImportReportDTO result, CsvLineMapping mapping, List<ImportErrorDTO> rejected) {
+		
+		if (rejected.isEmpty()) {
+			return result;
+		}
+		
+		List<ImportErrorDTO> errors = new ArrayList<>(rejected);
+		if (result.getErrors() != null) {
+			for (ImportErrorDTO error : result.getErrors()) {
+				errors.add(new ImportErrorDTO(mapping.toOriginalLine(error.getLineNumber()),
+						error.getLineContent(), error.getMessage()));
+			}
+		}
+		errors.sort(Comparator.comparingInt(ImportErrorDTO::getLineNumber));
+		
+		return new ImportReportDTO(result.getBooks(), errors);
+	}
+	
+    /**
+     * Gera a mensagem exibida quando a pré-validação encontra erros.
+     *
+     * @param validation resultado da pré-validação
+     * @return mensagem para exibição
+     */
+	private String getValidationMessage(CsvValidationResult validation) {
+		
+		StringBuilder sb = new StringBuilder();
+		
+		sb.append("Foram encontrados ").append(validation.getRejectedCount())
+			.append(" registros inválidos de ").append(validation.getRecordCount()).append(".\n");
+		sb.append("• Válidos: ").append(validation.getValidCount()).append("\n");
+		
+		if (validation.getErrors().size() > MAX_PREVIEW_ROWS) {
+			sb.append("Exibindo os primeiros ").append(MAX_PREVIEW_ROWS).append(" erros.\n");
+		}
+		return sb.toString();
+	}
+	
+    /**
+     * Converte os erros em linhas da tabela de erros.
+     *
+     * @param errors erros a serem exibidos
+     * @param limit quantidade máxima de linhas
+     * @return linhas da tabela
+     */
+	private static List<Object[]> toRows(List<ImportErrorDTO> errors, int limit) {
+		return errors.stream()
+				.limit(limit)
+				.map(e -> new Object[]{
+						e.getLineNumber(),
+						e.getLineContent(),
+						e.getMessage()
+				})
+				.collect(Collectors.toList());
+	}
+	
+    /**
+     * Habilita ou desabilita o botão de importação e o cursor de espera.
+     *
+     * @param busy {@code true} enquanto a importação está em andamento
+     */
+	private void setBusy(boolean busy) {
+		dialog.getBtnImport().setEnabled(!busy);
+		dialog.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+	}
+	
+	private static void deleteQuietly(Path path) {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			path.toFile().deleteOnExit();
 		}
 	}
 	
+    /**
+     * Exibe o relatório da importação e atualiza a tabela de livros.
+     *
+     * @param dialog diálogo de importação de livros
+     * @param result resultado da importação {@link ImportReportDTO}
+     */
+	private void showReport(BookSearchImportDialog dialog, ImportReportDTO result) {
+        
+        List<Object[]> rows = toRows(result.getErrors(), Integer.MAX_VALUE);
+        
+        ValidationDialogDefaultHandler.showInfoWithTable(
+        		dialog, getMessageToResponse(result), ERROR_COLUMNS, rows);
+        
+        if (result.getBooks() != null && !result.getBooks().isEmpty()) {
+            controller.reloadTableByImport(result.getBooks());
+        }
+        
+        dialog.dispose();
+	}
+	
     /**
      * Gera a mensagem resumida para exibição após a importação.
      *
      * <p>
      * Informa se todos os itens foram importados com sucesso ou se
-     * houve erros, incluindo a quantidade de itens importados e de erros.
+     * houve erros, incluindo a quantidade de itens importados e de erros
+     * e os tempos de envio e de processamento no servidor.
      * </p>
      *
      * @param result resultado da importação {@link ImportReportDTO}
@@ -144,7 +377,29 @@ public class BookImportController {
 		sb.append("Resumo:\n");
 		sb.append("• Importados: ").append(createOrUpdate).append("\n");
 		sb.append("• Erros: ").append(errors).append("\n");
+		
+		if (lastProgress != null && lastProgress.isResponseReceived()) {
+			sb.append("• Tempo de envio: ")
+				.append(BookSearchImportDialog.formatMillis(lastProgress.getTransferMillis()))
+				.append(" (").append(BookSearchImportDialog.formatBytes(lastProgress.getTotalBytes())).append(")\n");
+			sb.append("• Processamento no servidor: ")
+				.append(BookSearchImportDialog.formatMillis(lastProgress.getServerMillis())).append("\n");
+		}
 		return sb.toString();
 	}
 	
+    /**
+     * Arquivo temporário com os registros válidos e o mapeamento de suas linhas.
+     */
+	private static final class FilteredFile {
+		
+		private final Path path;
+		private final CsvLineMapping mapping;
+		
+		private FilteredFile(Path path, CsvLineMapping mapping) {
+			this.path = path;
+			this.mapping = mapping;
+		}
+	}
+	
 }
@@ -1,18 +1,16 @@
 package br.com.alpha7.client.controller;
 
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import javax.swing.JTable;
 import javax.swing.SwingUtilities;
-import javax.swing.table.DefaultTableModel;
 
-import br.com.alpha7.client.infrastructure.dto.AuthorDTO;
 import br.com.alpha7.client.infrastructure.dto.BookDTO;
-import br.com.alpha7.client.infrastructure.dto.PublisherDTO;
+import br.com.alpha7.client.infrastructure.jfr.ClientEvents;
+import br.com.alpha7.client.view.book.BookPagingTableModel;
 import br.com.alpha7.client.view.book.BookSearchTablePanel;
+import br.com.alpha7.client.view.book.BookTableModel;
 
 /**
  * Controlador da tabela de livros na tela de busca da aplicação cliente Alpha7.
@@ -22,13 +20,17 @@ import br.com.alpha7.client.view.book.BookSearchTablePanel;
  * incluindo:
  * <ul>
  *   <li>Preenchimento da tabela com uma lista de {@link BookDTO}</li>
- *   <li>Formatação de datas e concatenação de autores e editoras</li>
+ *   <li>Acréscimo incremental de lotes de {@link BookDTO}</li>
+ *   <li>Exibição de pesquisas paginadas com carregamento sob demanda</li>
+ *   <li>Formatação sob demanda de datas e concatenação de autores e editoras</li>
  *   <li>Limpeza da tabela</li>
  * </ul>
  * </p>
  *
  * <p>
  * O controlador garante que a seleção da tabela seja limpa após cada atualização.
+ * Preenchimentos e acréscimos emitem eventos {@code br.com.alpha7.client.TableFill}
+ * do Flight Recorder ({@link ClientEvents}).
  * </p>
  * 
  * <p>
@@ -40,9 +42,14 @@ import br.com.alpha7.client.view.book.BookSearchTablePanel;
  */
 public class BookSearchTableController {
 
+    /**
+     * Nome da tabela nos eventos do Flight Recorder.
+     */
+    private static final String TABLE_NAME = "BookSearchTable";
+
     private final JTable table;
-    private final DateTimeFormatter formatter =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private final BookTableModel listModel;
+    private BookPagingTableModel pagingModel;
 
     /**
      * Cria um novo controlador para a tabela de busca de livros.
@@ -51,14 +58,39 @@ public class BookSearchTableController {
      */
     public BookSearchTableController(BookSearchTablePanel tablePanel) {
         this.table = tablePanel.getTable();
+        this.listModel = (BookTableModel) table.getModel();
+    }
+
+    /**
+     * Exibe na tabela uma pesquisa paginada, cujas páginas são buscadas sob
+     * demanda conforme a rolagem.
+     *
+     * <p>
+     * A pesquisa paginada anterior, se houver, tem suas requisições canceladas.
+     * </p>
+     *
+     * @param loader responsável por buscar cada página no servidor
+     * @param pageSize quantidade de livros por página
+     * @param onError ação executada caso o carregamento de uma página falhe
+     */
+    public void showPages(BookPagingTableModel.PageLoader loader, int pageSize, Consumer<Throwable> onError) {
+        cancelPaging();
+
+        pagingModel = new BookPagingTableModel(loader, pageSize);
+        pagingModel.onError(onError);
+        pagingModel.onFirstPage(this::clearSelection);
+
+        table.setModel(pagingModel);
+        pagingModel.reset();
     }
 
     /**
      * Preenche a tabela com os livros fornecidos.
      *
      * <p>
-     * Para cada {@link BookDTO}, os campos de autores e editoras são concatenados
-     * em uma string separada por vírgulas, e a data de publicação é formatada como "dd/MM/yyyy".
+     * Os livros são copiados para o modelo colunar {@link BookTableModel}; a
+     * concatenação de autores e editoras e a formatação da data de publicação
+     * ("dd/MM/yyyy") são feitas somente quando as linhas são exibidas.
      * </p>
      *
      * <p>
@@ -68,59 +100,62 @@ public class BookSearchTableController {
      * @param books lista de livros a serem exibidos na tabela
      */
     public void fillTable(List<BookDTO> books) {
+        ClientEvents.TableFill event = ClientEvents.tableFill(TABLE_NAME);
 
-        table.clearSelection();
-        table.getSelectionModel().clearSelection();
-        table.getColumnModel().getSelectionModel().clearSelection();
+        clearSelection();
 
-        DefaultTableModel model =
-                (DefaultTableModel) table.getModel();
-
-        model.setRowCount(0);
-
-        for (BookDTO book : books) {
-
-            String authors = book.getAuthors() != null
-                    ? book.getAuthors().stream()
-                        .map(AuthorDTO::getName)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.joining(", "))
-                    : "";
-
-            String publishers = book.getPublishers() != null
-                    ? book.getPublishers().stream()
-                        .map(PublisherDTO::getName)
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.joining(", "))
-                    : "";
-
-            String publicationDate = book.getPublicationDate() != null
-                    ? book.getPublicationDate().format(formatter)
-                    : "";
-
-            model.addRow(new Object[] {
-                book.getId(),
-                book.getIsbn(),
-                book.getTitle(),
-                authors,
-                publishers,
-                publicationDate,
-                "Editar"
-            });
-        }
+        model().setBooks(books);
+        event.end("fill", books.size(), listModel.getRowCount());
+
+        SwingUtilities.invokeLater(this::clearSelection);
+    }
 
-        SwingUtilities.invokeLater(() -> {
-            table.clearSelection();
-            table.getSelectionModel().clearSelection();
-            table.getColumnModel().getSelectionModel().clearSelection();
-        });
+    /**
+     * Acrescenta os livros fornecidos ao final da tabela.
+     *
+     * <p>
+     * Utilizado pela pesquisa incremental, que entrega os resultados em lotes
+     * à medida que chegam do servidor. Deve ser chamado na Event Dispatch Thread.
+     * </p>
+     *
+     * @param books lote de livros a ser acrescentado
+     */
+    public void appendRows(List<BookDTO> books) {
+        ClientEvents.TableFill event = ClientEvents.tableFill(TABLE_NAME);
+        model().append(books);
+        event.end("append", books.size(), listModel.getRowCount());
     }
 
     /**
      * Limpa todo o conteúdo da tabela.
      */
     public void clear() {
-        ((DefaultTableModel) table.getModel()).setRowCount(0);
+        model().clear();
+    }
+
+    /**
+     * Retorna o modelo de lista, ativando-o caso a tabela esteja exibindo
+     * uma pesquisa paginada.
+     */
+    private BookTableModel model() {
+        if (table.getModel() != listModel) {
+            cancelPaging();
+            table.setModel(listModel);
+        }
+        return listModel;
+    }
+
+    private void cancelPaging() {
+        if (pagingModel != null) {
+            pagingModel.cancelAll();
+            pagingModel = null;
+        }
+    }
+
+    private void clearSelection() {
+        table.clearSelection();
+        table.getSelectionModel().clearSelection();
+        table.getColumnModel().getSelectionModel().clearSelection();
     }
     
 }
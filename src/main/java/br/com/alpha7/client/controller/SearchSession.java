@@ -0,0 +1,87 @@
+package br.com.alpha7.client.controller;
+
+import br.com.alpha7.client.infrastructure.http.RequestHandle;
+
+/**
+ * Sessão de pesquisa de livros com semântica "a última vence".
+ *
+ * <p>
+ * Cada pesquisa iniciada por {@link #begin()} recebe um número de geração e um
+ * {@link RequestHandle} próprio. Ao iniciar uma nova pesquisa, a requisição
+ * anterior ainda em andamento é abortada, e respostas que cheguem atrasadas
+ * são identificadas por {@link #isCurrent(Ticket)} e descartadas antes de
+ * alcançar a tabela.
+ * </p>
+ *
+ * <p>
+ * Os métodos são sincronizados, podendo ser chamados tanto da Event Dispatch
+ * Thread quanto das threads de background.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class SearchSession {
+
+    private long generation;
+    private RequestHandle current;
+
+    /**
+     * Inicia uma nova pesquisa, cancelando a anterior caso ainda esteja em andamento.
+     *
+     * @return identificação da nova pesquisa
+     */
+    public synchronized Ticket begin() {
+        if (current != null) {
+            current.cancel();
+        }
+        current = new RequestHandle();
+        return new Ticket(++generation, current);
+    }
+
+    /**
+     * Cancela a pesquisa em andamento, invalidando respostas pendentes.
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+        generation++;
+    }
+
+    /**
+     * Indica se a pesquisa ainda é a mais recente da sessão.
+     *
+     * @param ticket identificação da pesquisa
+     * @return {@code true} se nenhuma outra pesquisa foi iniciada ou cancelada depois dela
+     */
+    public synchronized boolean isCurrent(Ticket ticket) {
+        return ticket.generation == generation;
+    }
+
+    /**
+     * Identificação de uma pesquisa dentro da sessão.
+     */
+    public static final class Ticket {
+
+        private final long generation;
+        private final RequestHandle handle;
+
+        private Ticket(long generation, RequestHandle handle) {
+            this.generation = generation;
+            this.handle = handle;
+        }
+
+        /** Retorna o número de geração da pesquisa. */
+        public long getGeneration() {
+            return generation;
+        }
+
+        /** Retorna o controle de cancelamento da requisição. */
+        public RequestHandle getHandle() {
+            return handle;
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package br.com.alpha7.client.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Cache em memória limitado, com política LRU (menos recentemente usado) e
+ * expiração por tempo de vida (TTL).
+ *
+ * <p>
+ * Ao atingir a capacidade máxima, a entrada acessada há mais tempo é removida.
+ * Entradas com tempo de vida excedido são descartadas na próxima consulta.
+ * </p>
+ *
+ * <p>
+ * Mantém estatísticas de acertos, falhas, remoções por capacidade, expirações
+ * e invalidações, permitindo dimensionar o cache. Todos os métodos são
+ * sincronizados.
+ * </p>
+ *
+ * <p>
+ * Cada invalidação incrementa a {@link #version() versão} do cache. Valores
+ * obtidos de uma fonte lenta podem ser armazenados com
+ * {@link #put(Object, Object, long)}, que ignora o valor caso alguma
+ * invalidação tenha ocorrido desde o início da consulta, evitando que um
+ * resultado obsoleto volte ao cache.
+ * </p>
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    /**
+     * Cria um novo cache.
+     *
+     * @param maxEntries quantidade máxima de entradas
+     * @param ttlMillis tempo de vida das entradas em milissegundos
+     *                  (zero ou negativo para não expirar)
+     */
+    public LruCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor associado à chave.
+     *
+     * @param key chave da entrada
+     * @return valor armazenado ou {@code null} se ausente ou expirado
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Armazena o valor no cache.
+     *
+     * @param key chave da entrada
+     * @param value valor a ser armazenado
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE));
+    }
+
+    /**
+     * Armazena o valor somente se o cache não foi invalidado desde a versão informada.
+     *
+     * @param key chave da entrada
+     * @param value valor a ser armazenado
+     * @param expectedVersion versão obtida por {@link #version()} antes da consulta
+     * @return {@code true} se o valor foi armazenado
+     */
+    public synchronized boolean put(K key, V value, long expectedVersion) {
+        if (version != expectedVersion) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Remove a entrada associada à chave.
+     *
+     * @param key chave da entrada
+     */
+    public synchronized void invalidate(K key) {
+        version++;
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Remove as entradas que satisfazem o critério informado.
+     *
+     * @param predicate critério aplicado à chave e ao valor de cada entrada
+     * @return quantidade de entradas removidas
+     */
+    public synchronized int invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        version++;
+        int removed = 0;
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Entry<V>> e = it.next();
+            if (predicate.test(e.getKey(), e.getValue().value)) {
+                it.remove();
+                removed++;
+            }
+        }
+        invalidations += removed;
+        return removed;
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public synchronized void invalidateAll() {
+        version++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /**
+     * Retorna a versão atual do cache, incrementada a cada invalidação.
+     *
+     * @return versão do cache
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /** Retorna a quantidade de entradas armazenadas. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Retorna a capacidade máxima do cache. */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /** Retorna o total de consultas atendidas pelo cache. */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** Retorna o total de consultas não atendidas pelo cache. */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Retorna o total de entradas removidas por falta de capacidade. */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /** Retorna o total de entradas descartadas por expiração. */
+    public synchronized long getExpirations() {
+        return expirations;
+    }
+
+    /** Retorna o total de entradas removidas por invalidação. */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Retorna a taxa de acertos do cache.
+     *
+     * @return fração entre 0 e 1 das consultas atendidas pelo cache
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0d : (double) hits / total;
+    }
+
+    /**
+     * Entrada do cache com instante de expiração.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+}
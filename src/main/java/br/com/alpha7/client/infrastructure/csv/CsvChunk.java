@@ -0,0 +1,62 @@
+package br.com.alpha7.client.infrastructure.csv;
+
+import java.nio.file.Path;
+
+/**
+ * Parte de um arquivo CSV gerada por {@link CsvChunkSplitter}.
+ *
+ * <p>
+ * Cada parte é um arquivo temporário com o cabeçalho do arquivo original
+ * seguido de um intervalo contínuo de linhas de dados. O deslocamento
+ * {@link #getLineOffset()} converte um número de linha da parte no número
+ * da linha correspondente no arquivo original.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class CsvChunk {
+
+    private final Path file;
+    private final int index;
+    private final long lineOffset;
+    private final long firstLineNumber;
+
+    CsvChunk(Path file, int index, long lineOffset, long firstLineNumber) {
+        this.file = file;
+        this.index = index;
+        this.lineOffset = lineOffset;
+        this.firstLineNumber = firstLineNumber;
+    }
+
+    /** Retorna o arquivo temporário da parte. */
+    public Path getFile() {
+        return file;
+    }
+
+    /** Retorna a posição da parte, iniciando em zero. */
+    public int getIndex() {
+        return index;
+    }
+
+    /** Retorna o valor a ser somado a um número de linha da parte. */
+    public long getLineOffset() {
+        return lineOffset;
+    }
+
+    /** Retorna o número, no arquivo original, da primeira linha de dados da parte. */
+    public long getFirstLineNumber() {
+        return firstLineNumber;
+    }
+
+    /**
+     * Converte um número de linha da parte no número da linha do arquivo original.
+     *
+     * @param chunkLineNumber número da linha na parte, contando o cabeçalho
+     * @return número da linha no arquivo original
+     */
+    public int toOriginalLine(int chunkLineNumber) {
+        return (int) (chunkLineNumber + lineOffset);
+    }
+
+}
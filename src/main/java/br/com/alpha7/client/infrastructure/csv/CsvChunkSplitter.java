@@ -0,0 +1,193 @@
+package br.com.alpha7.client.infrastructure.csv;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divide um arquivo CSV em partes menores, em limites de linha.
+ *
+ * <p>
+ * A primeira linha é tratada como cabeçalho e repetida no início de cada
+ * parte. As quebras de linha dentro de campos entre aspas são respeitadas,
+ * de modo que um registro nunca é dividido entre duas partes.
+ * </p>
+ *
+ * <p>
+ * O arquivo é percorrido uma única vez, em blocos, e copiado diretamente para
+ * os arquivos temporários das partes, com consumo de memória constante.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class CsvChunkSplitter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Construtor privado para impedir instanciação.
+     */
+    private CsvChunkSplitter() {}
+
+    /**
+     * Divide o arquivo em partes de aproximadamente {@code chunkSize} bytes.
+     *
+     * <p>
+     * Cada parte termina na primeira quebra de linha após atingir o tamanho
+     * informado. Os arquivos temporários devem ser removidos pelo chamador com
+     * {@link #delete(List)}; em caso de falha, as partes já criadas são removidas.
+     * </p>
+     *
+     * @param file arquivo CSV original
+     * @param chunkSize tamanho aproximado de cada parte, em bytes
+     * @return partes geradas, vazia caso o arquivo não possua linhas de dados
+     * @throws IOException caso ocorra falha de leitura ou escrita
+     */
+    public static List<CsvChunk> split(Path file, long chunkSize) throws IOException {
+        List<CsvChunk> chunks = new ArrayList<>();
+        try {
+            new Splitter(chunkSize, chunks).run(file);
+            return chunks;
+        } catch (IOException | RuntimeException e) {
+            delete(chunks);
+            throw e;
+        }
+    }
+
+    /**
+     * Remove os arquivos temporários das partes, ignorando falhas.
+     *
+     * @param chunks partes a serem removidas
+     */
+    public static void delete(List<CsvChunk> chunks) {
+        for (CsvChunk chunk : chunks) {
+            try {
+                Files.deleteIfExists(chunk.getFile());
+            } catch (IOException ignored) {
+                chunk.getFile().toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Estado da divisão de um arquivo.
+     */
+    private static final class Splitter {
+
+        private final long chunkSize;
+        private final List<CsvChunk> chunks;
+
+        private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        private boolean inHeader = true;
+        private long headerLines;
+
+        private boolean inQuotes;
+        private long lines;
+
+        private OutputStream out;
+        private long written;
+
+        private Splitter(long chunkSize, List<CsvChunk> chunks) {
+            this.chunkSize = chunkSize;
+            this.chunks = chunks;
+        }
+
+        private void run(Path file) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            try (InputStream in = Files.newInputStream(file)) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    process(buffer, read);
+                }
+            } finally {
+                closeChunk();
+            }
+        }
+
+        /**
+         * Copia o bloco lido para o cabeçalho ou para a parte atual, encerrando
+         * a parte na primeira quebra de linha fora de aspas após atingir o tamanho.
+         */
+        private void process(byte[] buffer, int length) throws IOException {
+            int start = 0;
+            long startLines = lines;
+
+            for (int i = 0; i < length; i++) {
+                byte b = buffer[i];
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                    continue;
+                }
+                if (b != '\n') {
+                    continue;
+                }
+
+                lines++;
+                if (inQuotes) {
+                    continue;
+                }
+
+                if (inHeader) {
+                    header.write(buffer, start, i + 1 - start);
+                    headerLines = lines;
+                    inHeader = false;
+                } else if (written + (i + 1 - start) >= chunkSize) {
+                    write(buffer, start, i + 1 - start, startLines);
+                    closeChunk();
+                } else {
+                    continue;
+                }
+                start = i + 1;
+                startLines = lines;
+            }
+
+            if (start < length) {
+                if (inHeader) {
+                    header.write(buffer, start, length - start);
+                } else {
+                    write(buffer, start, length - start, startLines);
+                }
+            }
+        }
+
+        /**
+         * Escreve o trecho na parte atual, abrindo uma nova parte caso necessário.
+         *
+         * @param linesBefore linhas do arquivo original anteriores ao trecho
+         */
+        private void write(byte[] buffer, int offset, int length, long linesBefore) throws IOException {
+            if (out == null) {
+                openChunk(linesBefore);
+            }
+            out.write(buffer, offset, length);
+            written += length;
+        }
+
+        /**
+         * Abre a próxima parte, que começa na linha seguinte a {@code linesBefore}.
+         */
+        private void openChunk(long linesBefore) throws IOException {
+            Path path = Files.createTempFile("alpha7-import-", ".csv");
+            chunks.add(new CsvChunk(path, chunks.size(), linesBefore - headerLines, linesBefore + 1));
+
+            out = Files.newOutputStream(path);
+            header.writeTo(out);
+            written = 0;
+        }
+
+        private void closeChunk() throws IOException {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package br.com.alpha7.client.infrastructure.csv;
+
+import java.util.Arrays;
+
+/**
+ * Converte números de linha de um arquivo CSV filtrado nos números de linha
+ * do arquivo original.
+ *
+ * <p>
+ * Cada registro removido desloca as linhas seguintes do arquivo filtrado.
+ * Os deslocamentos acumulados são guardados por ponto de corte, e a conversão
+ * é feita por busca binária.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class CsvLineMapping {
+
+    private static final CsvLineMapping IDENTITY = new CsvLineMapping(new long[0], new long[0]);
+
+    /** Primeira linha do arquivo filtrado afetada por cada remoção. */
+    private final long[] breakpoints;
+
+    /** Total de linhas removidas até cada ponto de corte, inclusive. */
+    private final long[] deltas;
+
+    CsvLineMapping(long[] breakpoints, long[] deltas) {
+        this.breakpoints = breakpoints;
+        this.deltas = deltas;
+    }
+
+    /**
+     * Retorna o mapeamento de um arquivo sem linhas removidas.
+     *
+     * @return mapeamento identidade
+     */
+    public static CsvLineMapping identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Converte um número de linha do arquivo filtrado.
+     *
+     * @param line número da linha no arquivo filtrado
+     * @return número da linha no arquivo original
+     */
+    public int toOriginalLine(int line) {
+        int index = Arrays.binarySearch(breakpoints, line);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // pontos de corte repetidos: utiliza o último
+            while (index + 1 < breakpoints.length && breakpoints[index + 1] == line) {
+                index++;
+            }
+        }
+        return index < 0 ? line : (int) (line + deltas[index]);
+    }
+
+}
@@ -0,0 +1,609 @@
+package br.com.alpha7.client.infrastructure.csv;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.utils.IsbnUtil;
+
+/**
+ * Pré-validação local de arquivos CSV de importação de livros.
+ *
+ * <p>
+ * Permite identificar registros que seriam rejeitados pelo servidor antes do
+ * envio do arquivo. São verificados:
+ * <ul>
+ *   <li>a quantidade de colunas de cada registro</li>
+ *   <li>o preenchimento do ISBN e do título</li>
+ *   <li>o dígito verificador do ISBN-10/13, com as mesmas regras do
+ *       formulário ({@link IsbnUtil}), diretamente sobre os bytes mapeados</li>
+ *   <li>a data de publicação, nos formatos {@code yyyy-MM-dd} ou {@code dd/MM/yyyy}</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * O arquivo é lido por mapeamento em memória ({@link FileChannel#map}), sem
+ * cópia para o heap. Uma primeira passada sequencial, apenas de contagem de
+ * aspas e quebras de linha, divide o arquivo em segmentos alinhados a
+ * registros; os segmentos são então validados em paralelo no pool
+ * {@link ExecutorFactory#compute()}.
+ * </p>
+ *
+ * <p>
+ * A verificação é apenas orientativa: as colunas são localizadas pelo nome
+ * no cabeçalho ({@code isbn}, {@code title} e, opcionalmente,
+ * {@code publicationDate}). Se o cabeçalho não contém as colunas
+ * {@code isbn} e {@code title}, os registros não são verificados e o
+ * resultado não contém erros, deixando a validação do arquivo a cargo do
+ * servidor, como no envio sem pré-validação.
+ * </p>
+ *
+ * <p>
+ * O separador ({@code ,} ou {@code ;}) é detectado pelo cabeçalho. Os números
+ * de linha informados são os do arquivo, contando o cabeçalho como linha 1.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class CsvPreValidator {
+
+    /** Tamanho aproximado de cada segmento validado em paralelo. */
+    private static final long SEGMENT_SIZE = 4L * 1024 * 1024;
+
+    /** Tamanho de cada janela mapeada na passada de divisão. */
+    private static final long SCAN_WINDOW = 64L * 1024 * 1024;
+
+    private static final DateTimeFormatter BR_DATE =
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    /**
+     * Construtor privado para impedir instanciação.
+     */
+    private CsvPreValidator() {}
+
+    /**
+     * Valida o arquivo CSV informado.
+     *
+     * <p>
+     * Bloqueia até o fim da validação; não deve ser chamado na Event Dispatch Thread.
+     * </p>
+     *
+     * @param file arquivo CSV
+     * @return resultado da validação
+     * @throws IOException caso ocorra falha de leitura
+     */
+    public static CsvValidationResult validate(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+            Layout layout = scan(channel);
+            Header header = Header.parse(layout.header);
+
+            if (!header.recognized) {
+                return new CsvValidationResult(file, false, layout.records, new ArrayList<>(),
+                        new long[0], new long[0], new long[0], new long[0]);
+            }
+
+            List<Future<SegmentResult>> futures = new ArrayList<>(layout.segments.size());
+            for (Segment segment : layout.segments) {
+                futures.add(ExecutorFactory.compute().submit(() -> validateSegment(channel, segment, header)));
+            }
+
+            return merge(file, futures);
+        }
+    }
+
+    /**
+     * Combina os resultados dos segmentos, na ordem do arquivo.
+     */
+    private static CsvValidationResult merge(Path file, List<Future<SegmentResult>> futures) throws IOException {
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        LongBuffer starts = new LongBuffer();
+        LongBuffer ends = new LongBuffer();
+        LongBuffer lines = new LongBuffer();
+        LongBuffer lineCounts = new LongBuffer();
+        long records = 0;
+
+        try {
+            for (Future<SegmentResult> future : futures) {
+                SegmentResult result = future.get();
+                records += result.records;
+                errors.addAll(result.errors);
+                starts.addAll(result.starts);
+                ends.addAll(result.ends);
+                lines.addAll(result.lines);
+                lineCounts.addAll(result.lineCounts);
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Validação interrompida");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Falha ao validar o arquivo", e.getCause());
+        }
+
+        return new CsvValidationResult(file, true, records, errors,
+                starts.toArray(), ends.toArray(), lines.toArray(), lineCounts.toArray());
+    }
+
+    /**
+     * Percorre o arquivo uma vez, localizando o cabeçalho e dividindo os
+     * registros em segmentos. Quebras de linha entre aspas não encerram registros.
+     */
+    private static Layout scan(FileChannel channel) throws IOException {
+        Layout layout = new Layout();
+        long size = channel.size();
+
+        boolean inQuotes = false;
+        long lines = 0;
+        long headerEnd = -1;
+        long segmentStart = -1;
+        long segmentLine = 0;
+        boolean recordPending = false;
+
+        for (long position = 0; position < size; position += SCAN_WINDOW) {
+            int length = (int) Math.min(SCAN_WINDOW, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n') {
+                    lines++;
+                    if (inQuotes) {
+                        continue;
+                    }
+                    long end = position + i + 1;
+
+                    if (headerEnd < 0) {
+                        headerEnd = end;
+                        segmentStart = end;
+                        segmentLine = lines + 1;
+                        continue;
+                    }
+                    layout.records++;
+                    recordPending = false;
+
+                    if (end - segmentStart >= SEGMENT_SIZE) {
+                        layout.segments.add(new Segment(segmentStart, end, segmentLine));
+                        segmentStart = end;
+                        segmentLine = lines + 1;
+                    }
+                } else if (headerEnd >= 0) {
+                    recordPending = true;
+                }
+            }
+        }
+
+        if (headerEnd < 0) {
+            headerEnd = size;
+        } else if (segmentStart < size) {
+            layout.segments.add(new Segment(segmentStart, size, segmentLine));
+            if (recordPending) {
+                layout.records++;
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) Math.min(headerEnd, Integer.MAX_VALUE - 8));
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // lê o cabeçalho por completo
+        }
+        layout.header = new String(header.array(), 0, header.position(), StandardCharsets.UTF_8);
+        return layout;
+    }
+
+    /**
+     * Valida os registros de um segmento.
+     */
+    private static SegmentResult validateSegment(FileChannel channel, Segment segment, Header header) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                segment.start, segment.end - segment.start);
+        return new SegmentValidator(buffer, segment, header).run();
+    }
+
+    /**
+     * Normaliza o nome de uma coluna: sem acentos, minúsculo e somente letras e dígitos.
+     */
+    private static String normalizeColumn(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = Character.toLowerCase(normalized.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Divide uma linha em campos, respeitando aspas.
+     */
+    private static List<String> splitLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (c == separator && !inQuotes) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Resultado da passada de divisão.
+     */
+    private static final class Layout {
+        private String header;
+        private long records;
+        private final List<Segment> segments = new ArrayList<>();
+    }
+
+    /**
+     * Intervalo de bytes alinhado a registros, com a linha em que começa.
+     */
+    private static final class Segment {
+
+        private final long start;
+        private final long end;
+        private final long firstLine;
+
+        private Segment(long start, long end, long firstLine) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+        }
+    }
+
+    /**
+     * Colunas identificadas no cabeçalho.
+     */
+    private static final class Header {
+
+        private String text;
+        private boolean recognized;
+        private char separator;
+        private int columns;
+        private int isbn = -1;
+        private int title = -1;
+        private int publicationDate = -1;
+
+        private static Header parse(String raw) {
+            Header header = new Header();
+
+            String text = raw;
+            if (text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            int end = text.length();
+            while (end > 0 && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+                end--;
+            }
+            header.text = text.substring(0, end);
+            header.separator = detectSeparator(header.text);
+
+            List<String> names = splitLine(header.text, header.separator);
+            header.columns = names.size();
+
+            for (int i = 0; i < names.size(); i++) {
+                switch (normalizeColumn(names.get(i))) {
+                case "isbn":
+                    header.isbn = i;
+                    break;
+                case "title":
+                case "titulo":
+                    header.title = i;
+                    break;
+                case "publicationdate":
+                case "datapublicacao":
+                case "datadepublicacao":
+                    header.publicationDate = i;
+                    break;
+                default:
+                    break;
+                }
+            }
+
+            header.recognized = header.isbn >= 0 && header.title >= 0;
+            return header;
+        }
+
+        private static char detectSeparator(String line) {
+            int commas = 0;
+            int semicolons = 0;
+            boolean inQuotes = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (!inQuotes && c == ',') {
+                    commas++;
+                } else if (!inQuotes && c == ';') {
+                    semicolons++;
+                }
+            }
+            return semicolons > commas ? ';' : ',';
+        }
+    }
+
+    /**
+     * Resultado da validação de um segmento.
+     */
+    private static final class SegmentResult {
+        private long records;
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private final LongBuffer starts = new LongBuffer();
+        private final LongBuffer ends = new LongBuffer();
+        private final LongBuffer lines = new LongBuffer();
+        private final LongBuffer lineCounts = new LongBuffer();
+    }
+
+    /**
+     * Percorre os registros de um segmento mapeado, delimitando os campos por
+     * posição e convertendo em texto apenas os campos validados.
+     */
+    private static final class SegmentValidator {
+
+        private final MappedByteBuffer buffer;
+        private final Segment segment;
+        private final Header header;
+        private final byte separator;
+        private final SegmentResult result = new SegmentResult();
+
+        private int[] fieldStarts = new int[16];
+        private int[] fieldEnds = new int[16];
+        private boolean[] fieldQuoted = new boolean[16];
+        private int fieldCount;
+        private byte[] scratch = new byte[256];
+
+        private SegmentValidator(MappedByteBuffer buffer, Segment segment, Header header) {
+            this.buffer = buffer;
+            this.segment = segment;
+            this.header = header;
+            this.separator = (byte) header.separator;
+        }
+
+        private SegmentResult run() {
+            int length = buffer.limit();
+            int recordStart = 0;
+            int fieldStart = 0;
+            boolean quoted = false;
+            boolean inQuotes = false;
+            int newlines = 0;
+            long line = segment.firstLine;
+
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                    if (i == fieldStart) {
+                        quoted = true;
+                    }
+                } else if (inQuotes) {
+                    if (b == '\n') {
+                        newlines++;
+                    }
+                } else if (b == separator) {
+                    addField(fieldStart, i, quoted);
+                    fieldStart = i + 1;
+                    quoted = false;
+                } else if (b == '\n') {
+                    newlines++;
+                    addField(fieldStart, i, quoted);
+                    endRecord(recordStart, i + 1, line, newlines);
+
+                    line += newlines;
+                    recordStart = i + 1;
+                    fieldStart = i + 1;
+                    quoted = false;
+                    newlines = 0;
+                }
+            }
+
+            if (recordStart < length) {
+                addField(fieldStart, length, quoted);
+                endRecord(recordStart, length, line, newlines);
+            }
+            return result;
+        }
+
+        private void addField(int start, int end, boolean quoted) {
+            if (fieldCount == fieldStarts.length) {
+                int capacity = fieldCount * 2;
+                fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+                fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+                fieldQuoted = Arrays.copyOf(fieldQuoted, capacity);
+            }
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount] = end;
+            fieldQuoted[fieldCount] = quoted;
+            fieldCount++;
+        }
+
+        private void endRecord(int start, int end, long line, int newlines) {
+            // remove o '\r' de quebras de linha no formato Windows
+            int last = fieldCount - 1;
+            if (fieldEnds[last] > fieldStarts[last] && buffer.get(fieldEnds[last] - 1) == '\r') {
+                fieldEnds[last]--;
+            }
+
+            boolean blank = fieldCount == 1 && fieldEnds[0] == fieldStarts[0];
+            if (!blank) {
+                result.records++;
+                String problem = validateRecord();
+                if (problem != null) {
+                    reject(start, end, line, newlines, problem);
+                }
+            }
+            fieldCount = 0;
+        }
+
+        private String validateRecord() {
+            StringBuilder problems = null;
+
+            if (fieldCount != header.columns) {
+                problems = append(problems, "Quantidade de colunas inválida: esperado "
+                        + header.columns + ", encontrado " + fieldCount);
+            }
+
+            if (header.isbn < fieldCount) {
+                int start = fieldStarts[header.isbn];
+                int end = fieldEnds[header.isbn];
+                if (isBlank(start, end)) {
+                    problems = append(problems, "ISBN não informado");
+                } else if (IsbnUtil.parse(buffer, start, end) == IsbnUtil.INVALID) {
+                    problems = append(problems, "ISBN inválido: " + value(header.isbn));
+                }
+            }
+
+            if (header.title < fieldCount && isBlank(fieldStarts[header.title], fieldEnds[header.title])) {
+                problems = append(problems, "Título não informado");
+            }
+
+            if (header.publicationDate >= 0 && header.publicationDate < fieldCount) {
+                String date = value(header.publicationDate);
+                if (!date.isEmpty() && !isValidDate(date)) {
+                    problems = append(problems, "Data de publicação inválida: " + date);
+                }
+            }
+
+            return problems != null ? problems.toString() : null;
+        }
+
+        private void reject(int start, int end, long line, int newlines, String problem) {
+            int contentEnd = end;
+            while (contentEnd > start && (buffer.get(contentEnd - 1) == '\n' || buffer.get(contentEnd - 1) == '\r')) {
+                contentEnd--;
+            }
+
+            result.errors.add(new ImportErrorDTO((int) line, decode(start, contentEnd), problem));
+            result.starts.add(segment.start + start);
+            result.ends.add(segment.start + end);
+            result.lines.add(line);
+            result.lineCounts.add(newlines);
+        }
+
+        /**
+         * Indica se o campo não possui conteúdo além de espaços e aspas.
+         */
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != '\t' && b != '"') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Retorna o texto do campo, sem aspas delimitadoras e espaços nas extremidades.
+         */
+        private String value(int field) {
+            int start = fieldStarts[field];
+            int end = fieldEnds[field];
+
+            if (fieldQuoted[field]) {
+                start++;
+                if (end > start && buffer.get(end - 1) == '"') {
+                    end--;
+                }
+                return decode(start, end).replace("\"\"", "\"").trim();
+            }
+            return decode(start, end).trim();
+        }
+
+        private String decode(int start, int end) {
+            int length = end - start;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                scratch[i] = buffer.get(start + i);
+            }
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static StringBuilder append(StringBuilder problems, String problem) {
+        if (problems == null) {
+            return new StringBuilder(problem);
+        }
+        return problems.append("; ").append(problem);
+    }
+
+    private static boolean isValidDate(String value) {
+        try {
+            LocalDate.parse(value, value.indexOf('/') >= 0 ? BR_DATE : DateTimeFormatter.ISO_LOCAL_DATE);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lista de {@code long} sem boxing.
+     */
+    private static final class LongBuffer {
+
+        private long[] values = new long[16];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void addAll(LongBuffer other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
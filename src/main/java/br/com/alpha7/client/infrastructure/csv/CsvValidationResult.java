@@ -0,0 +1,134 @@
+package br.com.alpha7.client.infrastructure.csv;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
+
+/**
+ * Resultado da pré-validação de um arquivo CSV por {@link CsvPreValidator}.
+ *
+ * <p>
+ * Além dos erros encontrados, guarda a posição de cada registro rejeitado,
+ * permitindo gerar uma cópia do arquivo somente com os registros válidos
+ * através de {@link #writeValidRows(Path)}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class CsvValidationResult {
+
+    private final Path file;
+    private final boolean headerValid;
+    private final long records;
+    private final List<ImportErrorDTO> errors;
+
+    private final long[] rejectedStarts;
+    private final long[] rejectedEnds;
+    private final long[] rejectedLines;
+    private final long[] rejectedLineCounts;
+
+    CsvValidationResult(Path file, boolean headerValid, long records, List<ImportErrorDTO> errors,
+            long[] rejectedStarts, long[] rejectedEnds, long[] rejectedLines, long[] rejectedLineCounts) {
+        this.file = file;
+        this.headerValid = headerValid;
+        this.records = records;
+        this.errors = Collections.unmodifiableList(errors);
+        this.rejectedStarts = rejectedStarts;
+        this.rejectedEnds = rejectedEnds;
+        this.rejectedLines = rejectedLines;
+        this.rejectedLineCounts = rejectedLineCounts;
+    }
+
+    /**
+     * Indica se o cabeçalho foi reconhecido pela pré-validação.
+     *
+     * <p>
+     * Quando não reconhecido, os registros não são validados, o resultado
+     * não contém erros e não é possível gerar o arquivo somente com os
+     * registros válidos.
+     * </p>
+     */
+    public boolean isHeaderValid() {
+        return headerValid;
+    }
+
+    /** Indica se foram encontrados erros. */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    /** Retorna os erros encontrados, em ordem de linha. */
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    /** Retorna a quantidade de registros de dados do arquivo. */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /** Retorna a quantidade de registros rejeitados. */
+    public long getRejectedCount() {
+        return rejectedStarts.length;
+    }
+
+    /** Retorna a quantidade de registros válidos. */
+    public long getValidCount() {
+        return records - rejectedStarts.length;
+    }
+
+    /**
+     * Grava uma cópia do arquivo sem os registros rejeitados.
+     *
+     * <p>
+     * Os trechos válidos são copiados diretamente entre os canais de arquivo,
+     * sem passar pela memória da aplicação.
+     * </p>
+     *
+     * @param target arquivo de destino
+     * @return mapeamento das linhas do arquivo gerado para o arquivo original
+     * @throws IOException caso ocorra falha de leitura ou escrita
+     * @throws IllegalStateException caso o cabeçalho seja inválido
+     */
+    public CsvLineMapping writeValidRows(Path target) throws IOException {
+        if (!headerValid) {
+            throw new IllegalStateException("Cabeçalho não reconhecido: não é possível filtrar os registros");
+        }
+
+        long[] breakpoints = new long[rejectedStarts.length];
+        long[] deltas = new long[rejectedStarts.length];
+        long removed = 0;
+
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            long position = 0;
+            for (int i = 0; i < rejectedStarts.length; i++) {
+                copy(in, out, position, rejectedStarts[i]);
+                position = rejectedEnds[i];
+
+                breakpoints[i] = rejectedLines[i] - removed;
+                removed += rejectedLineCounts[i];
+                deltas[i] = removed;
+            }
+            copy(in, out, position, in.size());
+        }
+
+        return new CsvLineMapping(breakpoints, deltas);
+    }
+
+    private static void copy(FileChannel in, FileChannel out, long from, long to) throws IOException {
+        long position = from;
+        while (position < to) {
+            position += in.transferTo(position, to - position, out);
+        }
+    }
+
+}
@@ -17,12 +17,18 @@ import lombok.NoArgsConstructor;
  * </p>
  *
  * <p>
+ * Opcionalmente informa a página ({@code page}, iniciando em zero) e o
+ * tamanho da página ({@code size}) para que o servidor retorne apenas parte
+ * dos resultados.
+ * </p>
+ *
+ * <p>
  * Anotações Lombok são utilizadas para gerar automaticamente:
  * <ul>
  *   <li>Getters e setters (@Data)</li>
  *   <li>Construtor sem argumentos (@NoArgsConstructor)</li>
  *   <li>Construtor com todos os argumentos (@AllArgsConstructor)</li>
- *   <li>Builder para construção fluente (@Builder)</li>
+ *   <li>Builder para construção fluente, inclusive a partir de uma instância existente (@Builder)</li>
  * </ul>
  * </p>
  * 
@@ -32,7 +38,7 @@ import lombok.NoArgsConstructor;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class BookToSearchDTO {
 
 	/** Identificador do livro para busca exata. */
@@ -53,5 +59,11 @@ public class BookToSearchDTO {
 	/** Data de publicação do livro para filtragem por data. */
 	private LocalDate publicationDate;
 	
+	/** Índice da página solicitada, iniciando em zero; {@code null} para todos os resultados. */
+	private Integer page;
+	
+	/** Quantidade de livros por página; {@code null} para todos os resultados. */
+	private Integer size;
+	
 }
 
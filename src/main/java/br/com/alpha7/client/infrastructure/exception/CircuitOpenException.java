@@ -0,0 +1,57 @@
+package br.com.alpha7.client.infrastructure.exception;
+
+/**
+ * Exceção lançada, sem acessar a rede, quando o circuito de um endpoint está
+ * aberto por excesso de falhas recentes.
+ *
+ * <p>
+ * Evita que cada operação aguarde o tempo máximo de conexão de um servidor
+ * indisponível. Após o intervalo de espera o circuito permite uma nova
+ * tentativa de sondagem.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class CircuitOpenException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Endpoint cujo circuito está aberto.
+	 */
+	private final String endpoint;
+
+	/**
+	 * Tempo restante, em milissegundos, até a próxima sondagem.
+	 */
+	private final long retryAfterMillis;
+
+	/**
+	 * Cria a exceção.
+	 *
+	 * @param endpoint endpoint cujo circuito está aberto
+	 * @param retryAfterMillis tempo restante até a próxima sondagem
+	 */
+	public CircuitOpenException(String endpoint, long retryAfterMillis) {
+		super("Servidor indisponível para " + endpoint
+				+ "; nova tentativa em " + Math.max(0, retryAfterMillis / 1000) + " s");
+		this.endpoint = endpoint;
+		this.retryAfterMillis = retryAfterMillis;
+	}
+
+	/**
+	 * @return endpoint cujo circuito está aberto
+	 */
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return tempo restante, em milissegundos, até a próxima sondagem
+	 */
+	public long getRetryAfterMillis() {
+		return retryAfterMillis;
+	}
+
+}
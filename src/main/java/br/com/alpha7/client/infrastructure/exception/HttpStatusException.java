@@ -0,0 +1,45 @@
+package br.com.alpha7.client.infrastructure.exception;
+
+/**
+ * Exceção lançada quando o servidor responde com um status de erro sem
+ * corpo {@link br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO}
+ * (por exemplo, um proxy respondendo {@code 502} ou {@code 503}).
+ *
+ * <p>
+ * Quando o corpo de erro está disponível é lançada {@link ServerException}.
+ * O status permite distinguir falhas transitórias, que podem ser repetidas,
+ * das definitivas.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class HttpStatusException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Código de status HTTP da resposta.
+	 */
+	private final int status;
+
+	/**
+	 * Cria a exceção para o status informado.
+	 *
+	 * @param status código de status HTTP
+	 */
+	public HttpStatusException(int status) {
+		super("Erro HTTP " + status);
+		this.status = status;
+	}
+
+	/**
+	 * Retorna o código de status HTTP da resposta.
+	 *
+	 * @return código de status
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+}
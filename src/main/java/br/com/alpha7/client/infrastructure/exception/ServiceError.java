@@ -0,0 +1,93 @@
+package br.com.alpha7.client.infrastructure.exception;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO;
+
+/**
+ * Falha de uma operação de serviço, entregue a um {@link ServiceErrorListener}.
+ *
+ * <p>
+ * Identifica a operação que falhou (por exemplo {@code BookService.SAVE_ERROR})
+ * e a causa, já sem os envoltórios de operações assíncronas. Quando a causa
+ * é um erro retornado pelo servidor ({@link ServerException}), os detalhes
+ * ficam disponíveis em {@link #getErrorResponse()}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class ServiceError {
+
+    private final String operation;
+    private final Throwable cause;
+
+    /**
+     * Cria a descrição da falha.
+     *
+     * @param operation descrição da operação que falhou
+     * @param cause exceção lançada pela operação
+     */
+    public ServiceError(String operation, Throwable cause) {
+        this.operation = operation;
+        this.cause = unwrap(cause);
+    }
+
+    /**
+     * Retorna a descrição da operação que falhou.
+     *
+     * @return descrição da operação, utilizada também como título de diálogos
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Retorna a causa da falha.
+     *
+     * @return exceção original
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * Indica se a falha é um erro retornado pelo servidor.
+     *
+     * @return {@code true} para {@link ServerException}
+     */
+    public boolean isServerError() {
+        return cause instanceof ServerException;
+    }
+
+    /**
+     * Retorna os detalhes do erro retornado pelo servidor.
+     *
+     * @return detalhes do erro, ou {@code null} se a falha não veio do servidor
+     */
+    public ErrorResponseDTO getErrorResponse() {
+        return isServerError() ? ((ServerException) cause).getErrorResponse() : null;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ": " + cause;
+    }
+
+    /**
+     * Remove os envoltórios de exceções de operações assíncronas.
+     *
+     * @param error exceção recebida
+     * @return causa original
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+}
@@ -0,0 +1,37 @@
+package br.com.alpha7.client.infrastructure.exception;
+
+/**
+ * Destinatário das falhas das operações síncronas dos serviços.
+ *
+ * <p>
+ * As operações síncronas não propagam exceções: em caso de falha retornam
+ * {@code null} e informam o erro ao listener instalado no serviço. A
+ * apresentação ao usuário fica a cargo de quem instala o listener, em geral
+ * um controlador (ver {@code ServiceErrorDialogHandler.listener}); sem
+ * listener, as falhas são apenas descartadas, o que permite utilizar os
+ * serviços em threads de background, processamentos em lote e testes.
+ * </p>
+ *
+ * <p>
+ * O listener é chamado na thread que executou a operação.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ServiceErrorListener {
+
+    /**
+     * Listener que descarta as falhas.
+     */
+    ServiceErrorListener NONE = error -> {};
+
+    /**
+     * Recebe a falha de uma operação.
+     *
+     * @param error descrição da falha
+     */
+    void onError(ServiceError error);
+
+}
@@ -0,0 +1,216 @@
+package br.com.alpha7.client.infrastructure.factory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Fábrica responsável por fornecer os executores utilizados pelas operações
+ * assíncronas da aplicação cliente Alpha7.
+ *
+ * <p>
+ * Centraliza quatro executores:
+ * <ul>
+ *   <li>{@link #background()} — pool limitado de threads nomeadas
+ *       ({@code alpha7-http-N}) para chamadas HTTP fora da Event Dispatch Thread</li>
+ *   <li>{@link #compute()} — pool com uma thread por núcleo ({@code alpha7-compute-N})
+ *       para processamento intensivo de CPU, como a validação de arquivos</li>
+ *   <li>{@link #edt()} — executor que encaminha tarefas para a Event Dispatch Thread,
+ *       utilizado para aplicar os resultados na interface Swing</li>
+ *   <li>{@link #scheduler()} — thread única ({@code alpha7-scheduler}) para
+ *       tarefas agendadas curtas, como o disparo de requisições de reserva</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * A classe é final e não pode ser instanciada, atuando apenas como
+ * um provedor estático dos executores configurados.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class ExecutorFactory {
+
+    /**
+     * Quantidade máxima de threads simultâneas do pool de background.
+     */
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Capacidade da fila de tarefas pendentes do pool de background.
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * Instância única e compartilhada do pool de background.
+     */
+    private static final ExecutorService BACKGROUND = createBackground();
+
+    /**
+     * Instância única e compartilhada do pool de processamento.
+     *
+     * <p>
+     * Separado do pool de background para que tarefas que aguardam o
+     * processamento paralelo não disputem as mesmas threads.
+     * </p>
+     */
+    private static final ExecutorService COMPUTE = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), namedThreadFactory("alpha7-compute"));
+
+    /**
+     * Instância única e compartilhada do agendador.
+     */
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    /**
+     * Executor que executa as tarefas na Event Dispatch Thread.
+     */
+    private static final Executor EDT = command -> {
+        if (SwingUtilities.isEventDispatchThread()) {
+            command.run();
+        } else {
+            SwingUtilities.invokeLater(command);
+        }
+    };
+
+    /**
+     * Cria e configura o pool de background.
+     *
+     * <p>
+     * As threads são daemon para não impedir o encerramento da aplicação e
+     * ociosas são finalizadas após 60 segundos. Quando a fila está cheia a
+     * tarefa é rejeitada, evitando acúmulo ilimitado de requisições.
+     * </p>
+     *
+     * @return pool configurado
+     */
+    private static ExecutorService createBackground() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                POOL_SIZE, POOL_SIZE,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                namedThreadFactory("alpha7-http"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Cria o agendador.
+     *
+     * <p>
+     * As tarefas canceladas são removidas da fila imediatamente, pois a maior
+     * parte dos agendamentos é cancelada antes de vencer.
+     * </p>
+     *
+     * @return agendador configurado
+     */
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, namedThreadFactory("alpha7-scheduler"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Construtor privado para impedir instanciação.
+     */
+    private ExecutorFactory() {}
+
+    /**
+     * Retorna o pool limitado utilizado para chamadas HTTP em background.
+     *
+     * @return executor compartilhado de background
+     */
+    public static ExecutorService background() {
+        return BACKGROUND;
+    }
+
+    /**
+     * Retorna o pool utilizado para processamento intensivo de CPU.
+     *
+     * @return executor compartilhado de processamento
+     */
+    public static ExecutorService compute() {
+        return COMPUTE;
+    }
+
+    /**
+     * Retorna o agendador de tarefas curtas.
+     *
+     * <p>
+     * As tarefas agendadas não devem bloquear: trabalhos demorados devem ser
+     * repassados a {@link #background()}.
+     * </p>
+     *
+     * @return agendador compartilhado
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * Retorna o executor da Event Dispatch Thread.
+     *
+     * <p>
+     * Quando chamado a partir da própria EDT, a tarefa é executada imediatamente.
+     * </p>
+     *
+     * @return executor da EDT
+     */
+    public static Executor edt() {
+        return EDT;
+    }
+
+    /**
+     * Executa a tarefa no executor informado, como
+     * {@link CompletableFuture#supplyAsync(Supplier, Executor)}.
+     *
+     * <p>
+     * Se o executor recusar a tarefa (pool saturado), o futuro é devolvido já
+     * completado com a {@link RejectedExecutionException} em vez de lançá-la
+     * a quem chamou, de modo que os tratadores de conclusão sempre executam.
+     * </p>
+     *
+     * @param task tarefa a ser executada
+     * @param executor executor da tarefa
+     * @param <T> tipo do resultado
+     * @return futuro com o resultado da tarefa
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * Cria uma {@link ThreadFactory} de threads daemon nomeadas com o prefixo informado.
+     *
+     * @param prefix prefixo do nome das threads
+     * @return fábrica de threads
+     */
+    public static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.alpha7.client.infrastructure.exception.CircuitOpenException;
+import br.com.alpha7.client.infrastructure.metrics.EndpointMetrics;
+
+/**
+ * Circuit breaker de um endpoint HTTP.
+ *
+ * <p>
+ * Acompanha o resultado das últimas {@link ResilienceSettings#getWindowSize()}
+ * requisições. Quando a janela tem ao menos
+ * {@link ResilienceSettings#getMinimumCalls()} resultados e a taxa de falhas
+ * atinge {@link ResilienceSettings#getFailureRateThreshold()}, o circuito
+ * <b>abre</b>: as requisições seguintes falham imediatamente com
+ * {@link CircuitOpenException}, sem acessar a rede.
+ * </p>
+ *
+ * <p>
+ * Após {@link ResilienceSettings#getOpenMillis()} o circuito fica
+ * <b>semiaberto</b> e libera até {@link ResilienceSettings#getHalfOpenProbes()}
+ * requisições de sondagem. Uma sondagem bem-sucedida fecha o circuito e
+ * limpa a janela; uma falha o abre novamente.
+ * </p>
+ *
+ * <p>
+ * São consideradas falhas as respostas {@code 5xx}, os timeouts e as falhas
+ * de conexão. Erros de validação ({@code 4xx}) indicam um servidor saudável
+ * e contam como sucesso; requisições canceladas pelo usuário são ignoradas.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * Estados do circuito.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Resultado de uma requisição.
+     */
+    public enum Outcome {
+        SUCCESS, FAILURE, IGNORED
+    }
+
+    private final String name;
+    private final ResilienceSettings settings;
+    private final EndpointMetrics metrics;
+
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+
+    /**
+     * Cria o circuito, inicialmente fechado.
+     *
+     * @param name nome do endpoint, utilizado nas mensagens
+     * @param settings configurações do circuito
+     * @param metrics métricas do endpoint, que recebem o estado e as rejeições
+     */
+    public CircuitBreaker(String name, ResilienceSettings settings, EndpointMetrics metrics) {
+        this.name = name;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.window = new boolean[Math.max(1, settings.getWindowSize())];
+        metrics.setCircuitState(state.name());
+    }
+
+    /**
+     * Solicita permissão para uma requisição.
+     *
+     * @return {@code true} se a requisição é uma sondagem do circuito semiaberto
+     * @throws CircuitOpenException caso o circuito esteja aberto ou sem vagas de sondagem
+     */
+    public synchronized boolean acquire() {
+        if (state == State.OPEN) {
+            long elapsed = System.nanoTime() - openedAt;
+            long openNanos = TimeUnit.MILLISECONDS.toNanos(settings.getOpenMillis());
+            if (elapsed < openNanos) {
+                reject(TimeUnit.NANOSECONDS.toMillis(openNanos - elapsed));
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= Math.max(1, settings.getHalfOpenProbes())) {
+                reject(0);
+            }
+            probesInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Informa o resultado de uma requisição autorizada por {@link #acquire()}.
+     *
+     * @param probe valor retornado por {@link #acquire()}
+     * @param outcome resultado da requisição
+     */
+    public synchronized void onResult(boolean probe, Outcome outcome) {
+        if (probe) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (state != State.HALF_OPEN || outcome == Outcome.IGNORED) {
+                return;
+            }
+            if (outcome == Outcome.SUCCESS) {
+                clearWindow();
+                transition(State.CLOSED);
+            } else {
+                open();
+            }
+            return;
+        }
+
+        // resultados tardios de requisições iniciadas antes da abertura não alteram o circuito
+        if (state != State.CLOSED || outcome == Outcome.IGNORED) {
+            return;
+        }
+        boolean failure = outcome == Outcome.FAILURE;
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        windowNext = (windowNext + 1) % window.length;
+        if (failure) {
+            windowFailures++;
+        }
+
+        if (windowCount >= settings.getMinimumCalls()
+                && windowFailures >= settings.getFailureRateThreshold() * windowCount) {
+            open();
+        }
+    }
+
+    /**
+     * @return estado atual do circuito
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return taxa de falhas da janela atual, entre 0 e 1
+     */
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0 : windowFailures / (double) windowCount;
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        clearWindow();
+        transition(State.OPEN);
+    }
+
+    private void clearWindow() {
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        if (state == next) {
+            return;
+        }
+        State previous = state;
+        state = next;
+        metrics.setCircuitState(next.name());
+        if (next == State.OPEN) {
+            LOG.warn("Circuito de {} aberto ({} -> {}); requisições rejeitadas por {} ms",
+                    name, previous, next, settings.getOpenMillis());
+        } else {
+            LOG.info("Circuito de {}: {} -> {}", name, previous, next);
+        }
+    }
+
+    private void reject(long retryAfterMillis) {
+        metrics.recordRejected();
+        throw new CircuitOpenException(name, retryAfterMillis);
+    }
+
+}
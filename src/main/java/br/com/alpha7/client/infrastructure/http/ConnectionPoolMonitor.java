@@ -0,0 +1,179 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monitor do reaproveitamento de conexões HTTP (keep-alive) do cliente Alpha7.
+ *
+ * <p>
+ * O cache de conexões persistentes do {@link java.net.HttpURLConnection} é
+ * interno ao JDK e não expõe contadores. Esta classe espelha a sua política
+ * (pilha LIFO por rota, limite de {@code http.maxConnections} conexões
+ * ociosas e expiração pelo cabeçalho {@code Keep-Alive} ou 5 segundos) a partir
+ * dos eventos de aquisição e liberação informados pelo
+ * {@link br.com.alpha7.client.service.BaseHttpService}.
+ * </p>
+ *
+ * <p>
+ * Os valores são, portanto, uma estimativa fiel do estado do pool, suficiente
+ * para verificar se as conexões estão de fato sendo reutilizadas.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class ConnectionPoolMonitor {
+
+    /**
+     * Tempo padrão, em milissegundos, que o JDK mantém uma conexão ociosa
+     * quando o servidor não informa o cabeçalho {@code Keep-Alive}.
+     */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 5000;
+
+    private final boolean keepAliveEnabled =
+            Boolean.parseBoolean(System.getProperty("http.keepAlive", "true"));
+
+    private final int maxIdlePerRoute = Integer.getInteger("http.maxConnections", 5);
+
+    /** Instantes de expiração das conexões ociosas, por rota (topo = mais recente). */
+    private final Map<String, Deque<Long>> idleByRoute = new HashMap<>();
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Registra o uso de uma conexão para a URL informada.
+     *
+     * <p>
+     * Caso exista uma conexão ociosa e ainda válida para a mesma rota, ela é
+     * considerada reutilizada; caso contrário, uma nova conexão TCP é contabilizada.
+     * </p>
+     *
+     * @param url endereço da requisição
+     */
+    public synchronized void onAcquire(URL url) {
+        Deque<Long> idle = idleByRoute.get(routeOf(url));
+        long now = System.currentTimeMillis();
+
+        if (idle != null) {
+            while (!idle.isEmpty()) {
+                if (idle.pop() > now) {
+                    reused.incrementAndGet();
+                    return;
+                }
+            }
+        }
+        created.incrementAndGet();
+    }
+
+    /**
+     * Registra a liberação de uma conexão.
+     *
+     * @param url endereço da requisição
+     * @param reusable {@code true} se o corpo foi totalmente consumido e a
+     *                 conexão retornou ao cache do JDK
+     * @param keepAliveMillis tempo de permanência ociosa anunciado pelo servidor
+     */
+    public synchronized void onRelease(URL url, boolean reusable, long keepAliveMillis) {
+        if (!reusable || !keepAliveEnabled) {
+            discarded.incrementAndGet();
+            return;
+        }
+
+        Deque<Long> idle = idleByRoute.computeIfAbsent(routeOf(url), k -> new ArrayDeque<>());
+
+        if (idle.size() >= maxIdlePerRoute) {
+            discarded.incrementAndGet();
+            return;
+        }
+        idle.push(System.currentTimeMillis() + keepAliveMillis);
+    }
+
+    /**
+     * Retorna a quantidade de conexões ociosas ainda válidas no pool.
+     *
+     * @return total de conexões disponíveis para reutilização
+     */
+    public synchronized int getPooledConnections() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+
+        for (Deque<Long> idle : idleByRoute.values()) {
+            Iterator<Long> it = idle.iterator();
+            while (it.hasNext()) {
+                if (it.next() <= now) {
+                    it.remove();
+                } else {
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /** Retorna o total de conexões TCP abertas. */
+    public long getCreatedConnections() {
+        return created.get();
+    }
+
+    /** Retorna o total de requisições atendidas por conexões reutilizadas. */
+    public long getReusedConnections() {
+        return reused.get();
+    }
+
+    /** Retorna o total de conexões encerradas sem retornar ao pool. */
+    public long getDiscardedConnections() {
+        return discarded.get();
+    }
+
+    /**
+     * Retorna a taxa de reutilização de conexões.
+     *
+     * @return fração entre 0 e 1 das requisições que reutilizaram uma conexão
+     */
+    public double getReuseRate() {
+        long r = reused.get();
+        long total = r + created.get();
+        return total == 0 ? 0d : (double) r / total;
+    }
+
+    /**
+     * Interpreta o cabeçalho {@code Keep-Alive} (ex.: {@code timeout=5, max=100}).
+     *
+     * @param header valor do cabeçalho, pode ser {@code null}
+     * @return tempo de permanência ociosa em milissegundos
+     */
+    public static long parseKeepAlive(String header) {
+        if (header == null) {
+            return DEFAULT_KEEP_ALIVE_MILLIS;
+        }
+        for (String part : header.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length == 2 && "timeout".equalsIgnoreCase(pair[0].trim())) {
+                try {
+                    return Long.parseLong(pair[1].trim()) * 1000L;
+                } catch (NumberFormatException ignored) {
+                    break;
+                }
+            }
+        }
+        return DEFAULT_KEEP_ALIVE_MILLIS;
+    }
+
+    /**
+     * Identifica a rota da conexão (protocolo, host e porta), da mesma forma
+     * que o cache de conexões do JDK.
+     */
+    private static String routeOf(URL url) {
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        return url.getProtocol() + "://" + url.getHost() + ":" + port;
+    }
+
+}
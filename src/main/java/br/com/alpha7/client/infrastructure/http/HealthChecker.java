@@ -0,0 +1,166 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+
+/**
+ * Verificação periódica dos servidores de um {@link LoadBalancer}.
+ *
+ * <p>
+ * A cada {@link LoadBalancerSettings#getHealthCheckIntervalMillis()} uma
+ * requisição {@code GET} ao caminho {@link LoadBalancerSettings#getHealthCheckPath()}
+ * de cada servidor é enviada por um pool próprio e pequeno de threads daemon
+ * ({@code alpha7-health-N}), para que servidores fora do ar, que retêm uma
+ * thread até o timeout da verificação, não ocupem o pool de background das
+ * requisições dos usuários. Qualquer resposta
+ * abaixo de {@code 500}, inclusive {@code 404}, indica um servidor no ar; falhas
+ * de conexão, timeouts e respostas {@code 5xx} contam como falha. O resultado
+ * e a duração são registrados no {@link ServerNode}, que deixa de receber
+ * requisições quando fica fora do ar.
+ * </p>
+ *
+ * <p>
+ * Assim um servidor reiniciado é retirado da distribuição antes que as
+ * requisições dos usuários aguardem o seu timeout, e volta a recebê-las
+ * assim que responde.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class HealthChecker {
+
+    /**
+     * Quantidade máxima de verificações simultâneas, somando todos os balanceadores.
+     */
+    private static final int PROBE_THREADS = 2;
+
+    /**
+     * Pool das verificações. A fila não precisa de limite: cada servidor tem
+     * no máximo uma verificação pendente.
+     */
+    private static final ExecutorService PROBES = createProbeExecutor();
+
+    private final List<ServerNode> nodes;
+    private final LoadBalancerSettings settings;
+    private final AtomicBoolean[] running;
+
+    private ScheduledFuture<?> schedule;
+
+    /**
+     * Cria a verificação dos servidores informados, ainda parada.
+     *
+     * @param nodes servidores a verificar
+     * @param settings configurações das verificações
+     */
+    public HealthChecker(List<ServerNode> nodes, LoadBalancerSettings settings) {
+        this.nodes = nodes;
+        this.settings = settings;
+        this.running = new AtomicBoolean[nodes.size()];
+        for (int i = 0; i < running.length; i++) {
+            running[i] = new AtomicBoolean();
+        }
+    }
+
+    /**
+     * Inicia as verificações no agendador compartilhado ({@link ExecutorFactory#scheduler()}).
+     * Não faz nada se o intervalo configurado não for positivo ou se já estiverem iniciadas.
+     */
+    public synchronized void start() {
+        long interval = settings.getHealthCheckIntervalMillis();
+        if (schedule != null || interval <= 0) {
+            return;
+        }
+        schedule = ExecutorFactory.scheduler().scheduleWithFixedDelay(
+                this::checkAll, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe as verificações. Uma verificação em andamento é concluída.
+     */
+    public synchronized void stop() {
+        if (schedule != null) {
+            schedule.cancel(false);
+            schedule = null;
+        }
+    }
+
+    /**
+     * Envia a verificação de cada servidor cuja verificação anterior já terminou.
+     */
+    private void checkAll() {
+        for (int i = 0; i < nodes.size(); i++) {
+            ServerNode node = nodes.get(i);
+            AtomicBoolean busy = running[i];
+            if (!busy.compareAndSet(false, true)) {
+                continue;
+            }
+            PROBES.execute(() -> {
+                try {
+                    check(node);
+                } finally {
+                    busy.set(false);
+                }
+            });
+        }
+    }
+
+    private static ExecutorService createProbeExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                PROBE_THREADS, PROBE_THREADS,
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                ExecutorFactory.namedThreadFactory("alpha7-health"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void check(ServerNode node) {
+        long start = System.nanoTime();
+        boolean responded;
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(node.getBaseUrl() + settings.getHealthCheckPath()).openConnection();
+            connection.setConnectTimeout(settings.getHealthCheckTimeoutMillis());
+            connection.setReadTimeout(settings.getHealthCheckTimeoutMillis());
+            connection.setUseCaches(false);
+            int status = connection.getResponseCode();
+            responded = status > 0 && status < HttpURLConnection.HTTP_INTERNAL_ERROR;
+            drain(status < HttpURLConnection.HTTP_BAD_REQUEST
+                    ? connection.getInputStream() : connection.getErrorStream());
+        } catch (IOException e) {
+            responded = false;
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+        node.onHealthCheck(responded, System.nanoTime() - start);
+    }
+
+    /**
+     * Consome e fecha o corpo, permitindo o reaproveitamento da conexão keep-alive.
+     */
+    private static void drain(InputStream is) throws IOException {
+        if (is == null) {
+            return;
+        }
+        try (InputStream in = is) {
+            byte[] buffer = new byte[1024];
+            while (in.read(buffer) != -1) {
+                // descartado
+            }
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.management.ObjectName;
+
+import br.com.alpha7.client.infrastructure.metrics.MetricsRegistry;
+
+/**
+ * Distribuição das requisições entre réplicas do servidor Alpha7.
+ *
+ * <p>
+ * Os serviços montam as URLs sempre sobre a primeira URL base configurada
+ * ({@link #getBaseUrl()}), de modo que caches, métricas e agrupamentos não
+ * dependem do servidor escolhido. Ao abrir a conexão, a URL é direcionada
+ * ao servidor escolhido por {@link #route(URL, ServerNode)}.
+ * </p>
+ *
+ * <p>
+ * A escolha segue a política <i>power of two choices</i>: dois servidores
+ * disponíveis são sorteados e é escolhido o de menor custo estimado
+ * ({@link ServerNode#getScore()}: latência média vezes requisições em
+ * andamento). Assim a carga se espalha entre as réplicas e os servidores
+ * lentos recebem menos requisições, sem o efeito manada de sempre escolher o
+ * melhor. Servidores fora do ar ou retirados por falhas seguidas não são
+ * sorteados; se nenhum estiver disponível, é utilizado um servidor no ar
+ * cuja retirada termina primeiro, ou, com todos fora do ar, o primeiro a
+ * voltar da retirada.
+ * </p>
+ *
+ * <p>
+ * As distribuições compartilhadas ({@link #forServers(List)}) com mais de um
+ * servidor verificam periodicamente cada um deles ({@link HealthChecker}).
+ * </p>
+ *
+ * <p>
+ * Cada servidor é publicado via JMX como
+ * {@code br.com.alpha7.client:type=ServerNode,name="<url>"}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class LoadBalancer {
+
+    /**
+     * Distribuições compartilhadas, por lista de URLs base.
+     */
+    private static final ConcurrentMap<List<String>, LoadBalancer> SHARED = new ConcurrentHashMap<>();
+
+    private final List<ServerNode> nodes;
+    private final String baseUrl;
+    private final LoadBalancerSettings settings;
+    private final HealthChecker healthChecker;
+
+    /**
+     * Cria a distribuição entre os servidores informados.
+     *
+     * @param baseUrls URLs base da API em cada servidor; a primeira é a URL
+     *                 sobre a qual os serviços montam as requisições
+     * @param settings configurações da distribuição
+     * @throws IllegalArgumentException caso nenhuma URL seja informada
+     */
+    public LoadBalancer(List<String> baseUrls, LoadBalancerSettings settings) {
+        if (baseUrls == null || baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum servidor configurado");
+        }
+        List<ServerNode> created = new ArrayList<>(baseUrls.size());
+        for (String url : baseUrls) {
+            ServerNode node = new ServerNode(trimSlash(url), settings);
+            created.add(node);
+            MetricsRegistry.register(node, "type=ServerNode,name=" + ObjectName.quote(node.getBaseUrl()));
+        }
+        this.nodes = Collections.unmodifiableList(created);
+        this.baseUrl = nodes.get(0).getBaseUrl();
+        this.settings = settings;
+        this.healthChecker = new HealthChecker(nodes, settings);
+    }
+
+    /**
+     * Retorna a distribuição compartilhada entre os servidores informados,
+     * com as configurações de {@link LoadBalancerSettings#fromSystemProperties()}.
+     *
+     * <p>
+     * Serviços criados para a mesma lista compartilham o estado dos
+     * servidores (latências, falhas e retiradas). Com mais de um servidor,
+     * as verificações periódicas são iniciadas.
+     * </p>
+     *
+     * @param baseUrls URLs base da API em cada servidor
+     * @return distribuição compartilhada
+     */
+    public static LoadBalancer forServers(List<String> baseUrls) {
+        List<String> key = new ArrayList<>(baseUrls.size());
+        for (String url : baseUrls) {
+            key.add(trimSlash(url));
+        }
+        return SHARED.computeIfAbsent(Collections.unmodifiableList(key), urls -> {
+            LoadBalancer balancer = new LoadBalancer(urls, LoadBalancerSettings.fromSystemProperties());
+            if (urls.size() > 1) {
+                balancer.getHealthChecker().start();
+            }
+            return balancer;
+        });
+    }
+
+    /**
+     * Escolhe o servidor da próxima requisição.
+     *
+     * @return servidor escolhido
+     */
+    public ServerNode choose() {
+        if (nodes.size() == 1) {
+            return nodes.get(0);
+        }
+
+        long now = System.nanoTime();
+        List<ServerNode> available = new ArrayList<>(nodes.size());
+        for (ServerNode node : nodes) {
+            if (node.isAvailable(now)) {
+                available.add(node);
+            }
+        }
+
+        if (available.isEmpty()) {
+            ServerNode first = null;
+            for (ServerNode node : nodes) {
+                if (first == null || (node.isLive() && !first.isLive())
+                        || (node.isLive() == first.isLive() && node.getEjectedUntil() - first.getEjectedUntil() < 0)) {
+                    first = node;
+                }
+            }
+            return first;
+        }
+        if (available.size() == 1) {
+            return available.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int a = random.nextInt(available.size());
+        int b = random.nextInt(available.size() - 1);
+        if (b >= a) {
+            b++;
+        }
+        ServerNode first = available.get(a);
+        ServerNode second = available.get(b);
+        return second.getScore() < first.getScore() ? second : first;
+    }
+
+    /**
+     * Direciona uma URL montada sobre {@link #getBaseUrl()} ao servidor informado.
+     *
+     * @param url URL da requisição
+     * @param node servidor escolhido
+     * @return URL no servidor; a própria URL se ela não começar pela URL base
+     * @throws MalformedURLException caso a URL resultante seja inválida
+     */
+    public URL route(URL url, ServerNode node) throws MalformedURLException {
+        String external = url.toExternalForm();
+        if (node.getBaseUrl().equals(baseUrl) || !external.startsWith(baseUrl)) {
+            return url;
+        }
+        return new URL(node.getBaseUrl() + external.substring(baseUrl.length()));
+    }
+
+    /**
+     * Indica se uma requisição que não conseguiu conectar pode ser
+     * redirecionada a outro servidor.
+     *
+     * @return {@code true} se há mais de um servidor
+     */
+    public boolean canFailOver() {
+        return nodes.size() > 1;
+    }
+
+    /**
+     * Tempo máximo de conexão de uma requisição: com réplicas, o tempo
+     * configurado em {@link LoadBalancerSettings#getConnectTimeoutMillis()},
+     * para redirecioná-la rapidamente; caso contrário, o tempo informado.
+     *
+     * @param defaultMillis tempo utilizado sem réplicas
+     * @return tempo máximo de conexão, em milissegundos
+     */
+    public int getConnectTimeoutMillis(int defaultMillis) {
+        return canFailOver() ? settings.getConnectTimeoutMillis() : defaultMillis;
+    }
+
+    /**
+     * @return verificação periódica dos servidores
+     */
+    public HealthChecker getHealthChecker() {
+        return healthChecker;
+    }
+
+    /**
+     * @return URL base sobre a qual os serviços montam as requisições
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return servidores da distribuição, na ordem configurada
+     */
+    public List<ServerNode> getNodes() {
+        return nodes;
+    }
+
+    private static String trimSlash(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+}
@@ -0,0 +1,95 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configurações da distribuição de requisições entre os servidores
+ * ({@link LoadBalancer}) e da verificação periódica dos servidores
+ * ({@link HealthChecker}).
+ *
+ * <p>
+ * {@link #fromSystemProperties()} lê as configurações das propriedades de
+ * sistema {@code alpha7.lb.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class LoadBalancerSettings {
+
+	/** Janela, em milissegundos, da média móvel exponencial da latência de cada servidor. */
+	@Builder.Default
+	private long ewmaWindowMillis = 10_000;
+
+	/** Latência, em milissegundos, considerada na média de um servidor a cada falha. */
+	@Builder.Default
+	private long failurePenaltyMillis = 1_000;
+
+	/** Quantidade de falhas consecutivas que retira um servidor da distribuição. */
+	@Builder.Default
+	private int failuresToEject = 3;
+
+	/** Tempo, em milissegundos, da primeira retirada de um servidor. */
+	@Builder.Default
+	private long ejectMillis = 5_000;
+
+	/** Tempo máximo, em milissegundos, de uma retirada, dobrada a cada nova retirada seguida. */
+	@Builder.Default
+	private long maxEjectMillis = 60_000;
+
+	/**
+	 * Tempo máximo, em milissegundos, para conectar a um servidor quando há
+	 * réplicas para onde redirecionar a requisição.
+	 */
+	@Builder.Default
+	private int connectTimeoutMillis = 2_000;
+
+	/** Intervalo, em milissegundos, entre verificações de cada servidor; {@code 0} desabilita. */
+	@Builder.Default
+	private long healthCheckIntervalMillis = 5_000;
+
+	/** Tempo máximo, em milissegundos, de conexão e de resposta de uma verificação. */
+	@Builder.Default
+	private int healthCheckTimeoutMillis = 2_000;
+
+	/** Caminho verificado, relativo à URL base do servidor. */
+	@Builder.Default
+	private String healthCheckPath = "/";
+
+	/** Quantidade de verificações seguidas sem resposta que marca um servidor como fora do ar. */
+	@Builder.Default
+	private int unhealthyThreshold = 2;
+
+	/**
+	 * Cria as configurações a partir das propriedades de sistema
+	 * {@code alpha7.lb.ewmaWindow}, {@code alpha7.lb.failurePenalty},
+	 * {@code alpha7.lb.failuresToEject}, {@code alpha7.lb.eject},
+	 * {@code alpha7.lb.maxEject}, {@code alpha7.lb.connectTimeout},
+	 * {@code alpha7.lb.healthInterval}, {@code alpha7.lb.healthTimeout},
+	 * {@code alpha7.lb.healthPath} e {@code alpha7.lb.unhealthyThreshold}.
+	 *
+	 * @return configurações lidas, com os valores padrão para as ausentes
+	 */
+	public static LoadBalancerSettings fromSystemProperties() {
+		LoadBalancerSettings settings = builder().build();
+		settings.setEwmaWindowMillis(Long.getLong("alpha7.lb.ewmaWindow", settings.ewmaWindowMillis));
+		settings.setFailurePenaltyMillis(Long.getLong("alpha7.lb.failurePenalty", settings.failurePenaltyMillis));
+		settings.setFailuresToEject(Integer.getInteger("alpha7.lb.failuresToEject", settings.failuresToEject));
+		settings.setEjectMillis(Long.getLong("alpha7.lb.eject", settings.ejectMillis));
+		settings.setMaxEjectMillis(Long.getLong("alpha7.lb.maxEject", settings.maxEjectMillis));
+		settings.setConnectTimeoutMillis(Integer.getInteger("alpha7.lb.connectTimeout", settings.connectTimeoutMillis));
+		settings.setHealthCheckIntervalMillis(Long.getLong("alpha7.lb.healthInterval", settings.healthCheckIntervalMillis));
+		settings.setHealthCheckTimeoutMillis(Integer.getInteger("alpha7.lb.healthTimeout", settings.healthCheckTimeoutMillis));
+		settings.setHealthCheckPath(System.getProperty("alpha7.lb.healthPath", settings.healthCheckPath));
+		settings.setUnhealthyThreshold(Integer.getInteger("alpha7.lb.unhealthyThreshold", settings.unhealthyThreshold));
+		return settings;
+	}
+
+}
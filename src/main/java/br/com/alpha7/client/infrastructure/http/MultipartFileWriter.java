@@ -0,0 +1,150 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escritor de corpo {@code multipart/form-data} contendo um único arquivo.
+ *
+ * <p>
+ * O tamanho exato do corpo é calculado antes do envio
+ * ({@link #getContentLength()}), permitindo utilizar
+ * {@link java.net.HttpURLConnection#setFixedLengthStreamingMode(long)}: sem ele
+ * o {@code HttpURLConnection} acumula todo o corpo em memória antes de enviá-lo.
+ * </p>
+ *
+ * <p>
+ * O arquivo é lido de um {@link FileChannel} em blocos de tamanho fixo para um
+ * buffer direto, de modo que o consumo de memória é constante,
+ * independentemente do tamanho do arquivo.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class MultipartFileWriter {
+
+    /**
+     * Tamanho do buffer de leitura do arquivo.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String boundary;
+    private final long fileLength;
+    private final byte[] preamble;
+    private final byte[] epilogue;
+
+    /**
+     * Cria o escritor para o arquivo informado.
+     *
+     * <p>
+     * O tamanho do arquivo é lido neste momento; caso o arquivo seja alterado
+     * antes do envio, a escrita falha em vez de enviar um corpo inconsistente.
+     * </p>
+     *
+     * @param file arquivo a ser enviado
+     * @param fieldName nome do campo do formulário
+     * @param contentType tipo de conteúdo do arquivo (ex.: {@code text/csv})
+     * @throws IOException caso não seja possível ler o tamanho do arquivo
+     */
+    public MultipartFileWriter(Path file, String fieldName, String contentType) throws IOException {
+        this(file, file.getFileName().toString(), fieldName, contentType);
+    }
+
+    /**
+     * Cria o escritor para o arquivo informado, enviando-o com outro nome.
+     *
+     * @param file arquivo a ser enviado
+     * @param fileName nome do arquivo informado ao servidor
+     * @param fieldName nome do campo do formulário
+     * @param contentType tipo de conteúdo do arquivo (ex.: {@code text/csv})
+     * @throws IOException caso não seja possível ler o tamanho do arquivo
+     */
+    public MultipartFileWriter(Path file, String fileName, String fieldName, String contentType) throws IOException {
+        this.file = file;
+        this.boundary = "----Alpha7Boundary" + System.nanoTime();
+        this.fileLength = Files.size(file);
+
+        this.preamble = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + fieldName + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n"
+                + "\r\n").getBytes(StandardCharsets.UTF_8);
+
+        this.epilogue = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retorna o valor do cabeçalho {@code Content-Type}, incluindo o boundary.
+     *
+     * @return tipo de conteúdo do corpo
+     */
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * Retorna o tamanho exato, em bytes, do corpo a ser escrito.
+     *
+     * @return tamanho do corpo
+     */
+    public long getContentLength() {
+        return preamble.length + fileLength + epilogue.length;
+    }
+
+    /**
+     * Retorna o tamanho, em bytes, do arquivo enviado.
+     *
+     * @return tamanho do arquivo
+     */
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * Escreve o corpo completo no fluxo informado.
+     *
+     * @param out fluxo de saída da requisição
+     * @throws IOException caso ocorra falha de leitura ou escrita, ou o
+     *                     arquivo tenha sido reduzido desde a criação do escritor
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(preamble);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long remaining = fileLength;
+
+            while (remaining > 0) {
+                buffer.clear();
+                if (buffer.remaining() > remaining) {
+                    buffer.limit((int) remaining);
+                }
+
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new EOFException("Arquivo alterado durante o envio: " + file);
+                }
+
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                remaining -= read;
+            }
+        }
+
+        out.write(epilogue);
+    }
+
+}
@@ -0,0 +1,131 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Controle de cancelamento de uma requisição HTTP em andamento.
+ *
+ * <p>
+ * O serviço associa a conexão aberta ao handle através de
+ * {@link #attach(HttpURLConnection)}. Ao chamar {@link #cancel()}, a conexão
+ * associada é encerrada, interrompendo imediatamente a escrita ou a leitura
+ * em curso na thread que executa a requisição.
+ * </p>
+ *
+ * <p>
+ * Quando a requisição termina, a conexão é desassociada por
+ * {@link #detach(HttpURLConnection)}, de modo que um cancelamento tardio nunca
+ * encerre um socket já devolvido ao pool keep-alive.
+ * </p>
+ *
+ * <p>
+ * Quem aguarda a requisição sem possuir a conexão, como os chamadores que
+ * compartilham uma consulta em andamento ({@link SingleFlight}), pode ser
+ * avisado do cancelamento por {@link #addCancelListener(Runnable)}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class RequestHandle {
+
+    private HttpURLConnection connection;
+    private boolean cancelled;
+    private List<Runnable> listeners;
+
+    /**
+     * Associa a conexão aberta ao handle.
+     *
+     * @param connection conexão da requisição
+     * @throws CancellationException caso o handle já tenha sido cancelado
+     */
+    public synchronized void attach(HttpURLConnection connection) {
+        if (cancelled) {
+            throw new CancellationException("Requisição cancelada");
+        }
+        this.connection = connection;
+    }
+
+    /**
+     * Desassocia a conexão ao final da requisição.
+     *
+     * @param connection conexão da requisição
+     */
+    public synchronized void detach(HttpURLConnection connection) {
+        if (this.connection == connection) {
+            this.connection = null;
+        }
+    }
+
+    /**
+     * Registra uma ação executada ao cancelar a requisição.
+     *
+     * <p>
+     * Caso o handle já tenha sido cancelado, a ação é executada imediatamente
+     * na thread chamadora.
+     * </p>
+     *
+     * @param listener ação executada uma única vez, na thread que cancelar
+     */
+    public void addCancelListener(Runnable listener) {
+        synchronized (this) {
+            if (!cancelled) {
+                if (listeners == null) {
+                    listeners = new ArrayList<>(2);
+                }
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    /**
+     * Remove uma ação registrada por {@link #addCancelListener(Runnable)}.
+     *
+     * @param listener ação registrada
+     */
+    public synchronized void removeCancelListener(Runnable listener) {
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Cancela a requisição, encerrando a conexão associada caso exista.
+     */
+    public void cancel() {
+        List<Runnable> notify;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (connection != null) {
+                connection.disconnect();
+                connection = null;
+            }
+            notify = listeners;
+            listeners = null;
+        }
+        // executadas fora do monitor, pois podem cancelar outros handles
+        if (notify != null) {
+            for (Runnable listener : notify) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * Indica se a requisição foi cancelada.
+     *
+     * @return {@code true} se {@link #cancel()} foi chamado
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+}
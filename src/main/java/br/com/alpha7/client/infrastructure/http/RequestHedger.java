@@ -0,0 +1,143 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.util.concurrent.TimeUnit;
+
+import br.com.alpha7.client.infrastructure.metrics.EndpointMetrics;
+import br.com.alpha7.client.infrastructure.metrics.LatencyHistogram;
+
+/**
+ * Política de requisições de reserva (hedging) de um endpoint.
+ *
+ * <p>
+ * Quando uma consulta não responde dentro do percentil configurado da
+ * latência observada do endpoint ({@link ResilienceSettings#getHedgePercentile()},
+ * por padrão o p95), uma segunda requisição idêntica é enviada e a primeira
+ * resposta é utilizada. Assim somente as requisições mais lentas geram
+ * carga adicional.
+ * </p>
+ *
+ * <p>
+ * A espera é recalculada a cada segundo a partir das latências das
+ * requisições originais. Quando a reserva vence, a original é amostrada com
+ * o tempo decorrido até o seu cancelamento; assim as reservas não removem a
+ * cauda lenta da distribuição nem reduzem a espera progressivamente. A distribuição é reiniciada a cada
+ * {@value #WINDOW_SAMPLES} amostras, para acompanhar mudanças no
+ * comportamento do servidor. Enquanto não houver
+ * {@link ResilienceSettings#getHedgeMinSamples()} amostras, nenhuma reserva
+ * é enviada.
+ * </p>
+ *
+ * <p>
+ * O envio é limitado por um orçamento: cada requisição acumula
+ * {@link ResilienceSettings#getHedgeBudgetRatio()} créditos, até
+ * {@link ResilienceSettings#getHedgeBudgetBurst()}, e cada reserva consome
+ * um crédito. Com o servidor sobrecarregado, quando quase todas as
+ * requisições ficam lentas, as reservas não dobram a carga.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class RequestHedger {
+
+    /**
+     * Quantidade de amostras após a qual a distribuição de latências é reiniciada.
+     */
+    private static final int WINDOW_SAMPLES = 1000;
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ResilienceSettings settings;
+    private final EndpointMetrics metrics;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    private volatile long delayNanos = -1;
+    private volatile long refreshedAt = System.nanoTime() - REFRESH_NANOS;
+
+    private double credits;
+
+    /**
+     * Cria a política de um endpoint.
+     *
+     * @param settings configurações de reserva
+     * @param metrics métricas do endpoint, que recebem as reservas enviadas e vencedoras
+     */
+    public RequestHedger(ResilienceSettings settings, EndpointMetrics metrics) {
+        this.settings = settings;
+        this.metrics = metrics;
+        this.credits = settings.getHedgeBudgetBurst();
+    }
+
+    /**
+     * Contabiliza uma requisição no orçamento e retorna a espera antes da reserva.
+     *
+     * @return espera em nanossegundos, ou negativo se ainda não há amostras suficientes
+     */
+    public long onRequest() {
+        synchronized (this) {
+            credits = Math.min(settings.getHedgeBudgetBurst(), credits + settings.getHedgeBudgetRatio());
+        }
+        long now = System.nanoTime();
+        if (now - refreshedAt >= REFRESH_NANOS) {
+            refresh(now);
+        }
+        return delayNanos;
+    }
+
+    /**
+     * Consome um crédito do orçamento para enviar uma reserva.
+     *
+     * @return {@code true} se a reserva pode ser enviada
+     */
+    public synchronized boolean tryAcquire() {
+        if (credits < 1) {
+            return false;
+        }
+        credits -= 1;
+        metrics.recordHedge();
+        return true;
+    }
+
+    /**
+     * Registra a latência de uma requisição original, desde o seu início.
+     *
+     * @param nanos tempo até a resposta, ou até o cancelamento quando a reserva vence
+     */
+    public void recordLatency(long nanos) {
+        latencies.record(nanos);
+    }
+
+    /**
+     * Registra que a reserva respondeu antes da requisição original.
+     */
+    public void recordWin() {
+        metrics.recordHedgeWin();
+    }
+
+    /**
+     * @return espera atual antes da reserva, em milissegundos, ou negativo se desabilitada
+     */
+    public double getDelayMillis() {
+        long delay = delayNanos;
+        return delay < 0 ? -1 : delay / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private synchronized void refresh(long now) {
+        if (now - refreshedAt < REFRESH_NANOS) {
+            return;
+        }
+        refreshedAt = now;
+
+        LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+        if (snapshot.getCount() >= settings.getHedgeMinSamples()) {
+            long percentile = (long) (snapshot.getPercentileMillis(settings.getHedgePercentile())
+                    * TimeUnit.MILLISECONDS.toNanos(1));
+            delayNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(settings.getHedgeMinDelayMillis()), percentile);
+        }
+        if (snapshot.getCount() >= WINDOW_SAMPLES) {
+            // a espera calculada é mantida até que a nova janela tenha amostras suficientes
+            latencies.reset();
+        }
+    }
+
+}
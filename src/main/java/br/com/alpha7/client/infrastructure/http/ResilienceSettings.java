@@ -0,0 +1,111 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configurações de repetição, circuit breaker e requisições de reserva
+ * (hedging) das requisições HTTP.
+ *
+ * <p>
+ * {@link #fromSystemProperties()} lê as configurações das propriedades de
+ * sistema {@code alpha7.http.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ResilienceSettings {
+
+	/** Quantidade máxima de tentativas de uma operação idempotente, incluindo a primeira. */
+	@Builder.Default
+	private int maxAttempts = 3;
+
+	/** Espera base, em milissegundos, antes da primeira repetição. */
+	@Builder.Default
+	private long baseDelayMillis = 100;
+
+	/** Espera máxima, em milissegundos, entre repetições. */
+	@Builder.Default
+	private long maxDelayMillis = 2000;
+
+	/** Quantidade de requisições mais recentes consideradas pelo circuito. */
+	@Builder.Default
+	private int windowSize = 20;
+
+	/** Quantidade mínima de requisições na janela para que o circuito possa abrir. */
+	@Builder.Default
+	private int minimumCalls = 5;
+
+	/** Taxa de falhas, entre 0 e 1, a partir da qual o circuito abre. */
+	@Builder.Default
+	private double failureRateThreshold = 0.5;
+
+	/** Tempo, em milissegundos, que o circuito permanece aberto antes da sondagem. */
+	@Builder.Default
+	private long openMillis = 5000;
+
+	/** Quantidade de requisições de sondagem simultâneas com o circuito semiaberto. */
+	@Builder.Default
+	private int halfOpenProbes = 1;
+
+	/** Percentil da latência do endpoint após o qual uma requisição de reserva é enviada. */
+	@Builder.Default
+	private double hedgePercentile = 95;
+
+	/** Quantidade mínima de respostas observadas antes de enviar requisições de reserva. */
+	@Builder.Default
+	private int hedgeMinSamples = 20;
+
+	/** Espera mínima, em milissegundos, antes de uma requisição de reserva. */
+	@Builder.Default
+	private long hedgeMinDelayMillis = 50;
+
+	/** Proporção máxima de requisições de reserva em relação às requisições, entre 0 e 1. */
+	@Builder.Default
+	private double hedgeBudgetRatio = 0.1;
+
+	/** Quantidade de requisições de reserva que podem ser enviadas em sequência. */
+	@Builder.Default
+	private int hedgeBudgetBurst = 5;
+
+	/**
+	 * Cria as configurações a partir das propriedades de sistema
+	 * {@code alpha7.http.maxAttempts}, {@code alpha7.http.baseDelay},
+	 * {@code alpha7.http.maxDelay}, {@code alpha7.http.breakerWindow},
+	 * {@code alpha7.http.breakerMinimumCalls}, {@code alpha7.http.breakerThreshold},
+	 * {@code alpha7.http.breakerOpen}, {@code alpha7.http.breakerProbes},
+	 * {@code alpha7.http.hedgePercentile}, {@code alpha7.http.hedgeMinSamples},
+	 * {@code alpha7.http.hedgeMinDelay}, {@code alpha7.http.hedgeBudget} e
+	 * {@code alpha7.http.hedgeBurst}.
+	 *
+	 * @return configurações lidas, com os valores padrão para as ausentes
+	 */
+	public static ResilienceSettings fromSystemProperties() {
+		ResilienceSettings settings = builder().build();
+		settings.setMaxAttempts(Integer.getInteger("alpha7.http.maxAttempts", settings.maxAttempts));
+		settings.setBaseDelayMillis(Long.getLong("alpha7.http.baseDelay", settings.baseDelayMillis));
+		settings.setMaxDelayMillis(Long.getLong("alpha7.http.maxDelay", settings.maxDelayMillis));
+		settings.setWindowSize(Integer.getInteger("alpha7.http.breakerWindow", settings.windowSize));
+		settings.setMinimumCalls(Integer.getInteger("alpha7.http.breakerMinimumCalls", settings.minimumCalls));
+		settings.setFailureRateThreshold(Double.parseDouble(
+				System.getProperty("alpha7.http.breakerThreshold", String.valueOf(settings.failureRateThreshold))));
+		settings.setOpenMillis(Long.getLong("alpha7.http.breakerOpen", settings.openMillis));
+		settings.setHalfOpenProbes(Integer.getInteger("alpha7.http.breakerProbes", settings.halfOpenProbes));
+		settings.setHedgePercentile(Double.parseDouble(
+				System.getProperty("alpha7.http.hedgePercentile", String.valueOf(settings.hedgePercentile))));
+		settings.setHedgeMinSamples(Integer.getInteger("alpha7.http.hedgeMinSamples", settings.hedgeMinSamples));
+		settings.setHedgeMinDelayMillis(Long.getLong("alpha7.http.hedgeMinDelay", settings.hedgeMinDelayMillis));
+		settings.setHedgeBudgetRatio(Double.parseDouble(
+				System.getProperty("alpha7.http.hedgeBudget", String.valueOf(settings.hedgeBudgetRatio))));
+		settings.setHedgeBudgetBurst(Integer.getInteger("alpha7.http.hedgeBurst", settings.hedgeBudgetBurst));
+		return settings;
+	}
+
+}
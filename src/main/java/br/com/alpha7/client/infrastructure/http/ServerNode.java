@@ -0,0 +1,298 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Servidor da distribuição de requisições ({@link LoadBalancer}).
+ *
+ * <p>
+ * Mantém a quantidade de requisições em andamento e a média móvel
+ * exponencial (EWMA) do tempo até a resposta, com decaimento pelo tempo
+ * decorrido ({@link LoadBalancerSettings#getEwmaWindowMillis()}). Uma
+ * resposta mais lenta que a média substitui a média imediatamente, de modo
+ * que um servidor que ficou lento deixa de ser escolhido já na requisição
+ * seguinte e só volta a recebê-las conforme a média decai. Cada falha conta
+ * como uma resposta de {@link LoadBalancerSettings#getFailurePenaltyMillis()}.
+ * </p>
+ *
+ * <p>
+ * Após {@link LoadBalancerSettings#getFailuresToEject()} falhas seguidas
+ * (falhas de conexão, timeouts ou respostas {@code 5xx}) o servidor é
+ * retirado da distribuição por {@link LoadBalancerSettings#getEjectMillis()},
+ * tempo que dobra a cada nova retirada sem sucesso entre elas. Terminada a
+ * retirada, a próxima requisição bem-sucedida o restabelece; uma nova falha
+ * o retira novamente.
+ * </p>
+ *
+ * <p>
+ * Independentemente das requisições, o {@link HealthChecker} verifica o
+ * servidor periodicamente. Após {@link LoadBalancerSettings#getUnhealthyThreshold()}
+ * verificações seguidas sem resposta o servidor é considerado fora do ar e
+ * não recebe requisições até que uma verificação seja respondida.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class ServerNode implements ServerNodeMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServerNode.class);
+
+    private final String baseUrl;
+    private final LoadBalancerSettings settings;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder healthChecks = new LongAdder();
+    private final LongAdder healthCheckFailures = new LongAdder();
+
+    private volatile boolean live = true;
+    private volatile long healthCheckNanos;
+    private int consecutiveProbeFailures;
+
+    private double ewmaNanos;
+    private long ewmaUpdatedAt;
+    private int consecutiveFailures;
+    private int consecutiveEjections;
+    private boolean ejected;
+    private long ejectedUntil;
+    private long ejections;
+
+    /**
+     * Cria o servidor, inicialmente disponível.
+     *
+     * @param baseUrl URL base da API no servidor, sem barra final
+     * @param settings configurações da distribuição
+     */
+    public ServerNode(String baseUrl, LoadBalancerSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+    }
+
+    /**
+     * Registra o início de uma requisição ao servidor.
+     */
+    public void onStart() {
+        inFlight.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * Registra o término de uma requisição iniciada por {@link #onStart()}.
+     *
+     * @param responseNanos tempo até a resposta, ou negativo se não houve resposta
+     * @param outcome resultado da requisição; cancelamentos devem ser {@code IGNORED}
+     */
+    public void onComplete(long responseNanos, CircuitBreaker.Outcome outcome) {
+        inFlight.decrementAndGet();
+        if (outcome == CircuitBreaker.Outcome.FAILURE) {
+            failures.increment();
+            onFailure();
+        } else if (outcome == CircuitBreaker.Outcome.SUCCESS) {
+            onSuccess(responseNanos);
+        }
+    }
+
+    /**
+     * Registra o resultado de uma verificação periódica.
+     *
+     * @param responded {@code true} se o servidor respondeu à verificação
+     * @param latencyNanos duração da verificação
+     */
+    public void onHealthCheck(boolean responded, long latencyNanos) {
+        healthChecks.increment();
+        healthCheckNanos = latencyNanos;
+        synchronized (this) {
+            if (responded) {
+                consecutiveProbeFailures = 0;
+                if (!live) {
+                    live = true;
+                    LOG.info("Servidor {} voltou a responder às verificações", baseUrl);
+                }
+                return;
+            }
+            healthCheckFailures.increment();
+            if (++consecutiveProbeFailures >= settings.getUnhealthyThreshold() && live) {
+                live = false;
+                LOG.warn("Servidor {} fora do ar após {} verificações sem resposta",
+                        baseUrl, consecutiveProbeFailures);
+            }
+        }
+    }
+
+    /**
+     * Registra que uma requisição a este servidor falhou ao conectar e foi
+     * redirecionada a outro servidor.
+     */
+    public void recordFailover() {
+        failovers.increment();
+    }
+
+    /**
+     * Indica se o servidor pode receber requisições.
+     *
+     * @param now instante atual, de {@link System#nanoTime()}
+     * @return {@code false} enquanto o servidor estiver fora do ar ou retirado da distribuição
+     */
+    public synchronized boolean isAvailable(long now) {
+        return live && (!ejected || now - ejectedUntil >= 0);
+    }
+
+    /**
+     * Custo estimado de uma nova requisição: a latência média multiplicada
+     * pelas requisições já em andamento mais a nova.
+     *
+     * <p>
+     * A média decai com o tempo sem novas respostas, para que um servidor
+     * preterido após uma resposta lenta volte a ser experimentado.
+     * </p>
+     *
+     * @return custo relativo, menor é melhor
+     */
+    public synchronized double getScore() {
+        double ewma = ewmaNanos * decay(System.nanoTime() - ewmaUpdatedAt);
+        return ewma * (inFlight.get() + 1);
+    }
+
+    /**
+     * @return instante, de {@link System#nanoTime()}, em que a retirada termina
+     */
+    synchronized long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    @Override
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public synchronized String getState() {
+        if (!live) {
+            return "DOWN";
+        }
+        if (!ejected) {
+            return "UP";
+        }
+        return isAvailable(System.nanoTime()) ? "RECOVERING" : "EJECTED";
+    }
+
+    @Override
+    public synchronized double getEwmaMillis() {
+        return ewmaNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public synchronized long getEjections() {
+        return ejections;
+    }
+
+    @Override
+    public synchronized long getEjectedRemainingMillis() {
+        long remaining = ejected ? ejectedUntil - System.nanoTime() : 0;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining));
+    }
+
+    @Override
+    public boolean isLive() {
+        return live;
+    }
+
+    @Override
+    public long getHealthChecks() {
+        return healthChecks.sum();
+    }
+
+    @Override
+    public long getHealthCheckFailures() {
+        return healthCheckFailures.sum();
+    }
+
+    @Override
+    public double getHealthCheckMillis() {
+        return healthCheckNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public long getFailovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+
+    private synchronized void onSuccess(long responseNanos) {
+        consecutiveFailures = 0;
+        if (ejected) {
+            ejected = false;
+            consecutiveEjections = 0;
+            LOG.info("Servidor {} restabelecido na distribuição", baseUrl);
+        }
+        if (responseNanos >= 0) {
+            updateEwma(responseNanos, System.nanoTime());
+        }
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        long now = System.nanoTime();
+        updateEwma(TimeUnit.MILLISECONDS.toNanos(settings.getFailurePenaltyMillis()), now);
+        if (consecutiveFailures < settings.getFailuresToEject() || (ejected && now - ejectedUntil < 0)) {
+            return;
+        }
+
+        long millis = Math.min(settings.getMaxEjectMillis(),
+                settings.getEjectMillis() << Math.min(20, consecutiveEjections));
+        consecutiveEjections++;
+        ejections++;
+        ejected = true;
+        ejectedUntil = now + TimeUnit.MILLISECONDS.toNanos(millis);
+        LOG.warn("Servidor {} retirado da distribuição por {} ms após {} falhas seguidas",
+                baseUrl, millis, consecutiveFailures);
+    }
+
+    private void updateEwma(long sampleNanos, long now) {
+        if (ewmaUpdatedAt == 0 || sampleNanos > ewmaNanos) {
+            ewmaNanos = sampleNanos;
+        } else {
+            double weight = decay(now - ewmaUpdatedAt);
+            ewmaNanos = ewmaNanos * weight + sampleNanos * (1 - weight);
+        }
+        ewmaUpdatedAt = now;
+    }
+
+    private double decay(long elapsedNanos) {
+        long window = TimeUnit.MILLISECONDS.toNanos(Math.max(1, settings.getEwmaWindowMillis()));
+        return Math.exp(-elapsedNanos / (double) window);
+    }
+
+}
@@ -0,0 +1,43 @@
+package br.com.alpha7.client.infrastructure.http;
+
+/**
+ * Interface JMX de um servidor da distribuição de requisições ({@link ServerNode}).
+ *
+ * <p>
+ * Os tempos são informados em milissegundos.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public interface ServerNodeMXBean {
+
+    String getBaseUrl();
+
+    String getState();
+
+    double getEwmaMillis();
+
+    int getInFlight();
+
+    long getRequests();
+
+    long getFailures();
+
+    int getConsecutiveFailures();
+
+    long getEjections();
+
+    long getEjectedRemainingMillis();
+
+    boolean isLive();
+
+    long getHealthChecks();
+
+    long getHealthCheckFailures();
+
+    double getHealthCheckMillis();
+
+    long getFailovers();
+
+}
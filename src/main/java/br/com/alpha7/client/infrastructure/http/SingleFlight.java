@@ -0,0 +1,195 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import br.com.alpha7.client.infrastructure.metrics.EndpointMetrics;
+
+/**
+ * Agrupamento (single-flight) de consultas idênticas simultâneas.
+ *
+ * <p>
+ * O primeiro chamador de uma chave executa a consulta na própria thread; os
+ * chamadores seguintes com a mesma chave, enquanto ela estiver em andamento,
+ * aguardam e recebem o mesmo resultado (ou a mesma exceção), sem abrir outra
+ * conexão. A consulta é executada com um {@link RequestHandle} próprio,
+ * compartilhado por todos os chamadores.
+ * </p>
+ *
+ * <p>
+ * Cada chamador pode cancelar a sua espera pelo seu próprio handle sem
+ * afetar os demais. A conexão compartilhada somente é encerrada quando todos
+ * os chamadores cancelam. Como a leitura é feita na thread do primeiro
+ * chamador, o cancelamento dele, havendo outros interessados, somente é
+ * percebido ao final da consulta.
+ * </p>
+ *
+ * <p>
+ * Somente consultas sem efeito colateral devem ser agrupadas. O resultado é
+ * o mesmo objeto para todos os chamadores e não deve ser alterado.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class SingleFlight {
+
+    /**
+     * Consulta executada uma vez por grupo de chamadores.
+     *
+     * @param <T> tipo do resultado
+     */
+    @FunctionalInterface
+    public interface Call<T> {
+
+        /**
+         * Executa a consulta.
+         *
+         * @param handle controle de cancelamento compartilhado, a ser associado à conexão
+         * @return resultado da consulta
+         * @throws Exception caso ocorra erro de comunicação ou conversão
+         */
+        T call(RequestHandle handle) throws Exception;
+    }
+
+    private final ConcurrentMap<String, Flight<?>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a consulta ou aguarda a consulta idêntica em andamento.
+     *
+     * @param key chave da consulta, por exemplo o método e a URL canônica
+     * @param handle controle de cancelamento do chamador, pode ser {@code null}
+     * @param metrics métricas que recebem os chamadores agrupados, pode ser {@code null}
+     * @param call consulta a ser executada
+     * @param <T> tipo do resultado
+     * @return resultado da consulta
+     * @throws CancellationException caso o chamador cancele a espera
+     * @throws Exception falha da consulta
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, RequestHandle handle, EndpointMetrics metrics, Call<T> call) throws Exception {
+        while (true) {
+            Flight<T> flight = new Flight<>();
+            Flight<?> existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, handle, call);
+            }
+            if (existing.join()) {
+                if (metrics != null) {
+                    metrics.recordCoalesced();
+                }
+                return follow((Flight<T>) existing, handle);
+            }
+            // consulta abandonada por todos os chamadores e ainda não removida
+            flights.remove(key, existing);
+        }
+    }
+
+    /**
+     * @return quantidade de consultas em andamento
+     */
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    private <T> T lead(String key, Flight<T> flight, RequestHandle handle, Call<T> call) throws Exception {
+        Runnable leave = flight::leave;
+        if (handle != null) {
+            handle.addCancelListener(leave);
+        }
+        try {
+            flight.result.complete(call.call(flight.handle));
+        } catch (Exception e) {
+            flight.result.completeExceptionally(e);
+        } finally {
+            flights.remove(key, flight);
+            if (handle != null) {
+                handle.removeCancelListener(leave);
+            }
+        }
+
+        if (handle != null && handle.isCancelled()) {
+            throw new CancellationException("Requisição cancelada");
+        }
+        return await(flight.result);
+    }
+
+    private static <T> T follow(Flight<T> flight, RequestHandle handle) throws Exception {
+        if (handle == null) {
+            return await(flight.result);
+        }
+
+        CompletableFuture<T> waiting = new CompletableFuture<>();
+        Runnable leave = () -> {
+            if (waiting.completeExceptionally(new CancellationException("Requisição cancelada"))) {
+                flight.leave();
+            }
+        };
+        flight.result.whenComplete((value, error) -> {
+            if (error != null) {
+                waiting.completeExceptionally(error);
+            } else {
+                waiting.complete(value);
+            }
+        });
+        handle.addCancelListener(leave);
+        try {
+            return await(waiting);
+        } finally {
+            handle.removeCancelListener(leave);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Consulta em andamento e seus chamadores.
+     */
+    private static final class Flight<T> {
+
+        private final RequestHandle handle = new RequestHandle();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int callers = 1;
+        private boolean abandoned;
+
+        /**
+         * Adiciona um chamador.
+         *
+         * @return {@code false} se todos os chamadores já cancelaram
+         */
+        private synchronized boolean join() {
+            if (abandoned) {
+                return false;
+            }
+            callers++;
+            return true;
+        }
+
+        /**
+         * Remove um chamador que cancelou; o último encerra a conexão.
+         */
+        private void leave() {
+            synchronized (this) {
+                if (--callers > 0 || result.isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            handle.cancel();
+        }
+    }
+
+}
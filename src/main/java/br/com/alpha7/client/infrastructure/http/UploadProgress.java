@@ -0,0 +1,96 @@
+package br.com.alpha7.client.infrastructure.http;
+
+/**
+ * Situação de um envio de arquivo em um determinado instante.
+ *
+ * <p>
+ * O tempo de transferência (do primeiro ao último byte enviado) é informado
+ * separadamente do tempo de processamento no servidor (do último byte enviado
+ * até a chegada da resposta), permitindo distinguir lentidão de rede de
+ * lentidão do servidor.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class UploadProgress {
+
+    /** Valor utilizado quando uma medida ainda não é conhecida. */
+    public static final long UNKNOWN = -1L;
+
+    private final long bytesSent;
+    private final long totalBytes;
+    private final double bytesPerSecond;
+    private final long etaMillis;
+    private final long transferMillis;
+    private final long serverMillis;
+
+    /**
+     * Cria a situação do envio.
+     *
+     * @param bytesSent bytes enviados até o momento
+     * @param totalBytes total de bytes a serem enviados
+     * @param bytesPerSecond taxa de envio recente, em bytes por segundo
+     * @param etaMillis tempo restante estimado ou {@link #UNKNOWN}
+     * @param transferMillis tempo decorrido de transferência
+     * @param serverMillis tempo de processamento no servidor ou {@link #UNKNOWN}
+     */
+    public UploadProgress(long bytesSent, long totalBytes, double bytesPerSecond,
+            long etaMillis, long transferMillis, long serverMillis) {
+        this.bytesSent = bytesSent;
+        this.totalBytes = totalBytes;
+        this.bytesPerSecond = bytesPerSecond;
+        this.etaMillis = etaMillis;
+        this.transferMillis = transferMillis;
+        this.serverMillis = serverMillis;
+    }
+
+    /** Retorna a quantidade de bytes enviados. */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /** Retorna o total de bytes a serem enviados. */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** Retorna a taxa de envio recente, em bytes por segundo. */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /** Retorna o tempo restante estimado, em milissegundos, ou {@link #UNKNOWN}. */
+    public long getEtaMillis() {
+        return etaMillis;
+    }
+
+    /** Retorna o tempo de transferência decorrido, em milissegundos. */
+    public long getTransferMillis() {
+        return transferMillis;
+    }
+
+    /**
+     * Retorna o tempo entre o envio do último byte e a resposta do servidor,
+     * em milissegundos, ou {@link #UNKNOWN} enquanto a resposta não chegou.
+     */
+    public long getServerMillis() {
+        return serverMillis;
+    }
+
+    /** Retorna a fração enviada, entre {@code 0} e {@code 1}. */
+    public double getFraction() {
+        return totalBytes > 0 ? Math.min(1.0, (double) bytesSent / totalBytes) : 1.0;
+    }
+
+    /** Indica se todos os bytes já foram enviados. */
+    public boolean isTransferComplete() {
+        return bytesSent >= totalBytes;
+    }
+
+    /** Indica se a resposta do servidor já foi recebida. */
+    public boolean isResponseReceived() {
+        return serverMillis != UNKNOWN;
+    }
+
+}
@@ -0,0 +1,110 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combina o andamento de vários envios simultâneos em um único
+ * {@link UploadProgress}.
+ *
+ * <p>
+ * Cada envio recebe um listener próprio através de {@link #part(int)}.
+ * Os bytes enviados e as taxas de envio das partes em transferência são
+ * somados; o tempo restante é estimado sobre a taxa combinada. O tempo de
+ * processamento no servidor é medido do fim da última transferência até a
+ * última resposta.
+ * </p>
+ *
+ * <p>
+ * As notificações são combinadas e repassadas ao listener de destino com o
+ * mesmo intervalo mínimo de {@link UploadProgressTracker}, em ordem, sob o
+ * bloqueio do agregador; o listener de destino não deve bloquear. É thread-safe.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class UploadProgressAggregator {
+
+    private static final long REPORT_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(UploadProgressTracker.REPORT_INTERVAL_MILLIS);
+
+    private final UploadProgressListener listener;
+    private final long totalBytes;
+    private final UploadProgress[] parts;
+    private final long startNanos = System.nanoTime();
+
+    private long lastReportNanos;
+    private long transferEndNanos = -1L;
+    private int responses;
+
+    /**
+     * Cria o agregador.
+     *
+     * @param parts quantidade de envios
+     * @param totalBytes total de bytes de todos os envios
+     * @param listener destinatário do andamento combinado
+     */
+    public UploadProgressAggregator(int parts, long totalBytes, UploadProgressListener listener) {
+        this.parts = new UploadProgress[parts];
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    /**
+     * Retorna o listener de uma das partes.
+     *
+     * @param index posição da parte
+     * @return listener a ser informado no envio da parte
+     */
+    public UploadProgressListener part(int index) {
+        return progress -> update(index, progress);
+    }
+
+    private synchronized void update(int index, UploadProgress progress) {
+        UploadProgress previous = parts[index];
+        parts[index] = progress;
+
+        long now = System.nanoTime();
+        boolean milestone = false;
+
+        if (progress.isResponseReceived() && (previous == null || !previous.isResponseReceived())) {
+            responses++;
+            milestone = responses == parts.length;
+        }
+
+        long sent = 0;
+        double rate = 0;
+        for (UploadProgress part : parts) {
+            if (part != null) {
+                sent += part.getBytesSent();
+                if (!part.isTransferComplete()) {
+                    rate += part.getBytesPerSecond();
+                }
+            }
+        }
+
+        if (sent >= totalBytes && transferEndNanos < 0) {
+            transferEndNanos = now;
+            milestone = true;
+        }
+
+        if (!milestone && now - lastReportNanos < REPORT_INTERVAL_NANOS) {
+            return;
+        }
+        lastReportNanos = now;
+
+        long remaining = Math.max(0, totalBytes - sent);
+        long eta = remaining == 0 ? 0
+                : rate > 0 ? (long) (remaining * 1000 / rate)
+                : UploadProgress.UNKNOWN;
+
+        long end = transferEndNanos >= 0 ? transferEndNanos : now;
+        long serverMillis = responses == parts.length
+                ? TimeUnit.NANOSECONDS.toMillis(now - transferEndNanos)
+                : UploadProgress.UNKNOWN;
+
+        listener.onProgress(new UploadProgress(sent, totalBytes, rate, eta,
+                TimeUnit.NANOSECONDS.toMillis(end - startNanos), serverMillis));
+    }
+
+}
@@ -0,0 +1,27 @@
+package br.com.alpha7.client.infrastructure.http;
+
+/**
+ * Recebe notificações de andamento de um envio de arquivo.
+ *
+ * <p>
+ * As notificações são feitas na thread que executa o envio, em intervalos
+ * de no mínimo {@value UploadProgressTracker#REPORT_INTERVAL_MILLIS} ms, além
+ * de uma notificação ao término da transferência e outra ao receber a
+ * resposta do servidor. Componentes Swing devem ser atualizados na Event
+ * Dispatch Thread.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    /**
+     * Notifica o andamento do envio.
+     *
+     * @param progress situação atual do envio
+     */
+    void onProgress(UploadProgress progress);
+
+}
@@ -0,0 +1,160 @@
+package br.com.alpha7.client.infrastructure.http;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o andamento de um envio e notifica um {@link UploadProgressListener}.
+ *
+ * <p>
+ * O fluxo de saída da requisição é envolvido por {@link #wrap(OutputStream)},
+ * que contabiliza os bytes escritos. A taxa de envio é calculada a cada
+ * notificação sobre o intervalo desde a anterior e suavizada por média móvel
+ * exponencial; a estimativa de tempo restante usa essa taxa.
+ * </p>
+ *
+ * <p>
+ * Ao fim da escrita, {@link #transferCompleted()} marca o fim da transferência;
+ * {@link #responseReceived()} marca a chegada da resposta, medindo o tempo de
+ * processamento no servidor separadamente do tempo de transferência.
+ * </p>
+ *
+ * <p>
+ * Cada instância deve ser utilizada por uma única thread.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class UploadProgressTracker {
+
+    /** Intervalo mínimo entre notificações, em milissegundos. */
+    public static final long REPORT_INTERVAL_MILLIS = 100L;
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(REPORT_INTERVAL_MILLIS);
+
+    /** Peso da medida mais recente na média móvel da taxa de envio. */
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final UploadProgressListener listener;
+    private final long totalBytes;
+
+    private long bytesSent;
+    private long startNanos = -1L;
+    private long transferEndNanos = -1L;
+    private long lastReportNanos;
+    private long lastReportBytes;
+    private double bytesPerSecond;
+
+    /**
+     * Cria o medidor de um envio.
+     *
+     * @param totalBytes total de bytes a serem enviados
+     * @param listener destinatário das notificações
+     */
+    public UploadProgressTracker(long totalBytes, UploadProgressListener listener) {
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    /**
+     * Envolve o fluxo de saída da requisição, contabilizando os bytes escritos.
+     *
+     * @param out fluxo de saída da requisição
+     * @return fluxo que contabiliza os bytes
+     */
+    public OutputStream wrap(OutputStream out) {
+        return new CountingOutputStream(out);
+    }
+
+    /**
+     * Marca o fim da transferência e notifica a situação final do envio.
+     */
+    public void transferCompleted() {
+        long now = System.nanoTime();
+        start(now);
+        transferEndNanos = now;
+        updateRate(now);
+        listener.onProgress(snapshot(UploadProgress.UNKNOWN));
+    }
+
+    /**
+     * Marca a chegada da resposta do servidor e notifica o tempo de processamento.
+     */
+    public void responseReceived() {
+        if (transferEndNanos < 0) {
+            transferCompleted();
+        }
+        long serverNanos = System.nanoTime() - transferEndNanos;
+        listener.onProgress(snapshot(TimeUnit.NANOSECONDS.toMillis(serverNanos)));
+    }
+
+    private void start(long now) {
+        if (startNanos < 0) {
+            startNanos = now;
+            lastReportNanos = now;
+        }
+    }
+
+    private void onWritten(int count) {
+        long now = System.nanoTime();
+        start(now);
+        bytesSent += count;
+
+        if (now - lastReportNanos >= REPORT_INTERVAL_NANOS) {
+            updateRate(now);
+            listener.onProgress(snapshot(UploadProgress.UNKNOWN));
+        }
+    }
+
+    private void updateRate(long now) {
+        long elapsed = now - lastReportNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        double current = (bytesSent - lastReportBytes) * 1e9 / elapsed;
+        bytesPerSecond = lastReportBytes == 0
+                ? current
+                : RATE_SMOOTHING * current + (1 - RATE_SMOOTHING) * bytesPerSecond;
+
+        lastReportNanos = now;
+        lastReportBytes = bytesSent;
+    }
+
+    private UploadProgress snapshot(long serverMillis) {
+        long end = transferEndNanos >= 0 ? transferEndNanos : System.nanoTime();
+        long transferMillis = TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+
+        long remaining = Math.max(0, totalBytes - bytesSent);
+        long eta = remaining == 0 ? 0
+                : bytesPerSecond > 0 ? (long) (remaining * 1000 / bytesPerSecond)
+                : UploadProgress.UNKNOWN;
+
+        return new UploadProgress(bytesSent, totalBytes, bytesPerSecond, eta, transferMillis, serverMillis);
+    }
+
+    /**
+     * Fluxo que repassa os bytes e os contabiliza no medidor.
+     */
+    private final class CountingOutputStream extends FilterOutputStream {
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            onWritten(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            onWritten(len);
+        }
+    }
+
+}
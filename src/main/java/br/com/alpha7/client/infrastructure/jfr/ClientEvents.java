@@ -0,0 +1,162 @@
+package br.com.alpha7.client.infrastructure.jfr;
+
+import java.net.URL;
+
+/**
+ * Eventos do Java Flight Recorder emitidos pelo cliente Alpha7.
+ *
+ * <p>
+ * São registrados três tipos de evento, na categoria {@code Alpha7}:
+ * <ul>
+ *   <li>{@code br.com.alpha7.client.HttpExchange} — cada requisição HTTP dos
+ *       serviços, com endpoint, status, bytes, tempo até a resposta e tempo de
+ *       decodificação JSON</li>
+ *   <li>{@code br.com.alpha7.client.ControllerAction} — cada ação de um
+ *       controlador (pesquisa, cadastro, importação), do clique ao resultado</li>
+ *   <li>{@code br.com.alpha7.client.TableFill} — cada preenchimento da
+ *       tabela de resultados, com a quantidade de linhas</li>
+ * </ul>
+ * Assim o comportamento do cliente pode ser correlacionado com coleta de
+ * lixo, bloqueios e atividade das threads em uma única gravação
+ * ({@code -XX:StartFlightRecording} ou {@code jcmd <pid> JFR.start}).
+ * </p>
+ *
+ * <p>
+ * Os métodos retornam escopos que devem ser encerrados pelo chamador. Sem
+ * gravação ativa para o tipo de evento, ou em JVMs sem a API
+ * {@code jdk.jfr}, é retornado um escopo vazio compartilhado, de modo que o
+ * custo se resume a uma verificação. As classes de evento só são carregadas
+ * quando a API está disponível.
+ * </p>
+ *
+ * <p>
+ * Esta classe não pode ser instanciada.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class ClientEvents {
+
+    /**
+     * Indica se a API do Flight Recorder está presente na JVM.
+     */
+    private static final boolean AVAILABLE = detect();
+
+    private static final Exchange NO_EXCHANGE = (status, bytesIn, bytesOut, responseNanos, decodeNanos, error, timedOut) -> {};
+
+    private static final Action NO_ACTION = outcome -> {};
+
+    private static final TableFill NO_TABLE_FILL = (operation, rows, totalRows) -> {};
+
+    /**
+     * Construtor privado para impedir instanciação.
+     */
+    private ClientEvents() {}
+
+    /**
+     * Inicia o evento de uma requisição HTTP.
+     *
+     * @param method método HTTP
+     * @param endpoint endpoint identificado nas métricas (por exemplo {@code GET /book})
+     * @param url endereço da requisição
+     * @return escopo a ser encerrado ao liberar a conexão
+     */
+    public static Exchange exchange(String method, String endpoint, URL url) {
+        if (!AVAILABLE) {
+            return NO_EXCHANGE;
+        }
+        Exchange exchange = JfrEvents.exchange(method, endpoint, url);
+        return exchange != null ? exchange : NO_EXCHANGE;
+    }
+
+    /**
+     * Inicia o evento de uma ação de controlador.
+     *
+     * @param controller nome do controlador
+     * @param action nome da ação (por exemplo {@code onSearch})
+     * @return escopo a ser encerrado quando o resultado da ação for aplicado
+     */
+    public static Action action(String controller, String action) {
+        if (!AVAILABLE) {
+            return NO_ACTION;
+        }
+        Action scope = JfrEvents.action(controller, action);
+        return scope != null ? scope : NO_ACTION;
+    }
+
+    /**
+     * Inicia o evento de preenchimento de uma tabela.
+     *
+     * @param table nome da tabela
+     * @return escopo a ser encerrado após a atualização do modelo
+     */
+    public static TableFill tableFill(String table) {
+        if (!AVAILABLE) {
+            return NO_TABLE_FILL;
+        }
+        TableFill fill = JfrEvents.tableFill(table);
+        return fill != null ? fill : NO_TABLE_FILL;
+    }
+
+    private static boolean detect() {
+        try {
+            Class.forName("jdk.jfr.Event", false, ClientEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escopo de uma requisição HTTP.
+     */
+    @FunctionalInterface
+    public interface Exchange {
+
+        /**
+         * Encerra o evento.
+         *
+         * @param status status HTTP, ou zero se não houve resposta
+         * @param bytesIn bytes recebidos
+         * @param bytesOut bytes enviados
+         * @param responseNanos tempo até o status da resposta, ou negativo se não houve resposta
+         * @param decodeNanos tempo de decodificação JSON
+         * @param error {@code true} se a requisição falhou
+         * @param timedOut {@code true} se a falha foi por tempo esgotado
+         */
+        void end(int status, long bytesIn, long bytesOut, long responseNanos, long decodeNanos,
+                boolean error, boolean timedOut);
+    }
+
+    /**
+     * Escopo de uma ação de controlador.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * Encerra o evento.
+         *
+         * @param outcome resultado da ação (por exemplo {@code completed}, {@code failed})
+         */
+        void end(String outcome);
+    }
+
+    /**
+     * Escopo de um preenchimento de tabela.
+     */
+    @FunctionalInterface
+    public interface TableFill {
+
+        /**
+         * Encerra o evento.
+         *
+         * @param operation operação realizada ({@code fill} ou {@code append})
+         * @param rows linhas inseridas
+         * @param totalRows total de linhas da tabela após a operação
+         */
+        void end(String operation, int rows, int totalRows);
+    }
+
+}
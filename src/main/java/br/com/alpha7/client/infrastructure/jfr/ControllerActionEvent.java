@@ -0,0 +1,39 @@
+package br.com.alpha7.client.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de uma ação de controlador, do acionamento até a aplicação do
+ * resultado na interface.
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Name("br.com.alpha7.client.ControllerAction")
+@Label("Controller Action")
+@Category({ "Alpha7", "UI" })
+@Description("Ação de um controlador do cliente Alpha7")
+final class ControllerActionEvent extends jdk.jfr.Event implements ClientEvents.Action {
+
+    @Label("Controller")
+    String controller;
+
+    @Label("Action")
+    String action;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Override
+    public void end(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package br.com.alpha7.client.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de uma requisição HTTP de um serviço, da abertura à liberação da conexão.
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Name("br.com.alpha7.client.HttpExchange")
+@Label("HTTP Exchange")
+@Category({ "Alpha7", "HTTP" })
+@Description("Requisição HTTP do cliente Alpha7")
+final class HttpExchangeEvent extends jdk.jfr.Event implements ClientEvents.Exchange {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    int status;
+
+    @Label("Bytes In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+
+    @Label("Response Time")
+    @Description("Tempo até o status da resposta: conexão, envio e processamento no servidor")
+    @Timespan(Timespan.NANOSECONDS)
+    long responseTime;
+
+    @Label("Decode Time")
+    @Description("Tempo de decodificação JSON, sem a espera pela rede")
+    @Timespan(Timespan.NANOSECONDS)
+    long decodeTime;
+
+    @Label("Error")
+    boolean error;
+
+    @Label("Timed Out")
+    boolean timedOut;
+
+    @Override
+    public void end(int status, long bytesIn, long bytesOut, long responseNanos, long decodeNanos,
+            boolean error, boolean timedOut) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.responseTime = responseNanos;
+            this.decodeTime = decodeNanos;
+            this.error = error;
+            this.timedOut = timedOut;
+            commit();
+        }
+    }
+
+}
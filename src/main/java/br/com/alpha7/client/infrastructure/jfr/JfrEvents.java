@@ -0,0 +1,50 @@
+package br.com.alpha7.client.infrastructure.jfr;
+
+import java.net.URL;
+
+/**
+ * Criação dos eventos do Flight Recorder, isolada de {@link ClientEvents}
+ * para que as classes {@code jdk.jfr} só sejam carregadas quando a API está
+ * disponível.
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+final class JfrEvents {
+
+    private JfrEvents() {}
+
+    static ClientEvents.Exchange exchange(String method, String endpoint, URL url) {
+        HttpExchangeEvent event = new HttpExchangeEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.method = method;
+        event.endpoint = endpoint;
+        event.url = url.toString();
+        event.begin();
+        return event;
+    }
+
+    static ClientEvents.Action action(String controller, String action) {
+        ControllerActionEvent event = new ControllerActionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.controller = controller;
+        event.action = action;
+        event.begin();
+        return event;
+    }
+
+    static ClientEvents.TableFill tableFill(String table) {
+        TableFillEvent event = new TableFillEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.table = table;
+        event.begin();
+        return event;
+    }
+
+}
@@ -0,0 +1,43 @@
+package br.com.alpha7.client.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de preenchimento de uma tabela da interface.
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Name("br.com.alpha7.client.TableFill")
+@Label("Table Fill")
+@Category({ "Alpha7", "UI" })
+@Description("Atualização do modelo de uma tabela do cliente Alpha7")
+final class TableFillEvent extends jdk.jfr.Event implements ClientEvents.TableFill {
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Total Rows")
+    int totalRows;
+
+    @Override
+    public void end(String operation, int rows, int totalRows) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.rows = rows;
+            this.totalRows = totalRows;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bloqueio da Event Dispatch Thread registrado pelo {@link EdtWatchdog}.
+ *
+ * <p>
+ * Contém o evento que estava sendo despachado, a duração do bloqueio e a
+ * pilha da EDT capturada quando o limite foi ultrapassado. A pilha pode
+ * estar ausente se o evento terminou antes da amostragem seguinte.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class EdtStall {
+
+    private static final StackTraceElement[] NO_STACK = new StackTraceElement[0];
+
+    private final Instant startedAt;
+    private final long durationNanos;
+    private final String event;
+    private final StackTraceElement[] stackTrace;
+
+    EdtStall(Instant startedAt, long durationNanos, String event, StackTraceElement[] stackTrace) {
+        this.startedAt = startedAt;
+        this.durationNanos = durationNanos;
+        this.event = event;
+        this.stackTrace = stackTrace != null ? stackTrace : NO_STACK;
+    }
+
+    /**
+     * @return instante em que o despacho do evento começou
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * @return duração do bloqueio em milissegundos
+     */
+    public double getDurationMillis() {
+        return durationNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return descrição do evento despachado (tipo do evento e do componente de origem)
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return cópia da pilha da EDT durante o bloqueio, vazia se não foi capturada
+     */
+    public StackTraceElement[] getStackTrace() {
+        return stackTrace.clone();
+    }
+
+    /**
+     * @return {@code true} se a pilha da EDT foi capturada
+     */
+    public boolean hasStackTrace() {
+        return stackTrace.length > 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s EDT bloqueada por %.1f ms em %s", startedAt, getDurationMillis(), event));
+        for (StackTraceElement element : stackTrace) {
+            sb.append("\n\tat ").append(element);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,354 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+
+/**
+ * Monitor de bloqueios da Event Dispatch Thread.
+ *
+ * <p>
+ * Instala uma {@link EventQueue} que marca o início e o fim de cada evento
+ * despachado. Uma thread de monitoramento amostra a EDT periodicamente e,
+ * quando um evento ultrapassa o limite configurado, captura a pilha da EDT
+ * naquele instante, revelando a chamada bloqueante (em geral acesso à rede
+ * ou a arquivos feito por um controlador).
+ * </p>
+ *
+ * <p>
+ * Ao término do evento o bloqueio é registrado em um buffer circular com os
+ * mais recentes, contabilizado nas métricas (quantidade, maior duração,
+ * percentis) e informado no log. As métricas são publicadas via JMX em
+ * {@code br.com.alpha7.client:type=EdtWatchdog}.
+ * </p>
+ *
+ * <p>
+ * Diálogos modais executam um laço de eventos secundário dentro do evento
+ * que os abriu. O tempo em que o diálogo fica aberto não é considerado
+ * bloqueio: o primeiro evento aninhado encerra o trecho em andamento do
+ * evento externo, e entre os eventos aninhados a EDT é tratada como ociosa.
+ * O restante do evento externo, após o fechamento do diálogo, não é medido.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class EdtWatchdog implements EdtWatchdogMXBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EdtWatchdog.class);
+
+    private final EdtWatchdogSettings settings;
+    private final MonitoredEventQueue queue = new MonitoredEventQueue();
+
+    private volatile long thresholdNanos;
+
+    /** Início do trecho em despacho, ou zero quando a EDT está ociosa. */
+    private volatile long segmentStart;
+    /** Identificador do trecho em despacho. */
+    private volatile long segmentSequence;
+    private volatile Thread edt;
+
+    /** Pilha capturada pela thread de monitoramento para o trecho atual. */
+    private final AtomicReference<Capture> capture = new AtomicReference<>();
+
+    private final EdtStall[] history;
+    private int historyNext;
+
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder stalls = new LongAdder();
+    private final LongAdder totalStallNanos = new LongAdder();
+    private final LongAccumulator maxStallNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram stallDurations = new LatencyHistogram();
+
+    private volatile Thread sampler;
+
+    /**
+     * Cria o monitor sem instalá-lo.
+     *
+     * @param settings configurações do monitor
+     */
+    public EdtWatchdog(EdtWatchdogSettings settings) {
+        this.settings = settings;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(settings.getThresholdMillis());
+        this.history = new EdtStall[Math.max(1, settings.getHistorySize())];
+    }
+
+    /**
+     * Cria e instala o monitor, caso esteja habilitado nas configurações.
+     *
+     * @param settings configurações do monitor
+     * @return monitor instalado, ou {@code null} se desabilitado
+     */
+    public static EdtWatchdog install(EdtWatchdogSettings settings) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        return new EdtWatchdog(settings).start();
+    }
+
+    /**
+     * Substitui a fila de eventos do sistema, inicia a thread de
+     * monitoramento e publica as métricas via JMX.
+     *
+     * @return o próprio monitor
+     */
+    public synchronized EdtWatchdog start() {
+        if (sampler != null) {
+            return this;
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+
+        sampler = ExecutorFactory.namedThreadFactory("alpha7-edt-watchdog").newThread(this::sample);
+        sampler.start();
+
+        MetricsRegistry.register(this, "type=EdtWatchdog");
+        return this;
+    }
+
+    /**
+     * Interrompe o monitoramento e restaura a fila de eventos anterior.
+     */
+    public synchronized void stop() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.interrupt();
+        sampler = null;
+        queue.uninstall();
+    }
+
+    /**
+     * Retorna os bloqueios mais recentes, do mais antigo para o mais recente.
+     *
+     * @return cópia do buffer de bloqueios
+     */
+    public List<EdtStall> getStalls() {
+        List<EdtStall> list = new ArrayList<>(history.length);
+        synchronized (history) {
+            for (int i = 0; i < history.length; i++) {
+                EdtStall stall = history[(historyNext + i) % history.length];
+                if (stall != null) {
+                    list.add(stall);
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Retorna uma cópia da distribuição das durações dos bloqueios.
+     *
+     * @return cópia do histograma de bloqueios
+     */
+    public LatencyHistogram.Snapshot getStallDurations() {
+        return stallDurations.snapshot();
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    @Override
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, thresholdMillis));
+    }
+
+    @Override
+    public long getDispatchCount() {
+        return dispatches.sum();
+    }
+
+    @Override
+    public long getStallCount() {
+        return stalls.sum();
+    }
+
+    @Override
+    public double getMaxStallMillis() {
+        return toMillis(maxStallNanos.get());
+    }
+
+    @Override
+    public double getTotalStallMillis() {
+        return toMillis(totalStallNanos.sum());
+    }
+
+    @Override
+    public double getStallP95Millis() {
+        return stallDurations.snapshot().getPercentileMillis(95);
+    }
+
+    @Override
+    public double getCurrentDispatchMillis() {
+        long start = segmentStart;
+        return start == 0 ? 0 : toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public String[] getRecentStalls() {
+        List<EdtStall> list = getStalls();
+        String[] result = new String[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(result.length - 1 - i).toString();
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        dispatches.reset();
+        stalls.reset();
+        totalStallNanos.reset();
+        maxStallNanos.reset();
+        stallDurations.reset();
+        synchronized (history) {
+            Arrays.fill(history, null);
+            historyNext = 0;
+        }
+    }
+
+    /**
+     * Laço da thread de monitoramento: captura a pilha da EDT uma vez por
+     * trecho que ultrapassa o limite.
+     */
+    private void sample() {
+        long interval = Math.max(1, settings.getSampleIntervalMillis());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long start = segmentStart;
+            long sequence = segmentSequence;
+            Thread thread = edt;
+            if (start == 0 || thread == null || System.nanoTime() - start < thresholdNanos) {
+                continue;
+            }
+            Capture current = capture.get();
+            if (current != null && current.sequence == sequence) {
+                continue;
+            }
+
+            StackTraceElement[] stack = thread.getStackTrace();
+            // descarta a pilha se o trecho terminou durante a captura
+            if (segmentSequence == sequence && segmentStart != 0) {
+                capture.set(new Capture(sequence, stack));
+            }
+        }
+    }
+
+    /**
+     * Encerra o trecho em despacho, registrando-o se ultrapassou o limite.
+     * Executado somente na EDT.
+     */
+    private void endSegment(AWTEvent event, long now) {
+        long start = segmentStart;
+        if (start == 0) {
+            return;
+        }
+        long duration = now - start;
+        if (duration < thresholdNanos) {
+            return;
+        }
+
+        Capture captured = capture.get();
+        StackTraceElement[] stack = captured != null && captured.sequence == segmentSequence
+                ? captured.stack : null;
+        Instant startedAt = Instant.now().minusNanos(System.nanoTime() - start);
+        EdtStall stall = new EdtStall(startedAt, duration, describe(event), stack);
+
+        stalls.increment();
+        totalStallNanos.add(duration);
+        maxStallNanos.accumulate(duration);
+        stallDurations.record(duration);
+        synchronized (history) {
+            history[historyNext] = stall;
+            historyNext = (historyNext + 1) % history.length;
+        }
+        LOG.warn("{}", stall);
+    }
+
+    private void beginSegment(long now) {
+        segmentSequence = segmentSequence + 1;
+        segmentStart = now;
+    }
+
+    private static String describe(AWTEvent event) {
+        Object source = event.getSource();
+        return event.getClass().getSimpleName() + " (" + event.paramString() + ") em "
+                + (source != null ? source.getClass().getName() : "?");
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Fila de eventos que delimita os despachos para o monitor.
+     */
+    private final class MonitoredEventQueue extends EventQueue {
+
+        /** Evento do trecho em andamento; acessado somente na EDT. */
+        private AWTEvent current;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long now = System.nanoTime();
+            AWTEvent outer = current;
+            if (outer != null) {
+                // evento aninhado em um laço secundário (diálogo modal)
+                endSegment(outer, now);
+            } else {
+                edt = Thread.currentThread();
+            }
+            current = event;
+            dispatches.increment();
+            beginSegment(now);
+
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                now = System.nanoTime();
+                endSegment(event, now);
+                current = outer;
+                // no laço secundário a EDT volta a aguardar eventos: ociosa até o próximo
+                segmentStart = 0;
+            }
+        }
+
+        private void uninstall() {
+            pop();
+        }
+    }
+
+    /**
+     * Pilha da EDT capturada para um trecho.
+     */
+    private static final class Capture {
+
+        private final long sequence;
+        private final StackTraceElement[] stack;
+
+        private Capture(long sequence, StackTraceElement[] stack) {
+            this.sequence = sequence;
+            this.stack = stack;
+        }
+    }
+
+}
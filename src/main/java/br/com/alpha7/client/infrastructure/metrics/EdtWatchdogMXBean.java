@@ -0,0 +1,35 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+/**
+ * Interface JMX do {@link EdtWatchdog}.
+ *
+ * <p>
+ * Os tempos são informados em milissegundos.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public interface EdtWatchdogMXBean {
+
+    long getThresholdMillis();
+
+    void setThresholdMillis(long thresholdMillis);
+
+    long getDispatchCount();
+
+    long getStallCount();
+
+    double getMaxStallMillis();
+
+    double getTotalStallMillis();
+
+    double getStallP95Millis();
+
+    double getCurrentDispatchMillis();
+
+    String[] getRecentStalls();
+
+    void reset();
+
+}
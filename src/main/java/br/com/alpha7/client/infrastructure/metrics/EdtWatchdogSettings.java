@@ -0,0 +1,57 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configurações do monitor de bloqueios da Event Dispatch Thread ({@link EdtWatchdog}).
+ *
+ * <p>
+ * {@link #fromSystemProperties()} lê as configurações das propriedades de
+ * sistema {@code alpha7.edt.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EdtWatchdogSettings {
+
+	/** Instala o monitor ao iniciar a aplicação. */
+	@Builder.Default
+	private boolean enabled = true;
+
+	/** Duração mínima, em milissegundos, de um evento para ser considerado bloqueio. */
+	@Builder.Default
+	private long thresholdMillis = 200;
+
+	/** Intervalo, em milissegundos, entre as amostras da EDT. */
+	@Builder.Default
+	private long sampleIntervalMillis = 50;
+
+	/** Quantidade de bloqueios mais recentes mantidos em memória. */
+	@Builder.Default
+	private int historySize = 50;
+
+	/**
+	 * Cria as configurações a partir das propriedades de sistema
+	 * {@code alpha7.edt.watchdog}, {@code alpha7.edt.threshold},
+	 * {@code alpha7.edt.sampleInterval} e {@code alpha7.edt.history}.
+	 *
+	 * @return configurações lidas, com os valores padrão para as ausentes
+	 */
+	public static EdtWatchdogSettings fromSystemProperties() {
+		EdtWatchdogSettings settings = builder().build();
+		settings.setEnabled(Boolean.parseBoolean(System.getProperty("alpha7.edt.watchdog", "true")));
+		settings.setThresholdMillis(Long.getLong("alpha7.edt.threshold", settings.thresholdMillis));
+		settings.setSampleIntervalMillis(Long.getLong("alpha7.edt.sampleInterval", settings.sampleIntervalMillis));
+		settings.setHistorySize(Integer.getInteger("alpha7.edt.history", settings.historySize));
+		return settings;
+	}
+
+}
@@ -0,0 +1,374 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de um endpoint HTTP, identificado pelo método e pelo modelo do
+ * caminho (por exemplo {@code GET /book} ou {@code DELETE /book/{id}}).
+ *
+ * <p>
+ * Cada requisição é separada em três tempos, para distinguir a rede, o
+ * servidor e a conversão JSON:
+ * <ul>
+ *   <li><b>resposta</b>: da abertura da conexão ao recebimento do status,
+ *       incluindo conexão, envio do corpo e processamento no servidor</li>
+ *   <li><b>leitura do corpo</b>: tempo aguardando os bytes da resposta</li>
+ *   <li><b>decodificação</b>: tempo gasto pelo Jackson, sem a espera pela rede</li>
+ * </ul>
+ * além da latência total, das contagens de requisições, erros e timeouts e
+ * dos bytes enviados e recebidos.
+ * </p>
+ *
+ * <p>
+ * Também são expostos o estado do circuit breaker do endpoint, as
+ * requisições rejeitadas com o circuito aberto, as repetições e as
+ * requisições de reserva (hedging) enviadas e vencedoras e os chamadores
+ * atendidos por uma consulta idêntica já em andamento e as requisições
+ * redirecionadas a outro servidor após falha de conexão.
+ * </p>
+ *
+ * <p>
+ * A gravação é segura para uso concorrente e não bloqueia.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class EndpointMetrics implements EndpointMetricsMXBean {
+
+    private final String endpoint;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram response = new LatencyHistogram();
+    private final LatencyHistogram bodyRead = new LatencyHistogram();
+    private final LatencyHistogram decode = new LatencyHistogram();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    private volatile String circuitState = "CLOSED";
+
+    /**
+     * @param endpoint método e modelo do caminho
+     */
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Grava uma requisição concluída.
+     *
+     * @param totalNanos latência total
+     * @param responseNanos tempo até o status da resposta, ou negativo se não houve resposta
+     * @param bodyReadNanos tempo aguardando os bytes do corpo da resposta
+     * @param error {@code true} se a requisição falhou (status de erro, falha de rede ou cancelamento)
+     * @param timeout {@code true} se a falha foi por tempo esgotado
+     */
+    public void recordExchange(long totalNanos, long responseNanos, long bodyReadNanos,
+            boolean error, boolean timeout) {
+        requests.increment();
+        latency.record(totalNanos);
+        if (responseNanos >= 0) {
+            response.record(responseNanos);
+            bodyRead.record(bodyReadNanos);
+        }
+        if (timeout) {
+            timeouts.increment();
+        } else if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Grava o tempo de decodificação de um corpo JSON.
+     *
+     * @param nanos tempo gasto na conversão, sem a espera pela rede
+     */
+    public void recordDecode(long nanos) {
+        decode.record(nanos);
+    }
+
+    /**
+     * Soma bytes recebidos.
+     *
+     * @param bytes quantidade de bytes
+     */
+    public void addBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    /**
+     * Soma bytes enviados.
+     *
+     * @param bytes quantidade de bytes
+     */
+    public void addBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /**
+     * Contabiliza a repetição de uma requisição que falhou.
+     */
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    /**
+     * Contabiliza uma requisição rejeitada pelo circuit breaker.
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Contabiliza uma requisição de reserva enviada.
+     */
+    public void recordHedge() {
+        hedges.increment();
+    }
+
+    /**
+     * Contabiliza uma requisição de reserva que respondeu antes da original.
+     */
+    public void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * Contabiliza um chamador que aguardou uma consulta idêntica em andamento.
+     */
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    /**
+     * Contabiliza uma requisição redirecionada a outro servidor após falha de conexão.
+     */
+    public void recordFailover() {
+        failovers.increment();
+    }
+
+    /**
+     * Atualiza o estado do circuit breaker do endpoint.
+     *
+     * @param circuitState nome do estado
+     */
+    public void setCircuitState(String circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    /**
+     * Retorna uma cópia da latência total, para cálculo de percentis.
+     *
+     * @return cópia do histograma de latência
+     */
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    /**
+     * Retorna uma cópia do tempo até a resposta.
+     *
+     * @return cópia do histograma de resposta
+     */
+    public LatencyHistogram.Snapshot getResponse() {
+        return response.snapshot();
+    }
+
+    /**
+     * Retorna uma cópia do tempo de leitura do corpo.
+     *
+     * @return cópia do histograma de leitura
+     */
+    public LatencyHistogram.Snapshot getBodyRead() {
+        return bodyRead.snapshot();
+    }
+
+    /**
+     * Retorna uma cópia do tempo de decodificação.
+     *
+     * @return cópia do histograma de decodificação
+     */
+    public LatencyHistogram.Snapshot getDecode() {
+        return decode.snapshot();
+    }
+
+    @Override
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    @Override
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public long getFailovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+        return latency.snapshot().getMeanMillis();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+        return latency.snapshot().getPercentileMillis(50);
+    }
+
+    @Override
+    public double getLatencyP95Millis() {
+        return latency.snapshot().getPercentileMillis(95);
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+        return latency.snapshot().getPercentileMillis(99);
+    }
+
+    @Override
+    public double getLatencyP999Millis() {
+        return latency.snapshot().getPercentileMillis(99.9);
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+        return latency.snapshot().getMaxMillis();
+    }
+
+    @Override
+    public double getResponseP50Millis() {
+        return response.snapshot().getPercentileMillis(50);
+    }
+
+    @Override
+    public double getResponseP95Millis() {
+        return response.snapshot().getPercentileMillis(95);
+    }
+
+    @Override
+    public double getResponseP99Millis() {
+        return response.snapshot().getPercentileMillis(99);
+    }
+
+    @Override
+    public double getBodyReadP50Millis() {
+        return bodyRead.snapshot().getPercentileMillis(50);
+    }
+
+    @Override
+    public double getBodyReadP95Millis() {
+        return bodyRead.snapshot().getPercentileMillis(95);
+    }
+
+    @Override
+    public double getBodyReadP99Millis() {
+        return bodyRead.snapshot().getPercentileMillis(99);
+    }
+
+    @Override
+    public long getDecodes() {
+        return decode.getCount();
+    }
+
+    @Override
+    public double getDecodeMeanMillis() {
+        return decode.snapshot().getMeanMillis();
+    }
+
+    @Override
+    public double getDecodeP50Millis() {
+        return decode.snapshot().getPercentileMillis(50);
+    }
+
+    @Override
+    public double getDecodeP95Millis() {
+        return decode.snapshot().getPercentileMillis(95);
+    }
+
+    @Override
+    public double getDecodeP99Millis() {
+        return decode.snapshot().getPercentileMillis(99);
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        response.reset();
+        bodyRead.reset();
+        decode.reset();
+        requests.reset();
+        errors.reset();
+        timeouts.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        retries.reset();
+        rejected.reset();
+        hedges.reset();
+        hedgeWins.reset();
+        coalesced.reset();
+        failovers.reset();
+    }
+
+}
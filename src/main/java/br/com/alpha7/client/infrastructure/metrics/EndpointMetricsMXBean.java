@@ -0,0 +1,81 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+/**
+ * Interface JMX das métricas de um endpoint HTTP ({@link EndpointMetrics}).
+ *
+ * <p>
+ * Os tempos são informados em milissegundos. A latência total vai da
+ * abertura da conexão até a sua liberação; a resposta, da abertura até o
+ * recebimento do status (conexão, envio e processamento no servidor); a
+ * leitura, o tempo aguardando os bytes do corpo; e a decodificação, o tempo
+ * gasto pelo Jackson, descontada a espera pela rede.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public interface EndpointMetricsMXBean {
+
+    String getEndpoint();
+
+    long getRequests();
+
+    long getErrors();
+
+    long getTimeouts();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    long getRetries();
+
+    long getRejected();
+
+    long getHedges();
+
+    long getHedgeWins();
+
+    long getCoalesced();
+
+    long getFailovers();
+
+    String getCircuitState();
+
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP95Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyP999Millis();
+
+    double getLatencyMaxMillis();
+
+    double getResponseP50Millis();
+
+    double getResponseP95Millis();
+
+    double getResponseP99Millis();
+
+    double getBodyReadP50Millis();
+
+    double getBodyReadP95Millis();
+
+    double getBodyReadP99Millis();
+
+    long getDecodes();
+
+    double getDecodeMeanMillis();
+
+    double getDecodeP50Millis();
+
+    double getDecodeP95Millis();
+
+    double getDecodeP99Millis();
+
+    void reset();
+
+}
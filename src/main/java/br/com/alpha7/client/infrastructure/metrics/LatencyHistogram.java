@@ -0,0 +1,186 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com precisão relativa constante, seguro para
+ * gravação concorrente e sem alocação por amostra.
+ *
+ * <p>
+ * As latências são gravadas em microssegundos, em faixas log-lineares: cada
+ * potência de dois é dividida em {@value #SUB_BUCKETS} faixas iguais, de modo
+ * que o erro de qualquer percentil fica abaixo de 1/{@value #SUB_BUCKETS}
+ * (cerca de 1,6%), de 1 µs até aproximadamente 19 horas. Valores maiores são
+ * contabilizados na última faixa.
+ * </p>
+ *
+ * <p>
+ * A gravação atualiza apenas contadores atômicos. Os percentis são
+ * calculados sobre uma cópia ({@link #snapshot()}), que pode ser obtida
+ * enquanto outras threads continuam gravando.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    /** Bits de precisão de cada potência de dois. */
+    private static final int PRECISION_BITS = 7;
+
+    /** Quantidade de faixas por potência de dois. */
+    private static final int SUB_BUCKETS = 1 << (PRECISION_BITS - 1);
+
+    /** Maior valor, em microssegundos, distinguido pelo histograma (2^36 µs). */
+    private static final long MAX_MICROS = (1L << 36) - 1;
+
+    private static final int BUCKETS = index(MAX_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Grava uma latência.
+     *
+     * @param nanos latência em nanossegundos
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, Math.min(MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        counts.incrementAndGet(index(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * Retorna a quantidade de latências gravadas.
+     *
+     * @return total de amostras
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Retorna uma cópia do histograma para cálculo de percentis.
+     *
+     * @return cópia do estado atual
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sumMicros.sum(), maxMicros.get());
+    }
+
+    /**
+     * Descarta todas as latências gravadas.
+     *
+     * <p>
+     * Amostras gravadas durante a limpeza podem ser parcialmente mantidas.
+     * </p>
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sumMicros.reset();
+        maxMicros.reset();
+    }
+
+    private static int index(long micros) {
+        if (micros < 2 * SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (PRECISION_BITS - 1);
+        return shift * SUB_BUCKETS + (int) (micros >>> shift);
+    }
+
+    /**
+     * Valor central, em microssegundos, da faixa informada.
+     */
+    private static long midpoint(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (index - shift * SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    /**
+     * Cópia imutável de um {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        /**
+         * Retorna a quantidade de amostras.
+         *
+         * @return total de amostras
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Retorna a latência média.
+         *
+         * @return média em milissegundos, ou {@code 0} sem amostras
+         */
+        public double getMeanMillis() {
+            return count == 0 ? 0 : sumMicros / (double) count / 1000.0;
+        }
+
+        /**
+         * Retorna a maior latência gravada.
+         *
+         * @return máximo em milissegundos
+         */
+        public double getMaxMillis() {
+            return maxMicros / 1000.0;
+        }
+
+        /**
+         * Retorna o percentil informado.
+         *
+         * @param percentile percentil entre 0 e 100 (por exemplo, 99.9)
+         * @return latência em milissegundos, ou {@code 0} sem amostras
+         */
+        public double getPercentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(midpoint(i), maxMicros) / 1000.0;
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+
+}
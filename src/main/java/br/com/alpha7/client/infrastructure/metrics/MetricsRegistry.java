@@ -0,0 +1,185 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registro das métricas dos endpoints HTTP do cliente Alpha7.
+ *
+ * <p>
+ * Cada endpoint é identificado pelo método HTTP e pelo modelo do caminho, no
+ * qual segmentos numéricos são substituídos por {@code {id}} para que
+ * {@code /book/1} e {@code /book/2} sejam agregados em {@code /book/{id}}.
+ * </p>
+ *
+ * <p>
+ * O registro e cada endpoint são publicados no MBeanServer da plataforma, em
+ * {@value #DOMAIN}, e podem ser acompanhados pelo JConsole ou VisualVM. Falhas
+ * de publicação são ignoradas: as métricas continuam disponíveis pela API.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class MetricsRegistry implements MetricsRegistryMXBean {
+
+    /**
+     * Domínio JMX das métricas.
+     */
+    public static final String DOMAIN = "br.com.alpha7.client";
+
+    /**
+     * Registro compartilhado pelos serviços HTTP.
+     */
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry(true);
+
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    private final boolean jmx;
+
+    /**
+     * Cria um registro isolado, não publicado via JMX.
+     */
+    public MetricsRegistry() {
+        this(false);
+    }
+
+    private MetricsRegistry(boolean jmx) {
+        this.jmx = jmx;
+        if (jmx) {
+            register(this, "type=HttpMetrics");
+        }
+    }
+
+    /**
+     * Retorna o registro compartilhado, publicado via JMX.
+     *
+     * @return registro compartilhado
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retorna as métricas de um endpoint, criando-as no primeiro uso.
+     *
+     * @param method método HTTP
+     * @param path caminho da requisição, relativo à URL base da API
+     * @return métricas do endpoint
+     */
+    public EndpointMetrics endpoint(String method, String path) {
+        String key = method + " " + template(path);
+        EndpointMetrics metrics = endpoints.get(key);
+        if (metrics != null) {
+            return metrics;
+        }
+
+        EndpointMetrics created = new EndpointMetrics(key);
+        metrics = endpoints.putIfAbsent(key, created);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (jmx) {
+            register(created, "type=HttpEndpoint,name=" + ObjectName.quote(key));
+        }
+        return created;
+    }
+
+    /**
+     * Retorna as métricas de todos os endpoints, ordenadas pelo nome.
+     *
+     * @return cópia da lista de endpoints
+     */
+    public List<EndpointMetrics> getEndpointMetrics() {
+        List<EndpointMetrics> list = new ArrayList<>(endpoints.values());
+        list.sort((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+        return list;
+    }
+
+    @Override
+    public String[] getEndpoints() {
+        List<String> names = new ArrayList<>(endpoints.keySet());
+        Collections.sort(names);
+        return names.toArray(new String[0]);
+    }
+
+    @Override
+    public long getRequests() {
+        long total = 0;
+        for (EndpointMetrics metrics : endpoints.values()) {
+            total += metrics.getRequests();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        for (EndpointMetrics metrics : endpoints.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Substitui segmentos numéricos do caminho por {@code {id}}.
+     *
+     * @param path caminho da requisição
+     * @return modelo do caminho
+     */
+    static String template(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        StringBuilder sb = new StringBuilder(path.length());
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (start > 0) {
+                sb.append('/');
+            }
+            sb.append(isNumeric(path, start, end) ? "{id}" : path.substring(start, end));
+            start = end + 1;
+        }
+        return sb.toString();
+    }
+
+    private static boolean isNumeric(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Publica um MBean no domínio {@value #DOMAIN} do MBeanServer da plataforma.
+     *
+     * @param mbean objeto a ser publicado
+     * @param properties propriedades do nome, por exemplo {@code type=HttpMetrics}
+     */
+    public static void register(Object mbean, String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (JMException | SecurityException ignored) {
+        }
+    }
+
+}
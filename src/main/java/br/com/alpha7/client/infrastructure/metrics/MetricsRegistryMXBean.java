@@ -0,0 +1,26 @@
+package br.com.alpha7.client.infrastructure.metrics;
+
+/**
+ * Interface JMX do {@link MetricsRegistry}.
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public interface MetricsRegistryMXBean {
+
+    /**
+     * @return endpoints com métricas registradas, no formato {@code MÉTODO /caminho}
+     */
+    String[] getEndpoints();
+
+    /**
+     * @return total de requisições de todos os endpoints
+     */
+    long getRequests();
+
+    /**
+     * Zera as métricas de todos os endpoints.
+     */
+    void reset();
+
+}
@@ -124,9 +124,9 @@ public class ConvertJTextFieldUtil {
      * Converte o valor do {@link JTextField} em um ISBN válido (10 ou 13 dígitos).
      *
      * <p>
-     * Remove caracteres inválidos e valida o formato do ISBN. Em caso de valor inválido,
-     * adiciona um {@link FieldErrorDTO} à lista de erros e retorna {@code null}.
-     * Retorna o ISBN em maiúsculas se válido.
+     * Remove caracteres inválidos e valida o formato do ISBN com {@link IsbnUtil}.
+     * Em caso de valor inválido, adiciona um {@link FieldErrorDTO} à lista de
+     * erros e retorna {@code null}. Retorna o ISBN em maiúsculas se válido.
      * </p>
      *
      * @param field campo de texto contendo o ISBN
@@ -140,11 +140,9 @@ public class ConvertJTextFieldUtil {
 	    if (value.isEmpty())
 	        return null;
 
-	    String isbn = value.replaceAll("[^0-9Xx]", "");
-
-	    boolean valido = isValidISBN10(isbn) || isValidISBN13(isbn);
+	    String isbn = IsbnUtil.normalize(value);
 
-	    if (!valido) {
+	    if (isbn == null) {
 	        errors.add(new FieldErrorDTO(
 	                field,
 	                String.format("O valor [%s] é um ISBN inválido para o campo [%s].",
@@ -153,62 +151,7 @@ public class ConvertJTextFieldUtil {
 	        return null;
 	    }
 
-	    return isbn.toUpperCase();
-	}
-
-    /**
-     * Valida se a string fornecida é um ISBN-10 válido.
-     *
-     * @param isbn string contendo o ISBN
-     * @return {@code true} se válido, {@code false} caso contrário
-     */
-	private static boolean isValidISBN10(String isbn) {
-
-	    if (isbn.length() != 10)
-	        return false;
-
-	    int sum = 0;
-
-	    for (int i = 0; i < 10; i++) {
-	        char c = isbn.charAt(i);
-
-	        int value;
-	        if (i == 9 && (c == 'X' || c == 'x')) {
-	            value = 10;
-	        } else if (Character.isDigit(c)) {
-	            value = Character.getNumericValue(c);
-	        } else {
-	            return false;
-	        }
-
-	        sum += value * (10 - i);
-	    }
-
-	    return sum % 11 == 0;
-	}
-
-    /**
-     * Valida se a string fornecida é um ISBN-13 válido.
-     *
-     * @param isbn string contendo o ISBN
-     * @return {@code true} se válido, {@code false} caso contrário
-     */
-	private static boolean isValidISBN13(String isbn) {
-
-	    if (isbn.length() != 13 || !isbn.matches("\\d{13}"))
-	        return false;
-
-	    int sum = 0;
-
-	    for (int i = 0; i < 12; i++) {
-	        int digit = Character.getNumericValue(isbn.charAt(i));
-	        sum += digit * ((i % 2 == 0) ? 1 : 3);
-	    }
-
-	    int checkDigit = (10 - (sum % 10)) % 10;
-	    int lastDigit = Character.getNumericValue(isbn.charAt(12));
-
-	    return checkDigit == lastDigit;
+	    return isbn;
 	}
 
 }
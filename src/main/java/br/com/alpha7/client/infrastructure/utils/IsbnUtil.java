@@ -0,0 +1,341 @@
+package br.com.alpha7.client.infrastructure.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Validação, normalização e conversão de ISBN sem alocação de objetos.
+ *
+ * <p>
+ * Os métodos {@code parse} aceitam o ISBN com ou sem separadores (hífens,
+ * espaços etc.), a partir de um {@link CharSequence}, de um {@code byte[]} ou
+ * de um intervalo de um {@link ByteBuffer}, e retornam uma chave primitiva:
+ * o valor numérico do ISBN-13 correspondente. Um ISBN-10 é convertido para a
+ * forma ISBN-13 (prefixo {@code 978}), de modo que as duas formas de um mesmo
+ * livro produzem a mesma chave. Entradas inválidas retornam {@link #INVALID}.
+ * </p>
+ *
+ * <p>
+ * As regras são as mesmas da validação original do formulário: são
+ * considerados apenas dígitos e {@code X}; um ISBN-10 aceita {@code X}
+ * somente como dígito verificador; o dígito verificador é conferido em
+ * ambas as formas.
+ * </p>
+ *
+ * <p>
+ * A leitura percorre a entrada uma única vez, acumulando o estado em um único
+ * {@code long} (ver {@link #step(long, int)}), sem expressões regulares nem
+ * cópias de texto. Apenas os métodos que retornam {@link String} alocam.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public final class IsbnUtil {
+
+    /** Chave retornada para entradas inválidas. */
+    public static final long INVALID = -1L;
+
+    /** Valor do prefixo {@code 978} na chave ISBN-13 de um ISBN-10. */
+    private static final long PREFIX_978 = 978_000_000_000_0L;
+
+    /*
+     * Estado da leitura, em um único long:
+     *   bits  0-43  dígitos lidos, como número (até 13 dígitos; X não incluso)
+     *   bits 44-47  quantidade de caracteres significativos lidos
+     *   bits 48-51  soma ponderada do ISBN-10, módulo 11
+     *   bits 52-55  soma ponderada do ISBN-13, módulo 10
+     *   bit  56     X lido como décimo caractere
+     *   bit  57     entrada inválida
+     */
+    private static final long VALUE_MASK = (1L << 44) - 1;
+    private static final int COUNT_SHIFT = 44;
+    private static final int SUM10_SHIFT = 48;
+    private static final int SUM13_SHIFT = 52;
+    private static final long CHECK_X = 1L << 56;
+    private static final long BROKEN = 1L << 57;
+
+    /**
+     * Construtor privado para impedir instanciação.
+     */
+    private IsbnUtil() {}
+
+    /**
+     * Valida o ISBN e retorna sua chave.
+     *
+     * @param isbn texto contendo o ISBN, com ou sem separadores
+     * @return chave ISBN-13 ou {@link #INVALID}
+     */
+    public static long parse(CharSequence isbn) {
+        return isbn != null ? parse(isbn, 0, isbn.length()) : INVALID;
+    }
+
+    /**
+     * Valida o ISBN contido no intervalo do texto e retorna sua chave.
+     *
+     * @param text texto contendo o ISBN
+     * @param start posição inicial, inclusiva
+     * @param end posição final, exclusiva
+     * @return chave ISBN-13 ou {@link #INVALID}
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        long state = 0;
+        for (int i = start; i < end && (state & BROKEN) == 0; i++) {
+            state = step(state, text.charAt(i));
+        }
+        return finish(state);
+    }
+
+    /**
+     * Valida o ISBN contido no intervalo do array, codificado em ASCII/UTF-8.
+     *
+     * @param bytes array contendo o ISBN
+     * @param offset posição inicial
+     * @param length quantidade de bytes
+     * @return chave ISBN-13 ou {@link #INVALID}
+     */
+    public static long parse(byte[] bytes, int offset, int length) {
+        long state = 0;
+        int end = offset + length;
+        for (int i = offset; i < end && (state & BROKEN) == 0; i++) {
+            state = step(state, bytes[i]);
+        }
+        return finish(state);
+    }
+
+    /**
+     * Valida o ISBN contido no intervalo do buffer, codificado em ASCII/UTF-8.
+     *
+     * <p>
+     * Utiliza leituras absolutas: a posição e o limite do buffer não são alterados.
+     * </p>
+     *
+     * @param buffer buffer contendo o ISBN, como um arquivo mapeado em memória
+     * @param start posição inicial, inclusiva
+     * @param end posição final, exclusiva
+     * @return chave ISBN-13 ou {@link #INVALID}
+     */
+    public static long parse(ByteBuffer buffer, int start, int end) {
+        long state = 0;
+        for (int i = start; i < end && (state & BROKEN) == 0; i++) {
+            state = step(state, buffer.get(i));
+        }
+        return finish(state);
+    }
+
+    /**
+     * Verifica se o texto contém um ISBN-10 ou ISBN-13 válido.
+     *
+     * @param isbn texto contendo o ISBN, com ou sem separadores
+     * @return {@code true} se válido
+     */
+    public static boolean isValid(CharSequence isbn) {
+        return parse(isbn) != INVALID;
+    }
+
+    /**
+     * Retorna o ISBN sem separadores e com {@code X} maiúsculo, mantendo a forma
+     * (10 ou 13 caracteres) informada.
+     *
+     * @param isbn texto contendo o ISBN, com ou sem separadores
+     * @return ISBN normalizado ou {@code null} se inválido
+     */
+    public static String normalize(CharSequence isbn) {
+        long state = 0;
+        int length = isbn != null ? isbn.length() : 0;
+        for (int i = 0; i < length && (state & BROKEN) == 0; i++) {
+            state = step(state, isbn.charAt(i));
+        }
+        if (finish(state) == INVALID) {
+            return null;
+        }
+
+        int count = count(state);
+        char[] chars = new char[count];
+        long value = state & VALUE_MASK;
+        int digits = (state & CHECK_X) != 0 ? count - 1 : count;
+
+        if (digits < count) {
+            chars[count - 1] = 'X';
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Converte a chave para o texto ISBN-13.
+     *
+     * @param key chave obtida por {@code parse}
+     * @return ISBN-13 com 13 dígitos
+     */
+    public static String toIsbn13(long key) {
+        char[] chars = new char[13];
+        writeIsbn13(key, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Escreve os 13 dígitos da chave no array informado, sem alocação.
+     *
+     * @param key chave obtida por {@code parse}
+     * @param target array de destino
+     * @param offset posição inicial no array
+     */
+    public static void writeIsbn13(long key, char[] target, int offset) {
+        long value = key;
+        for (int i = 12; i >= 0; i--) {
+            target[offset + i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Converte a chave para o texto ISBN-10, quando existente.
+     *
+     * @param key chave obtida por {@code parse}
+     * @return ISBN-10 ou {@code null} caso o ISBN-13 não tenha prefixo {@code 978}
+     */
+    public static String toIsbn10(long key) {
+        if (key / 10_000_000_000L != 978) {
+            return null;
+        }
+
+        long body = (key / 10) % 1_000_000_000L;
+        char[] chars = new char[10];
+        int sum = 0;
+
+        for (int i = 8; i >= 0; i--) {
+            int digit = (int) (body % 10);
+            chars[i] = (char) ('0' + digit);
+            sum += digit * (10 - i);
+            body /= 10;
+        }
+
+        int check = (11 - sum % 11) % 11;
+        chars[9] = check == 10 ? 'X' : (char) ('0' + check);
+        return new String(chars);
+    }
+
+    /**
+     * Gera um ISBN-13 válido com prefixo {@code 978}, para massas de dados de
+     * teste e de carga.
+     *
+     * <p>
+     * Sorteia os nove dígitos seguintes ao prefixo, nesta ordem, e calcula o
+     * dígito verificador; a mesma semente produz a mesma sequência de ISBNs.
+     * </p>
+     *
+     * @param random gerador dos dígitos
+     * @return ISBN-13 com 13 dígitos
+     */
+    public static String randomIsbn13(Random random) {
+        long body = 978;
+        for (int i = 0; i < 9; i++) {
+            body = body * 10 + random.nextInt(10);
+        }
+        return toIsbn13(withCheckDigit13(body));
+    }
+
+    /**
+     * Processa um caractere da entrada, retornando o novo estado.
+     *
+     * <p>
+     * Caracteres que não são dígitos nem {@code X} são ignorados, como separadores.
+     * </p>
+     */
+    private static long step(long state, int c) {
+        int i = count(state);
+
+        if (c >= '0' && c <= '9') {
+            if (i >= 13 || (state & CHECK_X) != 0) {
+                return state | BROKEN;
+            }
+            int digit = c - '0';
+            long value = (state & VALUE_MASK) * 10 + digit;
+            int sum10 = i < 10 ? (sum10(state) + digit * (10 - i)) % 11 : sum10(state);
+            int sum13 = (sum13(state) + digit * ((i & 1) == 0 ? 1 : 3)) % 10;
+            return pack(value, i + 1, sum10, sum13) | (state & CHECK_X);
+        }
+
+        if (c == 'X' || c == 'x') {
+            if (i != 9) {
+                return state | BROKEN;
+            }
+            // X vale 10 com peso 1 na última posição do ISBN-10
+            int sum10 = (sum10(state) + 10) % 11;
+            return pack(state & VALUE_MASK, i + 1, sum10, sum13(state)) | CHECK_X;
+        }
+
+        return state;
+    }
+
+    /**
+     * Confere o dígito verificador e monta a chave ISBN-13.
+     */
+    private static long finish(long state) {
+        if ((state & BROKEN) != 0) {
+            return INVALID;
+        }
+
+        long value = state & VALUE_MASK;
+
+        switch (count(state)) {
+        case 10:
+            if (sum10(state) != 0) {
+                return INVALID;
+            }
+            long body = (state & CHECK_X) != 0 ? value : value / 10;
+            return to978(body);
+        case 13:
+            return sum13(state) == 0 ? value : INVALID;
+        default:
+            return INVALID;
+        }
+    }
+
+    /**
+     * Monta a chave ISBN-13 com prefixo {@code 978} a partir dos 9 dígitos
+     * de um ISBN-10, calculando o novo dígito verificador.
+     */
+    private static long to978(long body) {
+        return withCheckDigit13((PREFIX_978 + body * 10) / 10);
+    }
+
+    /**
+     * Acrescenta aos 12 primeiros dígitos de um ISBN-13 o seu dígito verificador.
+     */
+    private static long withCheckDigit13(long base) {
+        int sum = 0;
+        long value = base;
+        // dígitos da direita para a esquerda: posições 11 a 0
+        for (int i = 11; i >= 0; i--) {
+            int digit = (int) (value % 10);
+            sum += digit * ((i & 1) == 0 ? 1 : 3);
+            value /= 10;
+        }
+        return base * 10 + (10 - sum % 10) % 10;
+    }
+
+    private static long pack(long value, int count, int sum10, int sum13) {
+        return value
+                | ((long) count << COUNT_SHIFT)
+                | ((long) sum10 << SUM10_SHIFT)
+                | ((long) sum13 << SUM13_SHIFT);
+    }
+
+    private static int count(long state) {
+        return (int) (state >>> COUNT_SHIFT) & 0xF;
+    }
+
+    private static int sum10(long state) {
+        return (int) (state >>> SUM10_SHIFT) & 0xF;
+    }
+
+    private static int sum13(long state) {
+        return (int) (state >>> SUM13_SHIFT) & 0xF;
+    }
+
+}
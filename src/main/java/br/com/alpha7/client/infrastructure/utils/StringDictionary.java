@@ -0,0 +1,74 @@
+package br.com.alpha7.client.infrastructure.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dicionário de strings para codificação de valores repetidos.
+ *
+ * <p>
+ * Cada string distinta recebe um código inteiro sequencial, permitindo
+ * armazenar colunas com muitos valores repetidos (ex.: nomes de autores e
+ * editoras) como arrays de {@code int}, mantendo uma única instância de
+ * cada texto em memória.
+ * </p>
+ *
+ * <p>
+ * Esta classe não é thread-safe; as instâncias utilizadas pela interface são
+ * acessadas somente na Event Dispatch Thread.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Retorna o código da string, registrando-a caso ainda não exista.
+     *
+     * @param value texto a ser codificado
+     * @return código inteiro do texto
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * Retorna a string associada ao código.
+     *
+     * @param code código obtido por {@link #encode(String)}
+     * @return texto original
+     */
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Retorna a quantidade de strings distintas registradas.
+     *
+     * @return tamanho do dicionário
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Remove todas as strings registradas.
+     */
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+
+}
@@ -0,0 +1,123 @@
+package br.com.alpha7.client.infrastructure.validation;
+
+import java.awt.Component;
+
+import javax.swing.JOptionPane;
+
+import br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO;
+import br.com.alpha7.client.infrastructure.exception.ServerException;
+import br.com.alpha7.client.infrastructure.exception.ServiceError;
+import br.com.alpha7.client.infrastructure.exception.ServiceErrorListener;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+
+/**
+ * Classe utilitária para exibição de erros ocorridos na comunicação com o
+ * servidor na interface Swing da aplicação cliente Alpha7.
+ *
+ * <p>
+ * Erros retornados pelo servidor ({@link ServerException}) são exibidos com
+ * mensagem, status e caminho da requisição. Demais falhas (rede, conversão etc.)
+ * são exibidas com uma mensagem genérica.
+ * </p>
+ *
+ * <p>
+ * Exceções encapsuladas por operações assíncronas ({@link CompletionException}
+ * e {@link ExecutionException}) são desembrulhadas antes da exibição.
+ * </p>
+ *
+ * <p>
+ * As falhas das operações síncronas dos serviços são exibidas instalando
+ * {@link #listener(Component)} no serviço.
+ * </p>
+ *
+ * <p>
+ * Esta classe não pode ser instanciada.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class ServiceErrorDialogHandler {
+
+    /**
+     * Construtor privado para impedir instanciação da classe.
+     */
+    private ServiceErrorDialogHandler() {}
+
+    /**
+     * Exibe o erro informado, escolhendo o tipo de mensagem adequado.
+     *
+     * @param parent componente pai do diálogo
+     * @param error erro ocorrido
+     * @param title título da janela
+     */
+    public static void show(Component parent, Throwable error, String title) {
+        Throwable cause = ServiceError.unwrap(error);
+
+        if (cause instanceof ServerException) {
+            showServerError(parent, ((ServerException) cause).getErrorResponse(), title);
+        } else {
+            showUnexpectedError(parent, cause, title);
+        }
+    }
+
+    /**
+     * Exibe a falha informada por um serviço.
+     *
+     * @param parent componente pai do diálogo
+     * @param error falha da operação; a operação é utilizada como título
+     */
+    public static void show(Component parent, ServiceError error) {
+        show(parent, error.getCause(), error.getOperation());
+    }
+
+    /**
+     * Cria um {@link ServiceErrorListener} que exibe as falhas em diálogos.
+     *
+     * <p>
+     * Os diálogos são sempre abertos na Event Dispatch Thread, de modo que a
+     * thread que executou a operação não fica bloqueada aguardando o usuário.
+     * </p>
+     *
+     * @param parent componente pai dos diálogos
+     * @return listener a ser instalado no serviço
+     */
+    public static ServiceErrorListener listener(Component parent) {
+        return error -> ExecutorFactory.edt().execute(() -> show(parent, error));
+    }
+
+    /**
+     * Exibe uma mensagem de erro retornado pelo servidor.
+     *
+     * @param parent componente pai do diálogo
+     * @param error detalhes do erro
+     * @param title título da janela
+     */
+    public static void showServerError(Component parent, ErrorResponseDTO error, String title) {
+        JOptionPane.showMessageDialog(
+                parent,
+                "Erro: " + error.getMessage() +
+                "\nStatus: " + error.getStatus() +
+                "\nCaminho: " + error.getPath(),
+                title,
+                JOptionPane.ERROR_MESSAGE
+        );
+    }
+
+    /**
+     * Exibe mensagem para erros inesperados.
+     *
+     * @param parent componente pai do diálogo
+     * @param error exceção lançada
+     * @param title título da janela
+     */
+    public static void showUnexpectedError(Component parent, Throwable error, String title) {
+        JOptionPane.showMessageDialog(
+                parent,
+                "Ocorreu um erro inesperado: " + error.getMessage(),
+                title,
+                JOptionPane.ERROR_MESSAGE
+        );
+    }
+
+}
@@ -118,6 +118,58 @@ public class ValidationDialogDefaultHandler {
             String[] columnNames,
             List<Object[]> rows
     ) {
+        JOptionPane.showMessageDialog(
+                parent,
+                createTablePanel(message, columnNames, rows),
+                "Informação",
+                JOptionPane.INFORMATION_MESSAGE
+        );
+    }
+
+    /**
+     * Exibe uma mensagem de atenção com uma tabela de dados e opções de escolha.
+     *
+     * <p>
+     * A tabela é montada como em {@link #showInfoWithTable}. O retorno é o
+     * índice da opção escolhida ou {@link JOptionPane#CLOSED_OPTION} caso o
+     * diálogo seja fechado sem escolha.
+     * </p>
+     *
+     * @param parent componente pai do diálogo
+     * @param message mensagem a ser exibida acima da tabela
+     * @param columnNames nomes das colunas da tabela
+     * @param rows conteúdo das linhas da tabela, cada elemento do tipo {@code Object[]}
+     * @param options textos dos botões de opção
+     * @return índice da opção escolhida
+     */
+    public static int showOptionsWithTable(
+            Component parent,
+            String message,
+            String[] columnNames,
+            List<Object[]> rows,
+            String[] options
+    ) {
+        return JOptionPane.showOptionDialog(
+                parent,
+                createTablePanel(message, columnNames, rows),
+                "Atenção",
+                JOptionPane.DEFAULT_OPTION,
+                JOptionPane.WARNING_MESSAGE,
+                null,
+                options,
+                options[0]
+        );
+    }
+
+    /**
+     * Cria o painel com a mensagem e, caso existam linhas, a tabela de dados.
+     *
+     * @param message mensagem a ser exibida acima da tabela
+     * @param columnNames nomes das colunas da tabela
+     * @param rows conteúdo das linhas da tabela
+     * @return painel a ser exibido no diálogo
+     */
+    private static JPanel createTablePanel(String message, String[] columnNames, List<Object[]> rows) {
         JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
@@ -164,13 +216,7 @@ public class ValidationDialogDefaultHandler {
             mainPanel.add(Box.createVerticalGlue(), BorderLayout.CENTER);
         }
 
-        JOptionPane.showMessageDialog(
-                parent,
-                mainPanel,
-                "Informação",
-                JOptionPane.INFORMATION_MESSAGE
-        );
+        return mainPanel;
     }
 
 }
-
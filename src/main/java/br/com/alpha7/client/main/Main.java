@@ -2,6 +2,8 @@ package br.com.alpha7.client.main;
 
 import javax.swing.SwingUtilities;
 
+import br.com.alpha7.client.infrastructure.metrics.EdtWatchdog;
+import br.com.alpha7.client.infrastructure.metrics.EdtWatchdogSettings;
 import br.com.alpha7.client.view.MainFrame;
 
 /**
@@ -17,6 +19,12 @@ import br.com.alpha7.client.view.MainFrame;
  * {@link SwingUtilities#invokeLater(Runnable)} para garantir que todos os componentes
  * Swing sejam criados e manipulados de forma segura.
  * </p>
+ *
+ * <p>
+ * Antes da criação da interface é instalado o {@link EdtWatchdog}, que
+ * registra os eventos que bloqueiam a EDT (desabilitável com
+ * {@code -Dalpha7.edt.watchdog=false}).
+ * </p>
  * 
  * <p>
  * Esta classe não mantém estado e sua única responsabilidade é iniciar a aplicação.
@@ -34,6 +42,8 @@ public class Main {
      */
 	public static void main(String[] args) {
 		
+		EdtWatchdog.install(EdtWatchdogSettings.fromSystemProperties());
+		
 		SwingUtilities.invokeLater(() -> {
 			
 			MainFrame mainFrame = new MainFrame();
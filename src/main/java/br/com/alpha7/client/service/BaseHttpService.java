@@ -1,16 +1,63 @@
 package br.com.alpha7.client.service;
 
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import br.com.alpha7.client.infrastructure.cache.LruCache;
 import br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO;
+import br.com.alpha7.client.infrastructure.exception.HttpStatusException;
 import br.com.alpha7.client.infrastructure.exception.ServerException;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
 import br.com.alpha7.client.infrastructure.factory.JsonMapperFactory;
+import br.com.alpha7.client.infrastructure.http.CircuitBreaker;
+import br.com.alpha7.client.infrastructure.http.ConnectionPoolMonitor;
+import br.com.alpha7.client.infrastructure.http.LoadBalancer;
+import br.com.alpha7.client.infrastructure.http.RequestHandle;
+import br.com.alpha7.client.infrastructure.http.RequestHedger;
+import br.com.alpha7.client.infrastructure.http.ResilienceSettings;
+import br.com.alpha7.client.infrastructure.http.ServerNode;
+import br.com.alpha7.client.infrastructure.http.SingleFlight;
+import br.com.alpha7.client.infrastructure.jfr.ClientEvents;
+import br.com.alpha7.client.infrastructure.metrics.EndpointMetrics;
+import br.com.alpha7.client.infrastructure.metrics.MetricsRegistry;
 
 /**
  * Classe base para serviços HTTP do cliente Alpha7.
@@ -26,6 +73,73 @@ import br.com.alpha7.client.infrastructure.factory.JsonMapperFactory;
  * o comportamento padrão de comunicação HTTP.
  * </p>
  *
+ * <p>
+ * O ciclo de vida das conexões é controlado para permitir o reaproveitamento
+ * de sockets pelo cache keep-alive do JDK: os corpos de resposta (inclusive
+ * os de erro) são sempre consumidos por completo e fechados, e as conexões
+ * são devolvidas ao pool através de {@link #release(HttpURLConnection)} em vez
+ * de encerradas. O reaproveitamento pode ser acompanhado por
+ * {@link #getConnectionPoolMonitor()}.
+ * </p>
+ *
+ * <p>
+ * Consultas GET podem ser condicionais: os validadores {@code ETag} e
+ * {@code Last-Modified} de cada URL são armazenados junto do objeto
+ * decodificado, e as consultas seguintes enviam {@code If-None-Match} /
+ * {@code If-Modified-Since}. Quando o servidor responde {@code 304 Not Modified},
+ * o objeto previamente decodificado é reutilizado sem transferir nem
+ * converter o corpo novamente.
+ * </p>
+ *
+ * <p>
+ * Toda requisição é medida no {@link MetricsRegistry} compartilhado, por
+ * método e caminho ({@link #endpointPath(URL)}): latência total, tempo até a
+ * resposta, tempo de leitura do corpo, tempo de decodificação JSON, bytes
+ * enviados e recebidos e contagens de erros e timeouts. Para isso os corpos
+ * de requisição devem ser obtidos por {@link #requestBody(HttpURLConnection)}
+ * e o status por {@link #responseCode(HttpURLConnection)}.
+ * </p>
+ *
+ * <p>
+ * Com uma gravação do Flight Recorder ativa, cada requisição também emite um
+ * evento {@code br.com.alpha7.client.HttpExchange} ({@link ClientEvents}).
+ * </p>
+ *
+ * <p>
+ * Cada endpoint possui um {@link CircuitBreaker}: com o circuito aberto,
+ * {@link #openConnection(URL, String)} falha imediatamente com
+ * {@link br.com.alpha7.client.infrastructure.exception.CircuitOpenException}
+ * em vez de aguardar o timeout de um servidor indisponível. Operações
+ * idempotentes podem ser repetidas após falhas transitórias com
+ * {@link #callWithRetry(RequestHandle, ServiceCall)}
+ * ({@link ResilienceSettings}, propriedades {@code alpha7.http.*}).
+ * </p>
+ *
+ * <p>
+ * Consultas sensíveis à latência de cauda podem ser executadas com
+ * {@link #callHedged(URL, HedgedCall)}: quando a resposta demora mais que o
+ * percentil configurado do endpoint, uma requisição de reserva idêntica é
+ * enviada e a primeira resposta é utilizada ({@link RequestHedger}).
+ * </p>
+ *
+ * <p>
+ * Consultas GET idênticas e simultâneas podem ser agrupadas com
+ * {@link #callCoalesced(URL, RequestHandle, HedgedCall)}: uma única conexão
+ * e um único resultado decodificado são compartilhados pelos chamadores,
+ * cada um com o seu próprio cancelamento ({@link SingleFlight}).
+ * </p>
+ *
+ * <p>
+ * Com um {@link LoadBalancer}, as URLs são montadas sobre a URL base da
+ * distribuição e cada conexão é direcionada ao servidor escolhido por ela.
+ * Métricas, caches e agrupamentos continuam identificados pela URL
+ * montada, independentemente do servidor que atendeu a requisição.
+ * Havendo réplicas, uma requisição que não consegue conectar é repetida
+ * imediatamente em outro servidor: as operações idempotentes por
+ * {@link #callWithRetry(RequestHandle, ServiceCall)} e as demais por
+ * {@link #callWithFailover(ServiceCall)}.
+ * </p>
+ *
  * @author Fernando Kramer De Souza
  * @since 1.0.0
  */
@@ -36,6 +150,118 @@ public abstract class BaseHttpService {
      */
     private static final int TIMEOUT = 10000;
 
+    /**
+     * Quantidade máxima de bytes descartados ao liberar uma conexão cujo corpo
+     * não foi lido. Acima disso é mais barato abrir uma nova conexão.
+     */
+    private static final int DRAIN_LIMIT = 64 * 1024;
+
+    /**
+     * Monitor compartilhado do pool de conexões keep-alive.
+     */
+    private static final ConnectionPoolMonitor POOL_MONITOR = new ConnectionPoolMonitor();
+
+    /**
+     * Métricas por endpoint, compartilhadas por todos os serviços e publicadas via JMX.
+     */
+    private static final MetricsRegistry METRICS = MetricsRegistry.getDefault();
+
+    /**
+     * Configurações de repetição e de circuit breaker.
+     */
+    private static final ResilienceSettings RESILIENCE = ResilienceSettings.fromSystemProperties();
+
+    /**
+     * Circuit breakers por endpoint.
+     */
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    /**
+     * Políticas de requisições de reserva por endpoint.
+     */
+    private static final ConcurrentMap<String, RequestHedger> HEDGERS = new ConcurrentHashMap<>();
+
+    /**
+     * Consultas GET em andamento, compartilhadas pelos chamadores idênticos.
+     */
+    private static final SingleFlight IN_FLIGHT = new SingleFlight();
+
+    /**
+     * Tentativa em andamento na thread, definida somente dentro de
+     * {@link #callWithRetry} e {@link #callWithFailover}, para contabilizar
+     * repetições e redirecionamentos no endpoint e no servidor acessados.
+     */
+    private static final ThreadLocal<AttemptTarget> CURRENT_ATTEMPT = new ThreadLocal<>();
+
+    /**
+     * Intervalo máximo entre entregas de lotes na leitura incremental, para que
+     * as primeiras linhas apareçam rapidamente mesmo com lotes grandes.
+     */
+    private static final long STREAM_FLUSH_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Quantidade máxima de URLs com validadores de cache condicional armazenados.
+     */
+    private static final int CONDITIONAL_CACHE_SIZE = 64;
+
+    /**
+     * Validadores e objetos decodificados das consultas condicionais, por URL.
+     */
+    private static final LruCache<String, Validators> CONDITIONAL_CACHE =
+            new LruCache<>(CONDITIONAL_CACHE_SIZE, 0);
+
+    /**
+     * Estado das conexões abertas e ainda não liberadas.
+     */
+    private static final Map<HttpURLConnection, ConnectionState> CONNECTIONS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Executor das chamadas assíncronas ({@link #supplyAsync(ServiceCall)}).
+     */
+    private final Executor executor;
+
+    /**
+     * Distribuição das requisições entre os servidores, ou {@code null} para
+     * utilizar as URLs como informadas.
+     */
+    private final LoadBalancer balancer;
+
+    /**
+     * Cria o serviço executando as chamadas assíncronas no pool de background
+     * ({@link ExecutorFactory#background()}).
+     */
+    protected BaseHttpService() {
+        this(ExecutorFactory.background());
+    }
+
+    /**
+     * Cria o serviço executando as chamadas assíncronas no executor informado.
+     *
+     * <p>
+     * Com um executor direto ({@code Runnable::run}) as chamadas são feitas na
+     * própria thread chamadora, como em ferramentas que simulam vários
+     * usuários e já possuem uma thread por sessão.
+     * </p>
+     *
+     * @param executor executor das chamadas assíncronas
+     */
+    protected BaseHttpService(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * Cria o serviço distribuindo as requisições entre os servidores do
+     * {@link LoadBalancer} informado.
+     *
+     * @param executor executor das chamadas assíncronas
+     * @param balancer distribuição entre os servidores, pode ser {@code null}
+     */
+    protected BaseHttpService(Executor executor, LoadBalancer balancer) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.balancer = balancer;
+    }
+
     /**
      * Lê a resposta HTTP e converte o conteúdo JSON para um tipo específico.
      *
@@ -58,7 +284,13 @@ public abstract class BaseHttpService {
             is = connection.getErrorStream();
             if (is == null) throw e;
         }
-        return JsonMapperFactory.get().readValue(is, clazz);
+        markResponded(connection);
+        is = meter(connection, is);
+        try {
+            return decode(connection, is, JsonMapperFactory.get().readerFor(clazz));
+        } finally {
+            markConsumed(connection, drainAndClose(is));
+        }
     }
 
     /**
@@ -72,8 +304,12 @@ public abstract class BaseHttpService {
      * @throws Exception caso ocorra erro de comunicação ou conversão
      */
     protected <T> T readResponse(HttpURLConnection connection, TypeReference<T> type) throws Exception {
-        try (InputStream is = connection.getInputStream()) {
-            return JsonMapperFactory.get().readValue(is, type);
+        InputStream is = meter(connection, connection.getInputStream());
+        markResponded(connection);
+        try {
+            return decode(connection, is, JsonMapperFactory.get().readerFor(type));
+        } finally {
+            markConsumed(connection, drainAndClose(is));
         }
     }
 
@@ -83,14 +319,60 @@ public abstract class BaseHttpService {
      * @param url endereço da requisição
      * @param method método HTTP (GET, POST, PUT, DELETE, etc)
      * @return conexão configurada
-     * @throws Exception caso ocorra falha ao abrir a conexão
+     * @throws Exception caso ocorra falha ao abrir a conexão ou o circuito do
+     *                   endpoint esteja aberto
      */
     protected HttpURLConnection openConnection(URL url, String method) throws Exception {
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod(method);
-        connection.setConnectTimeout(TIMEOUT);
-        connection.setReadTimeout(TIMEOUT);
-        connection.setRequestProperty("Accept", "application/json");
+        EndpointMetrics metrics = METRICS.endpoint(method, endpointPath(url));
+        CircuitBreaker breaker = circuitBreaker(metrics);
+        boolean probe = breaker.acquire();
+
+        ServerNode node = balancer != null ? balancer.choose() : null;
+        URL target;
+        HttpURLConnection connection;
+        try {
+            target = node != null ? balancer.route(url, node) : url;
+            connection = (HttpURLConnection) target.openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(balancer != null ? balancer.getConnectTimeoutMillis(TIMEOUT) : TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            connection.setRequestProperty("Accept", "application/json");
+        } catch (Exception e) {
+            breaker.onResult(probe, CircuitBreaker.Outcome.IGNORED);
+            throw e;
+        }
+
+        if (node != null) {
+            node.onStart();
+        }
+        CONNECTIONS.put(connection, new ConnectionState(url, target, node, metrics, breaker, probe,
+                ClientEvents.exchange(method, metrics.getEndpoint(), target)));
+        POOL_MONITOR.onAcquire(target);
+        return connection;
+    }
+
+    /**
+     * Abre uma conexão HTTP associada a um {@link RequestHandle}, permitindo
+     * que a requisição seja cancelada por outra thread.
+     *
+     * @param url endereço da requisição
+     * @param method método HTTP (GET, POST, PUT, DELETE, etc)
+     * @param handle controle de cancelamento, pode ser {@code null}
+     * @return conexão configurada
+     * @throws Exception caso ocorra falha ao abrir a conexão ou a requisição
+     *                   já tenha sido cancelada
+     */
+    protected HttpURLConnection openConnection(URL url, String method, RequestHandle handle) throws Exception {
+        HttpURLConnection connection = openConnection(url, method);
+        if (handle != null) {
+            CONNECTIONS.get(connection).handle = handle;
+            try {
+                handle.attach(connection);
+            } catch (RuntimeException e) {
+                disconnect(connection);
+                throw e;
+            }
+        }
         return connection;
     }
 
@@ -114,12 +396,228 @@ public abstract class BaseHttpService {
         return connection;
     }
 
+    /**
+     * Abre uma conexão GET condicional.
+     *
+     * <p>
+     * Caso existam validadores armazenados para a URL, são enviados os
+     * cabeçalhos {@code If-None-Match} e/ou {@code If-Modified-Since}. A resposta
+     * deve ser lida com {@link #readConditionalResponse(HttpURLConnection, Class)}
+     * ou {@link #readConditionalResponse(HttpURLConnection, TypeReference)}.
+     * </p>
+     *
+     * @param url endereço da requisição
+     * @param handle controle de cancelamento, pode ser {@code null}
+     * @return conexão configurada
+     * @throws Exception caso ocorra falha ao abrir a conexão
+     */
+    protected HttpURLConnection openConditionalConnection(URL url, RequestHandle handle) throws Exception {
+        HttpURLConnection connection = openConnection(url, "GET", handle);
+        Validators validators = CONDITIONAL_CACHE.get(url.toString());
+
+        if (validators != null) {
+            if (validators.etag != null) {
+                connection.setRequestProperty("If-None-Match", validators.etag);
+            }
+            if (validators.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", validators.lastModified);
+            }
+            CONNECTIONS.get(connection).conditional = validators;
+        }
+        return connection;
+    }
+
+    /**
+     * Lê a resposta de uma consulta condicional.
+     *
+     * <p>
+     * Em {@code 304 Not Modified} retorna o objeto decodificado anteriormente;
+     * caso contrário decodifica o corpo e, se o servidor informar validadores,
+     * armazena-os para as próximas consultas.
+     * </p>
+     *
+     * @param connection conexão aberta por {@link #openConditionalConnection(URL, RequestHandle)}
+     * @param clazz tipo de retorno esperado
+     * @param <T> tipo genérico do objeto esperado
+     * @return objeto convertido ou reaproveitado
+     * @throws Exception caso ocorra erro de comunicação ou conversão
+     */
+    protected <T> T readConditionalResponse(HttpURLConnection connection, Class<T> clazz) throws Exception {
+        return readConditionalResponse(connection, JsonMapperFactory.get().readerFor(clazz));
+    }
+
+    /**
+     * Lê a resposta de uma consulta condicional para tipos genéricos complexos.
+     *
+     * @param connection conexão aberta por {@link #openConditionalConnection(URL, RequestHandle)}
+     * @param type referência de tipo genérico
+     * @param <T> tipo genérico do retorno
+     * @return objeto convertido ou reaproveitado
+     * @throws Exception caso ocorra erro de comunicação ou conversão
+     * @see #readConditionalResponse(HttpURLConnection, Class)
+     */
+    protected <T> T readConditionalResponse(HttpURLConnection connection, TypeReference<T> type) throws Exception {
+        return readConditionalResponse(connection, JsonMapperFactory.get().readerFor(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T readConditionalResponse(HttpURLConnection connection, ObjectReader reader) throws Exception {
+        ConnectionState state = CONNECTIONS.get(connection);
+        String key = conditionalKey(connection, state);
+
+        if (responseCode(connection) == HttpURLConnection.HTTP_NOT_MODIFIED
+                && state != null && state.conditional != null) {
+            markResponded(connection);
+            return (T) state.conditional.value;
+        }
+
+        InputStream is = meter(connection, connection.getInputStream());
+        markResponded(connection);
+        T value;
+        try {
+            value = decode(connection, is, reader);
+        } finally {
+            markConsumed(connection, drainAndClose(is));
+        }
+
+        String etag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+
+        if (etag != null || lastModified != null) {
+            CONDITIONAL_CACHE.put(key, new Validators(etag, lastModified, value));
+        } else {
+            CONDITIONAL_CACHE.invalidate(key);
+        }
+        return value;
+    }
+
+    /**
+     * Lê de forma incremental uma resposta JSON contendo um array de objetos.
+     *
+     * <p>
+     * Os elementos são decodificados um a um diretamente do socket e entregues
+     * ao consumidor em lotes de até {@code batchSize} elementos (ou a cada
+     * 100 ms), sem materializar a lista completa. O consumidor é chamado na
+     * thread que executa a leitura.
+     * </p>
+     *
+     * <p>
+     * Somente quando o total de elementos não ultrapassa {@code retainLimit}
+     * a lista completa é mantida e retornada, permitindo armazená-la em cache;
+     * nesse caso os validadores de cache condicional também são registrados.
+     * Em {@code 304 Not Modified} o objeto armazenado é reentregue em lotes.
+     * </p>
+     *
+     * @param connection conexão aberta por {@link #openConditionalConnection(URL, RequestHandle)}
+     *                   ou {@link #openConnection(URL, String)}
+     * @param elementType tipo dos elementos do array
+     * @param batchSize tamanho máximo de cada lote
+     * @param consumer consumidor dos lotes
+     * @param retainLimit quantidade máxima de elementos mantidos para retorno
+     * @param <T> tipo dos elementos
+     * @return lista completa, ou {@code null} se o total ultrapassar {@code retainLimit}
+     * @throws Exception caso ocorra erro de comunicação ou conversão
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> readStreamingResponse(HttpURLConnection connection, Class<T> elementType,
+            int batchSize, Consumer<List<T>> consumer, int retainLimit) throws Exception {
+
+        ConnectionState state = CONNECTIONS.get(connection);
+        String key = conditionalKey(connection, state);
+
+        if (responseCode(connection) == HttpURLConnection.HTTP_NOT_MODIFIED
+                && state != null && state.conditional != null) {
+            markResponded(connection);
+            List<T> stored = (List<T>) state.conditional.value;
+            emitInBatches(stored, batchSize, consumer);
+            return stored;
+        }
+
+        InputStream is = meter(connection, connection.getInputStream());
+        markResponded(connection);
+        List<T> retained = new ArrayList<>();
+        long readBefore = state != null ? state.readNanos : 0;
+        long begin = System.nanoTime();
+        long consumerNanos = 0;
+
+        try (MappingIterator<T> it = JsonMapperFactory.get().readerFor(elementType)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                .readValues(is)) {
+
+            List<T> batch = new ArrayList<>(batchSize);
+            long lastFlush = System.nanoTime();
+
+            while (it.hasNextValue()) {
+                T value = it.nextValue();
+                batch.add(value);
+
+                if (retained != null) {
+                    if (retained.size() < retainLimit) {
+                        retained.add(value);
+                    } else {
+                        retained = null;
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (batch.size() >= batchSize || now - lastFlush >= STREAM_FLUSH_NANOS) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                    lastFlush = System.nanoTime();
+                    consumerNanos += lastFlush - now;
+                }
+            }
+            if (!batch.isEmpty()) {
+                long now = System.nanoTime();
+                consumer.accept(batch);
+                consumerNanos += System.nanoTime() - now;
+            }
+            if (state != null) {
+                // o tempo de decodificação exclui a espera pela rede e o consumidor
+                state.recordDecode(System.nanoTime() - begin - consumerNanos
+                        - (state.readNanos - readBefore));
+            }
+        } finally {
+            markConsumed(connection, drainAndClose(is));
+        }
+
+        String etag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+
+        if (retained != null && (etag != null || lastModified != null)) {
+            CONDITIONAL_CACHE.put(key, new Validators(etag, lastModified, retained));
+        } else {
+            CONDITIONAL_CACHE.invalidate(key);
+        }
+        return retained;
+    }
+
+    /**
+     * Entrega uma lista já materializada ao consumidor, em lotes.
+     *
+     * @param values lista a ser entregue
+     * @param batchSize tamanho máximo de cada lote
+     * @param consumer consumidor dos lotes
+     * @param <T> tipo dos elementos
+     */
+    protected static <T> void emitInBatches(List<T> values, int batchSize, Consumer<List<T>> consumer) {
+        for (int from = 0; from < values.size(); from += batchSize) {
+            consumer.accept(values.subList(from, Math.min(values.size(), from + batchSize)));
+        }
+    }
+
     /**
      * Valida o código de status da resposta HTTP.
      *
      * <p>
      * Caso o status não esteja entre os esperados, tenta ler o corpo de erro
-     * e lança {@link ServerException} com as informações retornadas pelo servidor.
+     * e lança {@link ServerException} com as informações retornadas pelo servidor,
+     * ou {@link HttpStatusException} quando não há corpo de erro.
+     * </p>
+     *
+     * <p>
+     * A resposta {@code 304 Not Modified} é aceita para consultas abertas por
+     * {@link #openConditionalConnection(URL, RequestHandle)} que enviaram validadores.
      * </p>
      *
      * @param connection conexão HTTP utilizada
@@ -127,50 +625,1036 @@ public abstract class BaseHttpService {
      * @throws Exception caso o status seja inválido ou ocorra falha de leitura
      */
     protected void validateStatus(HttpURLConnection connection, int... expected) throws Exception {
-        int status = connection.getResponseCode();
+        int status = responseCode(connection);
+        markResponded(connection);
 
         for (int ok : expected) {
             if (status == ok) return;
         }
 
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            ConnectionState state = CONNECTIONS.get(connection);
+            if (state != null && state.conditional != null) return;
+        }
+
         ErrorResponseDTO errorResponse = null;
-        try (InputStream is = connection.getErrorStream()) {
-            if (is != null) {
-                errorResponse = JsonMapperFactory.get().readValue(is, ErrorResponseDTO.class);
+        InputStream is = meter(connection, connection.getErrorStream());
+        if (is != null) {
+            try {
+                errorResponse = JsonMapperFactory.get().readerFor(ErrorResponseDTO.class)
+                        .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                        .readValue(is);
+            } catch (Exception ignored) {
+            } finally {
+                markConsumed(connection, drainAndClose(is));
             }
-        } catch (Exception ignored) {}
+        }
 
         if (errorResponse != null) {
             throw new ServerException(errorResponse);
         } else {
-            throw new RuntimeException("Erro HTTP " + status);
+            throw new HttpStatusException(status);
         }
     }
 
     /**
-     * Finaliza a conexão HTTP caso ainda esteja aberta.
+     * Libera a conexão HTTP ao final de uma requisição, devolvendo o socket
+     * ao cache keep-alive do JDK sempre que possível.
+     *
+     * <p>
+     * Caso o corpo da resposta ainda não tenha sido lido, ele é consumido
+     * (até {@value #DRAIN_LIMIT} bytes) e fechado. A conexão só é encerrada
+     * quando não houve resposta, quando o corpo é grande demais para ser
+     * descartado ou quando o servidor solicita {@code Connection: close}.
+     * </p>
+     *
+     * @param connection conexão a ser liberada
+     */
+    protected void release(HttpURLConnection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        ConnectionState state = CONNECTIONS.remove(connection);
+        if (state != null && state.handle != null) {
+            state.handle.detach(connection);
+        }
+        if (state == null || !state.responded) {
+            connection.disconnect();
+            if (state != null) {
+                POOL_MONITOR.onRelease(state.url, false, 0);
+                record(state, true);
+            }
+            return;
+        }
+
+        boolean reusable = state.consumed ? state.reusable : drainBody(connection, state);
+        if (reusable && "close".equalsIgnoreCase(connection.getHeaderField("Connection"))) {
+            reusable = false;
+        }
+        if (!reusable) {
+            connection.disconnect();
+        }
+
+        POOL_MONITOR.onRelease(state.url, reusable,
+                ConnectionPoolMonitor.parseKeepAlive(connection.getHeaderField("Keep-Alive")));
+        record(state, false);
+    }
+
+    /**
+     * Finaliza a conexão HTTP caso ainda esteja aberta, encerrando o socket
+     * sem devolvê-lo ao pool.
+     *
+     * <p>
+     * Para o encerramento normal de requisições utilize
+     * {@link #release(HttpURLConnection)}.
+     * </p>
      *
      * @param connection conexão a ser encerrada
      */
     protected void disconnect(HttpURLConnection connection) {
         if (connection != null) {
+            ConnectionState state = CONNECTIONS.remove(connection);
+            if (state != null && state.handle != null) {
+                state.handle.detach(connection);
+            }
             connection.disconnect();
+            if (state != null) {
+                POOL_MONITOR.onRelease(state.url, false, 0);
+                record(state, true);
+            }
         }
     }
 
     /**
-     * Codifica valores para utilização segura em URLs.
+     * Obtém o código de status da resposta, aguardando-a se necessário.
      *
-     * @param value valor a ser codificado
-     * @return valor codificado em UTF-8
-     * @throws RuntimeException caso ocorra erro na codificação
+     * <p>
+     * Deve ser utilizado no lugar de {@link HttpURLConnection#getResponseCode()}
+     * para que timeouts sejam contabilizados nas métricas do endpoint.
+     * </p>
+     *
+     * @param connection conexão HTTP ativa
+     * @return código de status HTTP
+     * @throws IOException caso ocorra falha de comunicação
      */
-    protected String encode(String value) {
+    protected int responseCode(HttpURLConnection connection) throws IOException {
+        ConnectionState state = CONNECTIONS.get(connection);
         try {
-            return URLEncoder.encode(value, "UTF-8");
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            int status = connection.getResponseCode();
+            if (state != null) {
+                state.status = status;
+                if (state.respondedNanos == 0) {
+                    state.respondedNanos = System.nanoTime();
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            markFailure(state, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Abre o corpo de uma requisição aberta por
+     * {@link #openConnectionWithBody(URL, String)}, contabilizando os bytes
+     * enviados nas métricas do endpoint.
+     *
+     * @param connection conexão HTTP ativa
+     * @return fluxo do corpo da requisição
+     * @throws IOException caso ocorra falha ao conectar
+     */
+    protected OutputStream requestBody(HttpURLConnection connection) throws IOException {
+        ConnectionState state = CONNECTIONS.get(connection);
+        try {
+            OutputStream os = connection.getOutputStream();
+            return state != null ? new MeteredOutputStream(os, state) : os;
+        } catch (IOException e) {
+            markFailure(state, e);
+            throw e;
         }
     }
-    
+
+    /**
+     * Retorna o caminho utilizado para identificar o endpoint nas métricas.
+     *
+     * <p>
+     * Por padrão é o caminho completo da URL; serviços com uma URL base podem
+     * removê-la para que o nome do endpoint não dependa do servidor.
+     * Segmentos numéricos são agregados pelo {@link MetricsRegistry}.
+     * </p>
+     *
+     * @param url endereço da requisição
+     * @return caminho do endpoint
+     */
+    protected String endpointPath(URL url) {
+        return url.getPath();
+    }
+
+    /**
+     * Executa uma chamada de serviço no executor do serviço, por padrão o
+     * pool de background ({@link ExecutorFactory#background()}).
+     *
+     * <p>
+     * Exceções lançadas pela chamada completam o {@link CompletableFuture}
+     * excepcionalmente, encapsuladas em {@link CompletionException}. Se o
+     * executor recusar a tarefa (pool saturado), o futuro é devolvido já
+     * completado com a {@link RejectedExecutionException}, sem lançá-la a
+     * quem chamou.
+     * </p>
+     *
+     * @param call chamada a ser executada
+     * @param <T> tipo do resultado
+     * @return futuro com o resultado da chamada
+     */
+    protected <T> CompletableFuture<T> supplyAsync(ServiceCall<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    /**
+     * Executa uma operação idempotente, repetindo-a após falhas transitórias.
+     *
+     * <p>
+     * São repetidas as falhas de conexão e as respostas {@code 502}, {@code 503}
+     * e {@code 504}, até {@link ResilienceSettings#getMaxAttempts()} tentativas,
+     * com espera exponencial e aleatória entre elas (metade fixa, metade
+     * sorteada) para que vários clientes não repitam ao mesmo tempo. Timeouts
+     * não são repetidos, pois já consumiram o tempo máximo da operação, nem
+     * erros de validação, de conversão ou de circuito aberto.
+     * </p>
+     *
+     * <p>
+     * Havendo réplicas, as falhas ao conectar (inclusive por timeout de
+     * conexão) são repetidas imediatamente, sem espera, pois a nova tentativa
+     * é direcionada a outro servidor.
+     * </p>
+     *
+     * <p>
+     * Somente operações sem efeito colateral adicional quando repetidas
+     * (consultas GET e remoções) devem utilizar este método.
+     * </p>
+     *
+     * @param handle controle de cancelamento; uma operação cancelada não é repetida
+     * @param call operação a ser executada
+     * @param <T> tipo do resultado
+     * @return resultado da operação
+     * @throws Exception falha da última tentativa
+     */
+    protected <T> T callWithRetry(RequestHandle handle, ServiceCall<T> call) throws Exception {
+        return callWithRetry(handle, () -> true, call);
+    }
+
+    /**
+     * Executa uma operação idempotente, repetindo-a após falhas transitórias
+     * enquanto a condição informada permitir.
+     *
+     * @param handle controle de cancelamento; uma operação cancelada não é repetida
+     * @param retryAllowed condição avaliada após cada falha, por exemplo para
+     *                     não repetir uma leitura incremental já parcialmente entregue
+     * @param call operação a ser executada
+     * @param <T> tipo do resultado
+     * @return resultado da operação
+     * @throws Exception falha da última tentativa
+     * @see #callWithRetry(RequestHandle, ServiceCall)
+     */
+    protected <T> T callWithRetry(RequestHandle handle, BooleanSupplier retryAllowed,
+            ServiceCall<T> call) throws Exception {
+        AttemptTarget target = new AttemptTarget();
+        AttemptTarget previous = CURRENT_ATTEMPT.get();
+        CURRENT_ATTEMPT.set(target);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                target.reset();
+                try {
+                    return call.call();
+                } catch (Exception e) {
+                    boolean failover = canFailOver(e);
+                    if (attempt >= RESILIENCE.getMaxAttempts() || !(failover || isTransient(e))
+                            || (handle != null && handle.isCancelled()) || !retryAllowed.getAsBoolean()) {
+                        throw e;
+                    }
+                    if (failover) {
+                        recordFailover(target);
+                        continue;
+                    }
+                    if (target.metrics != null) {
+                        target.metrics.recordRetry();
+                    }
+                    try {
+                        Thread.sleep(backoffMillis(attempt));
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            restoreAttempt(previous);
+        }
+    }
+
+    /**
+     * Executa uma operação redirecionando-a a outro servidor quando não
+     * consegue conectar.
+     *
+     * <p>
+     * Uma falha de conexão garante que a requisição não chegou ao servidor,
+     * de modo que mesmo gravações e importações podem ser repetidas em
+     * outra réplica. Demais falhas são lançadas sem repetição. Sem réplicas,
+     * a operação é executada uma única vez.
+     * </p>
+     *
+     * @param call operação a ser executada
+     * @param <T> tipo do resultado
+     * @return resultado da operação
+     * @throws Exception falha da última tentativa
+     */
+    protected <T> T callWithFailover(ServiceCall<T> call) throws Exception {
+        int attempts = balancer != null ? balancer.getNodes().size() : 1;
+        AttemptTarget target = new AttemptTarget();
+        AttemptTarget previous = CURRENT_ATTEMPT.get();
+        CURRENT_ATTEMPT.set(target);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                target.reset();
+                try {
+                    return call.call();
+                } catch (Exception e) {
+                    if (attempt >= attempts || !canFailOver(e)) {
+                        throw e;
+                    }
+                    recordFailover(target);
+                }
+            }
+        } finally {
+            restoreAttempt(previous);
+        }
+    }
+
+    /**
+     * Executa uma consulta GET idempotente enviando uma requisição de reserva
+     * quando a resposta demora.
+     *
+     * <p>
+     * A requisição original é executada na thread chamadora. Se não terminar
+     * dentro da espera calculada pelo {@link RequestHedger} do endpoint e o
+     * orçamento de reservas permitir, a mesma consulta é enviada novamente no
+     * pool de background. A primeira resposta bem-sucedida é retornada e a
+     * outra requisição é cancelada pelo seu {@link RequestHandle}; o
+     * cancelamento não conta como falha no circuit breaker. Se ambas falharem,
+     * é lançada a falha da requisição original.
+     * </p>
+     *
+     * <p>
+     * Somente consultas sem efeito colateral devem utilizar este método.
+     * Para repetir após falhas transitórias, combine com
+     * {@link #callWithRetry(RequestHandle, ServiceCall)}.
+     * </p>
+     *
+     * @param url endereço da consulta, que identifica o endpoint
+     * @param call consulta a ser executada, que deve associar a conexão ao handle recebido
+     * @param <T> tipo do resultado
+     * @return resultado da primeira tentativa bem-sucedida
+     * @throws Exception falha da requisição original quando nenhuma tentativa é bem-sucedida
+     */
+    protected <T> T callHedged(URL url, HedgedCall<T> call) throws Exception {
+        RequestHedger hedger = hedger(METRICS.endpoint("GET", endpointPath(url)));
+        long delayNanos = hedger.onRequest();
+        if (delayNanos < 0) {
+            long start = System.nanoTime();
+            T value = call.call(new RequestHandle());
+            hedger.recordLatency(System.nanoTime() - start);
+            return value;
+        }
+
+        HedgedExchange<T> exchange = new HedgedExchange<>(hedger, call);
+        ScheduledFuture<?> timer = ExecutorFactory.scheduler().schedule(exchange::hedge, delayNanos, TimeUnit.NANOSECONDS);
+        try {
+            exchange.attempt(exchange.primary, false);
+        } finally {
+            timer.cancel(false);
+        }
+        return exchange.await();
+    }
+
+    /**
+     * Executa uma consulta GET idempotente compartilhando-a com chamadores
+     * simultâneos da mesma URL.
+     *
+     * <p>
+     * Enquanto a consulta estiver em andamento, chamadas com a mesma URL
+     * canônica aguardam o seu resultado em vez de abrir outra conexão. A
+     * consulta recebe um {@link RequestHandle} compartilhado; o handle de cada
+     * chamador cancela somente a sua espera, e a conexão é encerrada quando
+     * todos cancelam. Repetições e reservas devem ficar dentro da consulta,
+     * para que também sejam compartilhadas.
+     * </p>
+     *
+     * @param url endereço da consulta
+     * @param handle controle de cancelamento do chamador, pode ser {@code null}
+     * @param call consulta a ser executada, que deve associar a conexão ao handle recebido
+     * @param <T> tipo do resultado, compartilhado entre os chamadores e que não deve ser alterado
+     * @return resultado da consulta
+     * @throws Exception falha da consulta, ou
+     *                   {@link java.util.concurrent.CancellationException} se o chamador cancelar
+     */
+    protected <T> T callCoalesced(URL url, RequestHandle handle, HedgedCall<T> call) throws Exception {
+        EndpointMetrics metrics = METRICS.endpoint("GET", endpointPath(url));
+        return IN_FLIGHT.execute("GET " + canonical(url), handle, metrics, call::call);
+    }
+
+    /**
+     * Retorna o cache de validadores das consultas condicionais, para consulta de estatísticas.
+     *
+     * @return cache compartilhado de validadores
+     */
+    public static LruCache<String, ?> getConditionalCache() {
+        return CONDITIONAL_CACHE;
+    }
+
+    /**
+     * Retorna o monitor de reaproveitamento das conexões keep-alive.
+     *
+     * @return monitor compartilhado por todos os serviços HTTP
+     */
+    public static ConnectionPoolMonitor getConnectionPoolMonitor() {
+        return POOL_MONITOR;
+    }
+
+    /**
+     * Retorna o circuit breaker de um endpoint.
+     *
+     * @param endpoint endpoint no formato das métricas, por exemplo {@code GET /book}
+     * @return circuito do endpoint, ou {@code null} se ainda não foi acessado
+     */
+    public static CircuitBreaker getCircuitBreaker(String endpoint) {
+        return BREAKERS.get(endpoint);
+    }
+
+    /**
+     * Retorna a política de requisições de reserva de um endpoint.
+     *
+     * @param endpoint endpoint no formato das métricas, por exemplo {@code GET /open-library}
+     * @return política do endpoint, ou {@code null} se ainda não foi utilizada
+     */
+    public static RequestHedger getRequestHedger(String endpoint) {
+        return HEDGERS.get(endpoint);
+    }
+
+    /**
+     * Retorna o registro de métricas por endpoint.
+     *
+     * @return registro compartilhado por todos os serviços HTTP
+     */
+    public static MetricsRegistry getMetricsRegistry() {
+        return METRICS;
+    }
+
+    /**
+     * Codifica valores para utilização segura em URLs.
+     *
+     * @param value valor a ser codificado
+     * @return valor codificado em UTF-8
+     * @throws RuntimeException caso ocorra erro na codificação
+     */
+    protected String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Consome e fecha o corpo (normal ou de erro) de uma resposta ainda não lida.
+     *
+     * @param connection conexão com resposta pendente
+     * @return {@code true} se o corpo foi consumido por completo
+     */
+    private boolean drainBody(HttpURLConnection connection, ConnectionState state) {
+        InputStream is;
+        try {
+            is = connection.getInputStream();
+        } catch (IOException e) {
+            is = connection.getErrorStream();
+        }
+        return is == null || drainAndClose(new MeteredInputStream(is, state));
+    }
+
+    /**
+     * Descarta o restante do fluxo e o fecha.
+     *
+     * @param is fluxo de resposta
+     * @return {@code true} se o fim do fluxo foi alcançado dentro do limite
+     */
+    private boolean drainAndClose(InputStream is) {
+        byte[] buffer = new byte[4096];
+        int total = 0;
+        try {
+            int n;
+            while (total <= DRAIN_LIMIT && (n = is.read(buffer)) != -1) {
+                total += n;
+            }
+            return total <= DRAIN_LIMIT;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            try {
+                is.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    /**
+     * Decodifica o corpo JSON, registrando nas métricas apenas o tempo do
+     * Jackson, sem a espera pelos bytes da rede.
+     */
+    private <T> T decode(HttpURLConnection connection, InputStream is, ObjectReader reader) throws IOException {
+        ConnectionState state = CONNECTIONS.get(connection);
+        reader = reader.without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        if (state == null) {
+            return reader.readValue(is);
+        }
+
+        long readBefore = state.readNanos;
+        long begin = System.nanoTime();
+        T value = reader.readValue(is);
+        state.recordDecode(System.nanoTime() - begin - (state.readNanos - readBefore));
+        return value;
+    }
+
+    private InputStream meter(HttpURLConnection connection, InputStream is) {
+        ConnectionState state = is != null ? CONNECTIONS.get(connection) : null;
+        return state != null ? new MeteredInputStream(is, state) : is;
+    }
+
+    private void markResponded(HttpURLConnection connection) {
+        ConnectionState state = CONNECTIONS.get(connection);
+        if (state != null) {
+            state.responded = true;
+            if (state.respondedNanos == 0) {
+                state.respondedNanos = System.nanoTime();
+            }
+            if (state.status == 0) {
+                try {
+                    state.status = connection.getResponseCode();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static void markFailure(ConnectionState state, IOException e) {
+        if (state != null) {
+            state.failed = true;
+            if (e instanceof SocketTimeoutException) {
+                state.timedOut = true;
+            }
+        }
+    }
+
+    private static CircuitBreaker circuitBreaker(EndpointMetrics metrics) {
+        CircuitBreaker breaker = BREAKERS.get(metrics.getEndpoint());
+        if (breaker == null) {
+            breaker = BREAKERS.computeIfAbsent(metrics.getEndpoint(),
+                    endpoint -> new CircuitBreaker(endpoint, RESILIENCE, metrics));
+        }
+        return breaker;
+    }
+
+    /**
+     * Forma canônica da URL para agrupamento: esquema e host em minúsculas e
+     * caminho normalizado.
+     */
+    private static String canonical(URL url) {
+        try {
+            URI uri = url.toURI().normalize();
+            String query = uri.getRawQuery();
+            return uri.getScheme().toLowerCase(Locale.ROOT) + "://"
+                    + uri.getRawAuthority().toLowerCase(Locale.ROOT) + uri.getRawPath()
+                    + (query != null ? "?" + query : "");
+        } catch (URISyntaxException e) {
+            return url.toExternalForm();
+        }
+    }
+
+    private static RequestHedger hedger(EndpointMetrics metrics) {
+        RequestHedger hedger = HEDGERS.get(metrics.getEndpoint());
+        if (hedger == null) {
+            hedger = HEDGERS.computeIfAbsent(metrics.getEndpoint(),
+                    endpoint -> new RequestHedger(RESILIENCE, metrics));
+        }
+        return hedger;
+    }
+
+    /**
+     * Indica se a falha ocorreu ao conectar e há outro servidor para onde
+     * redirecionar a requisição.
+     */
+    private boolean canFailOver(Exception error) {
+        if (balancer == null || !balancer.canFailOver()) {
+            return false;
+        }
+        if (error instanceof ConnectException || error instanceof NoRouteToHostException) {
+            return true;
+        }
+        // o HttpURLConnection distingue o timeout de conexão do de leitura somente pela mensagem
+        String message = error.getMessage();
+        return error instanceof SocketTimeoutException && message != null
+                && message.toLowerCase(Locale.ROOT).contains("connect timed out");
+    }
+
+    private static void recordFailover(AttemptTarget target) {
+        if (target.metrics != null) {
+            target.metrics.recordFailover();
+        }
+        if (target.node != null) {
+            target.node.recordFailover();
+        }
+    }
+
+    private static void restoreAttempt(AttemptTarget previous) {
+        if (previous != null) {
+            CURRENT_ATTEMPT.set(previous);
+        } else {
+            CURRENT_ATTEMPT.remove();
+        }
+    }
+
+    /**
+     * Indica se a falha é transitória e a operação pode ser repetida.
+     */
+    private static boolean isTransient(Exception error) {
+        int status = 0;
+        if (error instanceof ServerException) {
+            Integer code = ((ServerException) error).getErrorResponse().getStatus();
+            status = code != null ? code : 0;
+        } else if (error instanceof HttpStatusException) {
+            status = ((HttpStatusException) error).getStatus();
+        } else if (error instanceof SocketTimeoutException || error instanceof JsonProcessingException) {
+            return false;
+        } else {
+            return error instanceof IOException;
+        }
+        return status == HttpURLConnection.HTTP_BAD_GATEWAY
+                || status == HttpURLConnection.HTTP_UNAVAILABLE
+                || status == HttpURLConnection.HTTP_GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Espera antes da repetição: exponencial a partir da espera base, limitada
+     * à espera máxima, com metade do valor sorteada.
+     */
+    private static long backoffMillis(int attempt) {
+        long exponential = RESILIENCE.getBaseDelayMillis() << Math.min(20, attempt - 1);
+        long delay = Math.min(RESILIENCE.getMaxDelayMillis(), exponential);
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * Registra a requisição nas métricas do endpoint.
+     *
+     * @param state estado da conexão encerrada
+     * @param aborted {@code true} se a conexão foi encerrada sem resposta ou cancelada
+     */
+    private static void record(ConnectionState state, boolean aborted) {
+        long now = System.nanoTime();
+        long responded = state.respondedNanos;
+        long responseNanos = responded != 0 ? responded - state.startNanos : -1;
+        boolean error = aborted || state.failed || state.status >= 400;
+        state.metrics.recordExchange(now - state.startNanos, responseNanos, state.readNanos, error, state.timedOut);
+        state.exchange.end(state.status, state.bytesIn, state.bytesOut, responseNanos, state.decodeNanos,
+                error, state.timedOut);
+
+        CircuitBreaker.Outcome outcome;
+        if (state.handle != null && state.handle.isCancelled()) {
+            outcome = CircuitBreaker.Outcome.IGNORED;
+        } else if (state.timedOut || state.failed || state.status >= 500) {
+            outcome = CircuitBreaker.Outcome.FAILURE;
+        } else if (state.status > 0) {
+            outcome = CircuitBreaker.Outcome.SUCCESS;
+        } else {
+            // encerrada antes do envio, sem falha de comunicação
+            outcome = CircuitBreaker.Outcome.IGNORED;
+        }
+        state.breaker.onResult(state.probe, outcome);
+        if (state.node != null) {
+            state.node.onComplete(responseNanos, outcome);
+        }
+        AttemptTarget target = CURRENT_ATTEMPT.get();
+        if (target != null) {
+            target.metrics = state.metrics;
+            target.node = state.node;
+        }
+    }
+
+    /**
+     * Chave do cache condicional: a URL montada pelo serviço, independente do servidor.
+     */
+    private static String conditionalKey(HttpURLConnection connection, ConnectionState state) {
+        return (state != null ? state.requestUrl : connection.getURL()).toString();
+    }
+
+    private void markConsumed(HttpURLConnection connection, boolean reusable) {
+        ConnectionState state = CONNECTIONS.get(connection);
+        if (state != null) {
+            state.consumed = true;
+            state.reusable = reusable;
+        }
+    }
+
+    /**
+     * Chamada de serviço que pode lançar exceções verificadas.
+     *
+     * @param <T> tipo do resultado
+     */
+    @FunctionalInterface
+    protected interface ServiceCall<T> {
+
+        /**
+         * Executa a chamada.
+         *
+         * @return resultado da chamada
+         * @throws Exception caso ocorra erro de comunicação ou conversão
+         */
+        T call() throws Exception;
+    }
+
+    /**
+     * Consulta executada por {@link #callHedged(URL, HedgedCall)}, uma vez por tentativa.
+     *
+     * @param <T> tipo do resultado
+     */
+    @FunctionalInterface
+    protected interface HedgedCall<T> {
+
+        /**
+         * Executa uma tentativa da consulta.
+         *
+         * @param handle controle de cancelamento da tentativa, a ser associado à conexão
+         * @return resultado da consulta
+         * @throws Exception caso ocorra erro de comunicação ou conversão
+         */
+        T call(RequestHandle handle) throws Exception;
+    }
+
+    /**
+     * Tentativas de uma consulta executada por {@link #callHedged(URL, HedgedCall)}.
+     *
+     * <p>
+     * A primeira tentativa bem-sucedida completa o resultado e cancela a
+     * outra. A reserva que ainda aguarda uma thread do pool quando a
+     * requisição original falha é descartada, para que a thread chamadora não
+     * dependa de um pool possivelmente ocupado por ela mesma.
+     * </p>
+     */
+    private static final class HedgedExchange<T> {
+
+        private final RequestHedger hedger;
+        private final HedgedCall<T> call;
+        private final RequestHandle primary = new RequestHandle();
+        private final RequestHandle backup = new RequestHandle();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicBoolean backupClaimed = new AtomicBoolean();
+        private final long startNanos = System.nanoTime();
+        private volatile Exception primaryError;
+
+        private HedgedExchange(RequestHedger hedger, HedgedCall<T> call) {
+            this.hedger = hedger;
+            this.call = call;
+        }
+
+        /**
+         * Envia a reserva, executado pelo agendador após a espera.
+         */
+        private void hedge() {
+            if (result.isDone() || !hedger.tryAcquire()) {
+                return;
+            }
+            pending.incrementAndGet();
+            try {
+                ExecutorFactory.background().execute(() -> {
+                    if (backupClaimed.compareAndSet(false, true)) {
+                        attempt(backup, true);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (backupClaimed.compareAndSet(false, true)) {
+                    finish(e);
+                }
+            }
+        }
+
+        /**
+         * Executa uma das tentativas. Somente a requisição original é amostrada,
+         * desde o início da requisição: ao responder primeiro ou, se a reserva
+         * vencer, no instante em que é cancelada, para que o corte da cauda
+         * lenta não reduza a espera calculada.
+         */
+        private void attempt(RequestHandle handle, boolean isBackup) {
+            try {
+                T value = call.call(handle);
+                if (result.complete(value)) {
+                    hedger.recordLatency(System.nanoTime() - startNanos);
+                    if (isBackup) {
+                        hedger.recordWin();
+                        primary.cancel();
+                    } else {
+                        backup.cancel();
+                    }
+                }
+            } catch (Exception e) {
+                if (isBackup) {
+                    finish(e);
+                    return;
+                }
+                primaryError = e;
+                if (backupClaimed.compareAndSet(false, true)) {
+                    // reserva não enviada ou ainda não iniciada: descartada
+                    result.completeExceptionally(e);
+                } else {
+                    finish(e);
+                }
+            }
+        }
+
+        private void finish(Exception error) {
+            if (pending.decrementAndGet() == 0) {
+                Exception primaryFailure = primaryError;
+                result.completeExceptionally(primaryFailure != null ? primaryFailure : error);
+            }
+        }
+
+        private T await() throws Exception {
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+
+    /**
+     * Endpoint e servidor acessados pela tentativa em andamento.
+     *
+     * <p>
+     * Preenchido por {@link #record(ConnectionState, boolean)} somente na
+     * thread da tentativa; permanece vazio se a falha ocorrer antes de uma
+     * conexão ser aberta, ou se a resposta vier de uma reserva em outra thread.
+     * </p>
+     */
+    private static final class AttemptTarget {
+
+        private EndpointMetrics metrics;
+        private ServerNode node;
+
+        private void reset() {
+            metrics = null;
+            node = null;
+        }
+    }
+
+    /**
+     * Estado do ciclo de vida de uma conexão aberta.
+     */
+    private static final class ConnectionState {
+
+        private final URL requestUrl;
+        private final URL url;
+        private final ServerNode node;
+        private final EndpointMetrics metrics;
+        private final CircuitBreaker breaker;
+        private final boolean probe;
+        private final ClientEvents.Exchange exchange;
+        private final long startNanos = System.nanoTime();
+        private volatile RequestHandle handle;
+        private volatile Validators conditional;
+        private volatile boolean responded;
+        private volatile boolean consumed;
+        private volatile boolean reusable;
+        private volatile int status;
+        private volatile long respondedNanos;
+        private volatile long readNanos;
+        private volatile long decodeNanos;
+        private volatile long bytesIn;
+        private volatile long bytesOut;
+        private volatile boolean failed;
+        private volatile boolean timedOut;
+
+        private ConnectionState(URL requestUrl, URL url, ServerNode node, EndpointMetrics metrics,
+                CircuitBreaker breaker, boolean probe, ClientEvents.Exchange exchange) {
+            this.requestUrl = requestUrl;
+            this.url = url;
+            this.node = node;
+            this.metrics = metrics;
+            this.breaker = breaker;
+            this.probe = probe;
+            this.exchange = exchange;
+        }
+
+        private void recordDecode(long nanos) {
+            decodeNanos += nanos;
+            metrics.recordDecode(nanos);
+        }
+
+        private void addBytesIn(long bytes) {
+            bytesIn += bytes;
+            metrics.addBytesIn(bytes);
+        }
+
+        private void addBytesOut(long bytes) {
+            bytesOut += bytes;
+            metrics.addBytesOut(bytes);
+        }
+    }
+
+    /**
+     * Fluxo de resposta que contabiliza os bytes recebidos e o tempo
+     * aguardando a rede.
+     *
+     * <p>
+     * É lido por uma única thread por vez; os campos do estado são apenas
+     * publicados como voláteis para a liberação da conexão.
+     * </p>
+     */
+    private static final class MeteredInputStream extends FilterInputStream {
+
+        private final ConnectionState state;
+
+        private MeteredInputStream(InputStream in, ConnectionState state) {
+            super(in);
+            this.state = state;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long begin = System.nanoTime();
+            try {
+                int b = super.read();
+                if (b >= 0) {
+                    state.addBytesIn(1);
+                }
+                return b;
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            } finally {
+                state.readNanos += System.nanoTime() - begin;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long begin = System.nanoTime();
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    state.addBytesIn(n);
+                }
+                return n;
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            } finally {
+                state.readNanos += System.nanoTime() - begin;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long begin = System.nanoTime();
+            try {
+                long skipped = super.skip(n);
+                state.addBytesIn(skipped);
+                return skipped;
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            } finally {
+                state.readNanos += System.nanoTime() - begin;
+            }
+        }
+    }
+
+    /**
+     * Fluxo de requisição que contabiliza os bytes enviados.
+     */
+    private static final class MeteredOutputStream extends FilterOutputStream {
+
+        private final ConnectionState state;
+
+        private MeteredOutputStream(OutputStream out, ConnectionState state) {
+            super(out);
+            this.state = state;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            try {
+                out.write(b);
+                state.addBytesOut(1);
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                out.write(b, off, len);
+                state.addBytesOut(len);
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                markFailure(state, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Validadores de cache de uma URL e o objeto decodificado correspondente.
+     */
+    private static final class Validators {
+
+        private final String etag;
+        private final String lastModified;
+        private final Object value;
+
+        private Validators(String etag, String lastModified, Object value) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+    }
+
 }
@@ -1,27 +1,44 @@
 package br.com.alpha7.client.service;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.Files;
+import java.text.Normalizer;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
-import javax.swing.JOptionPane;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.alpha7.client.configuration.ServerConfig;
+import br.com.alpha7.client.infrastructure.cache.LruCache;
+import br.com.alpha7.client.infrastructure.csv.CsvChunk;
+import br.com.alpha7.client.infrastructure.csv.CsvChunkSplitter;
 import br.com.alpha7.client.infrastructure.dto.BookDTO;
 import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
-import br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO;
 import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
 import br.com.alpha7.client.infrastructure.exception.ServerException;
+import br.com.alpha7.client.infrastructure.exception.ServiceError;
+import br.com.alpha7.client.infrastructure.exception.ServiceErrorListener;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.factory.JsonMapperFactory;
+import br.com.alpha7.client.infrastructure.http.LoadBalancer;
+import br.com.alpha7.client.infrastructure.http.MultipartFileWriter;
+import br.com.alpha7.client.infrastructure.http.RequestHandle;
+import br.com.alpha7.client.infrastructure.http.UploadProgressListener;
+import br.com.alpha7.client.infrastructure.http.UploadProgressTracker;
 
 /**
  * Serviço responsável pela comunicação HTTP relacionada a operações de livros
@@ -33,15 +50,177 @@ import br.com.alpha7.client.infrastructure.exception.ServerException;
  * {@link BaseHttpService}.
  * </p>
  *
+ * <p>
+ * Cada operação possui uma versão síncrona, que em caso de falha retorna
+ * {@code null} e informa o erro ao {@link ServiceErrorListener} instalado
+ * ({@link #setErrorListener(ServiceErrorListener)}), e uma versão assíncrona
+ * (sufixo {@code Async}) que executa a requisição no pool de background e
+ * retorna um {@link CompletableFuture}, adequada para uso a partir da Event
+ * Dispatch Thread.
+ * </p>
+ *
+ * <p>
+ * O serviço não exibe diálogos: a apresentação dos erros cabe aos
+ * controladores, que instalam o listener ou tratam o futuro. Sem listener
+ * as falhas síncronas são descartadas, de modo que o serviço pode ser
+ * utilizado por várias threads, em background e sem interface gráfica.
+ * </p>
+ *
+ * <p>
+ * Os resultados de pesquisa são mantidos em um cache LRU com tempo de vida
+ * ({@link #getSearchCache()}). Gravações, remoções e importações invalidam as
+ * pesquisas que podem ter sido afetadas.
+ * </p>
+ *
+ * <p>
+ * Pesquisas, consultas à Open Library e remoções são idempotentes e são
+ * repetidas após falhas transitórias ({@link #callWithRetry(RequestHandle, ServiceCall)});
+ * gravações e importações não são repetidas. Com o circuito de um endpoint
+ * aberto, as operações falham imediatamente.
+ * </p>
+ *
+ * <p>
+ * As consultas à Open Library, cuja latência depende de um serviço externo,
+ * enviam uma requisição de reserva quando demoram mais que o percentil
+ * configurado ({@link #callHedged(URL, HedgedCall)}).
+ * </p>
+ *
+ * <p>
+ * Pesquisas e consultas à Open Library idênticas e simultâneas (por exemplo,
+ * de várias janelas ou cliques repetidos) compartilham uma única requisição
+ * ({@link #callCoalesced(URL, RequestHandle, HedgedCall)}). A pesquisa
+ * incremental não é agrupada, pois cada chamador consome os lotes à medida
+ * que chegam.
+ * </p>
+ *
+ * <p>
+ * Com várias réplicas configuradas ({@link ServerConfig#SERVER_URLS}), as
+ * requisições são distribuídas entre elas pelo {@link LoadBalancer}
+ * compartilhado, que favorece as réplicas mais rápidas e retira as que falham
+ * seguidamente. Os caches de pesquisa e condicional são identificados pela
+ * primeira URL base, de modo que um resultado obtido de uma réplica é
+ * reaproveitado pelas demais.
+ * </p>
+ *
+ * <p>
+ * As réplicas são verificadas periodicamente e as que estão fora do ar
+ * deixam de receber requisições. Uma operação que não consegue conectar a
+ * uma réplica, inclusive gravações e importações, é redirecionada a outra
+ * sem erro para o usuário.
+ * </p>
+ *
  * @author Fernando Kramer De Souza
  * @since 1.0.0
  */
 public class BookService extends BaseHttpService {
 
+    /** Título da janela de erro ao salvar livro. */
+    public static final String SAVE_ERROR = "Erro ao salvar livro";
+
+    /** Título da janela de erro ao remover livro. */
+    public static final String DELETE_ERROR = "Erro ao remover livro";
+
+    /** Título da janela de erro ao consultar livros. */
+    public static final String SEARCH_ERROR = "Erro ao consultar livros";
+
+    /** Título da janela de erro ao consultar a Open Library. */
+    public static final String OPEN_LIBRARY_ERROR = "Erro ao consultar Open Library";
+
+    /** Título da janela de erro ao importar CSV. */
+    public static final String IMPORT_ERROR = "Erro ao importar CSV";
+
+    /** Quantidade máxima de pesquisas mantidas no cache de resultados. */
+    private static final int SEARCH_CACHE_SIZE = 128;
+
+    /** Tempo de vida, em milissegundos, de uma pesquisa no cache de resultados. */
+    private static final long SEARCH_CACHE_TTL = 30_000L;
+
+    /** Tamanho máximo dos lotes entregues pela pesquisa incremental. */
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    /** Quantidade máxima de livros de uma pesquisa incremental mantidos em cache. */
+    private static final int MAX_CACHEABLE_ROWS = 5_000;
+
+    /** Quantidade de livros importados acima da qual todo o cache é invalidado. */
+    private static final int MAX_SELECTIVE_INVALIDATION = 1_000;
+
     /**
-     * Mapper utilizado para conversão de objetos Java em JSON.
+     * Cache de resultados de pesquisa, compartilhado entre as instâncias do serviço.
+     *
+     * <p>
+     * A chave é a URI da pesquisa, cujos parâmetros são a forma canônica do
+     * filtro gerada por {@link #buildQuery(BookToSearchDTO)}.
+     * </p>
      */
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final LruCache<String, CachedSearch> SEARCH_CACHE =
+            new LruCache<>(SEARCH_CACHE_SIZE, SEARCH_CACHE_TTL);
+
+    /**
+     * Mapper utilizado para conversão de objetos Java em JSON, com suporte às
+     * datas do Java 8 ({@link JsonMapperFactory}).
+     */
+    private final ObjectMapper objectMapper = JsonMapperFactory.get();
+
+    /**
+     * URL base da API sobre a qual as requisições são montadas; a primeira
+     * réplica da distribuição.
+     */
+    private final String baseUrl;
+
+    /**
+     * Caminho da URL base, removido dos nomes dos endpoints nas métricas.
+     */
+    private final String basePath;
+
+    /**
+     * Destinatário das falhas das operações síncronas.
+     */
+    private volatile ServiceErrorListener errorListener = ServiceErrorListener.NONE;
+
+    /**
+     * Cria o serviço para os servidores configurados em {@link ServerConfig#SERVER_URLS}.
+     */
+    public BookService() {
+        this(ServerConfig.SERVER_URLS, ExecutorFactory.background());
+    }
+
+    /**
+     * Cria o serviço para o servidor informado.
+     *
+     * @param baseUrl URL base da API, no formato de {@link ServerConfig#BASE_URL}
+     */
+    public BookService(String baseUrl) {
+        this(baseUrl, ExecutorFactory.background());
+    }
+
+    /**
+     * Cria o serviço para o servidor informado, executando as versões
+     * assíncronas das operações no executor informado.
+     *
+     * @param baseUrl URL base da API, no formato de {@link ServerConfig#BASE_URL}
+     * @param executor executor das operações assíncronas
+     */
+    public BookService(String baseUrl, Executor executor) {
+        this(Collections.singletonList(baseUrl), executor);
+    }
+
+    /**
+     * Cria o serviço distribuindo as requisições entre as réplicas informadas
+     * ({@link LoadBalancer#forServers(List)}), executando as versões
+     * assíncronas das operações no executor informado.
+     *
+     * @param baseUrls URLs base da API em cada réplica, no formato de {@link ServerConfig#BASE_URL}
+     * @param executor executor das operações assíncronas
+     */
+    public BookService(List<String> baseUrls, Executor executor) {
+        this(LoadBalancer.forServers(baseUrls), executor);
+    }
+
+    private BookService(LoadBalancer balancer, Executor executor) {
+        super(executor, balancer);
+        this.baseUrl = balancer.getBaseUrl();
+        this.basePath = URI.create(this.baseUrl).getPath();
+    }
 
     /**
      * Envia uma requisição para salvar ou atualizar um livro.
@@ -53,9 +232,8 @@ public class BookService extends BaseHttpService {
      *
      * <p>
      * Em caso de erro de validação ou erro de negócio retornado pelo servidor,
-     * uma janela com detalhes do erro é exibida ao usuário.
-     * Em caso de falha inesperada (ex.: falha de comunicação), uma mensagem
-     * genérica também é exibida.
+     * ou de falha inesperada (ex.: falha de comunicação), o erro é informado
+     * ao {@link ServiceErrorListener} com a operação {@link #SAVE_ERROR}.
      * </p>
      *
      * <p>
@@ -67,52 +245,46 @@ public class BookService extends BaseHttpService {
      * @return livro retornado pela API ou {@code null} em caso de erro
      */
     public BookDTO saveBook(BookDTO book) {
-        HttpURLConnection connection = null;
-        try {
-            URL url = new URL(ServerConfig.BASE_URL + "/book");
-            connection = openConnectionWithBody(url, "POST");
-
-            try (OutputStream os = connection.getOutputStream()) {
-                objectMapper.writeValue(os, book);
-            }
-
-            validateStatus(connection, HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_CREATED);
-            return readResponse(connection, BookDTO.class);
+        return callReportingErrors(() -> doSaveBook(book), SAVE_ERROR);
+    }
 
-        } catch (ServerException se) {
-            showErrorDialog(se.getErrorResponse(), "Erro ao salvar livro");
-        } catch (Exception e) {
-            showUnexpectedErrorDialog(e, "Erro ao salvar livro");
-        } finally {
-            disconnect(connection);
-        }
-        return null;
+    /**
+     * Versão assíncrona de {@link #saveBook(BookDTO)}.
+     *
+     * <p>
+     * A requisição é executada fora da Event Dispatch Thread e o listener de
+     * erros não é utilizado: em caso de erro o futuro é completado excepcionalmente.
+     * </p>
+     *
+     * @param book livro a ser salvo
+     * @return futuro com o livro retornado pela API
+     */
+    public CompletableFuture<BookDTO> saveBookAsync(BookDTO book) {
+        return supplyAsync(() -> doSaveBook(book));
     }
 
     /**
      * Remove um livro no servidor com base em seu identificador.
      *
      * <p>
-     * Em caso de falha, uma mensagem de erro é exibida ao usuário.
+     * Em caso de falha, o erro é informado ao {@link ServiceErrorListener}.
      * Nenhuma exceção é propagada.
      * </p>
      *
      * @param idDoBook identificador do livro
      */
     public void deleteBook(Long idDoBook) {
-        HttpURLConnection connection = null;
-        try {
-            URL url = new URL(ServerConfig.BASE_URL + "/book/" + idDoBook);
-            connection = openConnection(url, "DELETE");
-            validateStatus(connection, HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_NO_CONTENT);
+        callReportingErrors(() -> doDeleteBook(idDoBook), DELETE_ERROR);
+    }
 
-        } catch (ServerException se) {
-            showErrorDialog(se.getErrorResponse(), "Erro ao remover livro");
-        } catch (Exception e) {
-            showUnexpectedErrorDialog(e, "Erro ao remover livro");
-        } finally {
-            disconnect(connection);
-        }
+    /**
+     * Versão assíncrona de {@link #deleteBook(Long)}.
+     *
+     * @param idDoBook identificador do livro
+     * @return futuro completado ao final da remoção
+     */
+    public CompletableFuture<Void> deleteBookAsync(Long idDoBook) {
+        return supplyAsync(() -> doDeleteBook(idDoBook));
     }
 
     /**
@@ -123,10 +295,9 @@ public class BookService extends BaseHttpService {
      * </p>
      *
      * <p>
-     * Em caso de erro tratado pelo servidor ({@link ServerException}),
-     * uma mensagem descritiva é exibida ao usuário.
-     * Em caso de erro inesperado (falha de rede, parsing etc),
-     * uma mensagem genérica também é exibida.
+     * Em caso de erro tratado pelo servidor ({@link ServerException}) ou
+     * de erro inesperado (falha de rede, parsing etc), o erro é informado ao
+     * {@link ServiceErrorListener}.
      * </p>
      *
      * <p>
@@ -138,22 +309,72 @@ public class BookService extends BaseHttpService {
      * @return lista de livros encontrados ou {@code null} em caso de erro
      */
     public List<BookDTO> searchBooks(BookToSearchDTO filter) {
-        HttpURLConnection connection = null;
-        try {
-            URI uri = buildUri(filter);
-            connection = openConnection(uri.toURL(), "GET");
-            validateStatus(connection, HttpURLConnection.HTTP_OK);
+        return callReportingErrors(() -> doSearchBooks(filter, null), SEARCH_ERROR);
+    }
+
+    /**
+     * Versão assíncrona de {@link #searchBooks(BookToSearchDTO)}.
+     *
+     * @param filter filtros de busca
+     * @return futuro com a lista de livros encontrados
+     */
+    public CompletableFuture<List<BookDTO>> searchBooksAsync(BookToSearchDTO filter) {
+        return searchBooksAsync(filter, null);
+    }
 
-            return readResponse(connection, new TypeReference<List<BookDTO>>() {});
+    /**
+     * Versão assíncrona e cancelável de {@link #searchBooks(BookToSearchDTO)}.
+     *
+     * <p>
+     * Ao cancelar o {@link RequestHandle} informado, a conexão em andamento é
+     * encerrada e o futuro é completado excepcionalmente.
+     * </p>
+     *
+     * @param filter filtros de busca
+     * @param handle controle de cancelamento, pode ser {@code null}
+     * @return futuro com a lista de livros encontrados
+     */
+    public CompletableFuture<List<BookDTO>> searchBooksAsync(BookToSearchDTO filter, RequestHandle handle) {
+        URI uri = buildUri(buildQuery(filter));
 
-        } catch (ServerException se) {
-            showErrorDialog(se.getErrorResponse(), "Erro ao consultar livros");
-        } catch (Exception e) {
-            showUnexpectedErrorDialog(e, "Erro ao consultar livros");
-        } finally {
-            disconnect(connection);
+        CachedSearch cached = SEARCH_CACHE.get(uri.toString());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.books);
         }
-        return null;
+        return supplyAsync(() -> fetchBooks(filter, uri, handle));
+    }
+
+    /**
+     * Pesquisa livros entregando os resultados de forma incremental.
+     *
+     * <p>
+     * Os livros são decodificados à medida que chegam do servidor e entregues
+     * ao consumidor em lotes, sem materializar a lista completa. O consumidor é
+     * chamado na thread de background (ou na thread chamadora quando o
+     * resultado está em cache) e deve encaminhar à Event Dispatch Thread
+     * qualquer atualização de interface.
+     * </p>
+     *
+     * <p>
+     * Resultados com até {@value #MAX_CACHEABLE_ROWS} livros são também
+     * armazenados no cache de pesquisas.
+     * </p>
+     *
+     * @param filter filtros de busca
+     * @param handle controle de cancelamento, pode ser {@code null}
+     * @param consumer consumidor dos lotes de livros
+     * @return futuro com a quantidade total de livros entregues
+     */
+    public CompletableFuture<Integer> searchBooksStreamingAsync(BookToSearchDTO filter, RequestHandle handle,
+            Consumer<List<BookDTO>> consumer) {
+        URI uri = buildUri(buildQuery(filter));
+
+        CachedSearch cached = SEARCH_CACHE.get(uri.toString());
+        if (cached != null) {
+            emitInBatches(cached.books, STREAM_BATCH_SIZE, consumer);
+            return CompletableFuture.completedFuture(cached.books.size());
+        }
+        return supplyAsync(() -> streamBooks(filter, uri, handle, consumer));
     }
 
     /**
@@ -163,31 +384,31 @@ public class BookService extends BaseHttpService {
      * @return livro encontrado ou {@code null} em caso de erro
      */
     public BookDTO searchByIsbnOpenLibrary(String isbn) {
-        HttpURLConnection connection = null;
-        try {
-            String urlStr = ServerConfig.BASE_URL + "/open-library?isbn=" + encode(isbn);
-            connection = openConnection(new URL(urlStr), "GET");
-            validateStatus(connection, HttpURLConnection.HTTP_OK);
-
-            return readResponse(connection, BookDTO.class);
+        return callReportingErrors(() -> doSearchByIsbnOpenLibrary(isbn), OPEN_LIBRARY_ERROR);
+    }
 
-        } catch (ServerException se) {
-            showErrorDialog(se.getErrorResponse(), "Erro ao consultar Open Library");
-        } catch (Exception e) {
-            showUnexpectedErrorDialog(e, "Erro ao consultar Open Library");
-        } finally {
-            disconnect(connection);
-        }
-        return null;
+    /**
+     * Versão assíncrona de {@link #searchByIsbnOpenLibrary(String)}.
+     *
+     * @param isbn código ISBN do livro
+     * @return futuro com o livro encontrado
+     */
+    public CompletableFuture<BookDTO> searchByIsbnOpenLibraryAsync(String isbn) {
+        return supplyAsync(() -> doSearchByIsbnOpenLibrary(isbn));
     }
 
     /**
      * Envia um arquivo CSV para importação de livros pelo servidor.
      *
      * <p>
+     * O arquivo é enviado em modo de tamanho fixo ({@link MultipartFileWriter}),
+     * diretamente do disco e com consumo de memória constante.
+     * </p>
+     *
+     * <p>
      * Em caso de sucesso retorna o relatório de importação.
-     * Em caso de erro tratado pelo servidor, exibe mensagem ao usuário.
-     * Em falha inesperada, exibe mensagem genérica.
+     * Em caso de erro tratado pelo servidor ou de falha inesperada, informa
+     * o erro ao {@link ServiceErrorListener}.
      * </p>
      *
      * <p>
@@ -199,56 +420,309 @@ public class BookService extends BaseHttpService {
      * @return relatório de importação ou {@code null} em caso de erro
      */
     public ImportReportDTO importBooksFromCsv(File csvFile) {
-        HttpURLConnection connection = null;
-        String boundary = "----Alpha7Boundary" + System.currentTimeMillis();
+        return callReportingErrors(() -> doImportBooksFromCsv(csvBody(csvFile), null), IMPORT_ERROR);
+    }
 
+    /**
+     * Versão assíncrona de {@link #importBooksFromCsv(File)}.
+     *
+     * @param csvFile arquivo CSV contendo dados de livros
+     * @return futuro com o relatório de importação
+     */
+    public CompletableFuture<ImportReportDTO> importBooksFromCsvAsync(File csvFile) {
+        return importBooksFromCsvAsync(csvFile, null);
+    }
+
+    /**
+     * Versão assíncrona de {@link #importBooksFromCsv(File)} com acompanhamento
+     * do envio.
+     *
+     * <p>
+     * Arquivos maiores que {@link ServerConfig#IMPORT_CHUNK_SIZE} são importados
+     * em partes paralelas ({@link #importBooksFromCsvChunkedAsync}).
+     * </p>
+     *
+     * <p>
+     * O listener recebe, na thread do envio, os bytes enviados, a taxa de envio
+     * e o tempo restante estimado; ao receber a resposta, recebe também o tempo
+     * de processamento no servidor, medido separadamente da transferência.
+     * </p>
+     *
+     * @param csvFile arquivo CSV contendo dados de livros
+     * @param listener destinatário do andamento do envio ou {@code null}
+     * @return futuro com o relatório de importação
+     */
+    public CompletableFuture<ImportReportDTO> importBooksFromCsvAsync(File csvFile, UploadProgressListener listener) {
+        if (ServerConfig.IMPORT_PARALLELISM > 1 && csvFile.length() > ServerConfig.IMPORT_CHUNK_SIZE) {
+            return importBooksFromCsvChunkedAsync(csvFile, ServerConfig.IMPORT_CHUNK_SIZE,
+                    ServerConfig.IMPORT_PARALLELISM, listener);
+        }
+        return supplyAsync(() -> doImportBooksFromCsv(csvBody(csvFile), listener));
+    }
+
+    /**
+     * Importa um arquivo CSV dividido em partes enviadas em paralelo.
+     *
+     * <p>
+     * O arquivo é dividido em limites de linha ({@link CsvChunkSplitter}), com
+     * o cabeçalho repetido em cada parte, e as partes são enviadas com no
+     * máximo {@code parallelism} requisições simultâneas. Os relatórios são
+     * combinados em um único {@link ImportReportDTO}, com os números de linha
+     * dos erros referentes ao arquivo original, e o andamento informado ao
+     * listener é o do conjunto das partes.
+     * </p>
+     *
+     * <p>
+     * As partes são importadas de forma independente: a falha de uma parte é
+     * registrada no relatório como erro, sem desfazer as demais.
+     * </p>
+     *
+     * @param csvFile arquivo CSV contendo dados de livros
+     * @param chunkSize tamanho aproximado de cada parte, em bytes
+     * @param parallelism quantidade máxima de envios simultâneos
+     * @param listener destinatário do andamento do envio ou {@code null}
+     * @return futuro com o relatório combinado
+     */
+    public CompletableFuture<ImportReportDTO> importBooksFromCsvChunkedAsync(File csvFile, long chunkSize,
+            int parallelism, UploadProgressListener listener) {
+
+        return supplyAsync(() -> CsvChunkSplitter.split(csvFile.toPath(), chunkSize))
+                .thenCompose(chunks -> {
+                    if (chunks.size() <= 1) {
+                        CsvChunkSplitter.delete(chunks);
+                        return supplyAsync(() -> doImportBooksFromCsv(csvBody(csvFile), listener));
+                    }
+                    return importChunks(csvFile, chunks, parallelism, listener)
+                            .whenComplete((report, error) -> CsvChunkSplitter.delete(chunks));
+                });
+    }
+
+    private CompletableFuture<ImportReportDTO> importChunks(File csvFile, List<CsvChunk> chunks,
+            int parallelism, UploadProgressListener listener) {
+
+        List<MultipartFileWriter> bodies = new ArrayList<>(chunks.size());
         try {
-            URL url = new URL(ServerConfig.BASE_URL + "/book/import");
+            for (CsvChunk chunk : chunks) {
+                bodies.add(new MultipartFileWriter(chunk.getFile(), csvFile.getName(), "file", "text/csv"));
+            }
+        } catch (IOException e) {
+            CompletableFuture<ImportReportDTO> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        return new ChunkedCsvImport(chunks, bodies,
+                (body, progress) -> supplyAsync(() -> doImportBooksFromCsv(body, progress)),
+                listener).start(parallelism);
+    }
+
+    private BookDTO doSaveBook(BookDTO book) throws Exception {
+        return callWithFailover(() -> saveBookOnce(book));
+    }
+
+    private BookDTO saveBookOnce(BookDTO book) throws Exception {
+        HttpURLConnection connection = null;
+        try {
+            URL url = new URL(baseUrl + "/book");
             connection = openConnectionWithBody(url, "POST");
-            connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
 
-            try (OutputStream output = connection.getOutputStream();
-                 PrintWriter writer = new PrintWriter(new OutputStreamWriter(output, "UTF-8"), true)) {
+            try (OutputStream os = requestBody(connection)) {
+                objectMapper.writeValue(os, book);
+            }
+
+            validateStatus(connection, HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_CREATED);
+            BookDTO saved = readResponse(connection, BookDTO.class);
+
+            invalidateSearches(saved != null ? saved : book);
+            return saved;
+
+        } finally {
+            release(connection);
+        }
+    }
+
+    private Void doDeleteBook(Long idDoBook) throws Exception {
+        return callWithRetry(null, () -> deleteBookOnce(idDoBook));
+    }
+
+    private Void deleteBookOnce(Long idDoBook) throws Exception {
+        HttpURLConnection connection = null;
+        try {
+            URL url = new URL(baseUrl + "/book/" + idDoBook);
+            connection = openConnection(url, "DELETE");
+            validateStatus(connection, HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_NO_CONTENT);
+
+            SEARCH_CACHE.invalidateIf((query, cached) -> cached.contains(idDoBook));
+            return null;
+
+        } finally {
+            release(connection);
+        }
+    }
+
+    private List<BookDTO> doSearchBooks(BookToSearchDTO filter, RequestHandle handle) throws Exception {
+        URI uri = buildUri(buildQuery(filter));
+
+        CachedSearch cached = SEARCH_CACHE.get(uri.toString());
+        if (cached != null) {
+            return cached.books;
+        }
+        return fetchBooks(filter, uri, handle);
+    }
+
+    private List<BookDTO> fetchBooks(BookToSearchDTO filter, URI uri, RequestHandle handle) throws Exception {
+        return callCoalesced(uri.toURL(), handle,
+                shared -> callWithRetry(shared, () -> fetchBooksOnce(filter, uri, shared)));
+    }
+
+    private List<BookDTO> fetchBooksOnce(BookToSearchDTO filter, URI uri, RequestHandle handle) throws Exception {
+        HttpURLConnection connection = null;
+        long cacheVersion = SEARCH_CACHE.version();
+        try {
+            connection = openConditionalConnection(uri.toURL(), handle);
+            validateStatus(connection, HttpURLConnection.HTTP_OK);
+
+            List<BookDTO> books = Collections.unmodifiableList(
+                    readConditionalResponse(connection, new TypeReference<List<BookDTO>>() {}));
+
+            SEARCH_CACHE.put(uri.toString(), new CachedSearch(filter, books), cacheVersion);
+            return books;
+
+        } finally {
+            release(connection);
+        }
+    }
+
+    private Integer streamBooks(BookToSearchDTO filter, URI uri, RequestHandle handle,
+            Consumer<List<BookDTO>> consumer) throws Exception {
+        int[] total = {0};
+        // depois do primeiro lote entregue a repetição duplicaria linhas na tabela
+        return callWithRetry(handle, () -> total[0] == 0,
+                () -> streamBooksOnce(filter, uri, handle, consumer, total));
+    }
 
-                writer.append("--").append(boundary).append("\r\n");
-                writer.append("Content-Disposition: form-data; name=\"file\"; filename=\"")
-                      .append(csvFile.getName()).append("\"\r\n");
-                writer.append("Content-Type: text/csv\r\n");
-                writer.append("\r\n");
-                writer.flush();
+    private Integer streamBooksOnce(BookToSearchDTO filter, URI uri, RequestHandle handle,
+            Consumer<List<BookDTO>> consumer, int[] total) throws Exception {
+        HttpURLConnection connection = null;
+        long cacheVersion = SEARCH_CACHE.version();
+        try {
+            connection = openConditionalConnection(uri.toURL(), handle);
+            validateStatus(connection, HttpURLConnection.HTTP_OK);
 
-                Files.copy(csvFile.toPath(), output);
-                output.flush();
+            List<BookDTO> books = readStreamingResponse(connection, BookDTO.class, STREAM_BATCH_SIZE,
+                    batch -> {
+                        total[0] += batch.size();
+                        consumer.accept(batch);
+                    }, MAX_CACHEABLE_ROWS);
 
-                writer.append("\r\n");
-                writer.append("--").append(boundary).append("--").append("\r\n");
-                writer.flush();
+            if (books != null) {
+                SEARCH_CACHE.put(uri.toString(), new CachedSearch(filter, Collections.unmodifiableList(books)), cacheVersion);
             }
+            return total[0];
+
+        } finally {
+            release(connection);
+        }
+    }
 
+    private BookDTO doSearchByIsbnOpenLibrary(String isbn) throws Exception {
+        URL url = new URL(baseUrl + "/open-library?isbn=" + encode(isbn));
+        return callCoalesced(url, null, shared -> callWithRetry(shared,
+                () -> callHedged(url, handle -> searchByIsbnOpenLibraryOnce(url, handle))));
+    }
+
+    private BookDTO searchByIsbnOpenLibraryOnce(URL url, RequestHandle handle) throws Exception {
+        HttpURLConnection connection = null;
+        try {
+            connection = openConditionalConnection(url, handle);
             validateStatus(connection, HttpURLConnection.HTTP_OK);
-            return readResponse(connection, new TypeReference<ImportReportDTO>() {});
 
-        } catch (ServerException se) {
-            showErrorDialog(se.getErrorResponse(), "Erro ao importar CSV");
-        } catch (Exception e) {
-            showUnexpectedErrorDialog(e, "Erro ao importar CSV");
+            return readConditionalResponse(connection, BookDTO.class);
+
         } finally {
-            disconnect(connection);
+            release(connection);
+        }
+    }
+
+    private static MultipartFileWriter csvBody(File csvFile) throws IOException {
+        return new MultipartFileWriter(csvFile.toPath(), "file", "text/csv");
+    }
+
+    private ImportReportDTO doImportBooksFromCsv(MultipartFileWriter multipart, UploadProgressListener listener) throws Exception {
+        return callWithFailover(() -> importBooksFromCsvOnce(multipart, listener));
+    }
+
+    private ImportReportDTO importBooksFromCsvOnce(MultipartFileWriter multipart, UploadProgressListener listener) throws Exception {
+        HttpURLConnection connection = null;
+        UploadProgressTracker tracker = listener != null
+                ? new UploadProgressTracker(multipart.getContentLength(), listener)
+                : null;
+
+        try {
+            URL url = new URL(baseUrl + "/book/import");
+            connection = openConnectionWithBody(url, "POST");
+            connection.setRequestProperty("Content-Type", multipart.getContentType());
+            connection.setFixedLengthStreamingMode(multipart.getContentLength());
+
+            try (OutputStream output = tracker != null
+                    ? tracker.wrap(requestBody(connection))
+                    : requestBody(connection)) {
+                multipart.writeTo(output);
+            }
+
+            if (tracker != null) {
+                // o status só chega após o servidor processar o arquivo
+                tracker.transferCompleted();
+                responseCode(connection);
+                tracker.responseReceived();
+            }
+
+            validateStatus(connection, HttpURLConnection.HTTP_OK);
+            ImportReportDTO report = readResponse(connection, new TypeReference<ImportReportDTO>() {});
+
+            invalidateSearches(report);
+            return report;
+
+        } finally {
+            release(connection);
         }
-        return null;
     }
 
     /**
-     * Monta a URI de consulta de livros a partir do filtro informado.
+     * Identifica os endpoints pelo caminho relativo à URL base (por exemplo
+     * {@code /book/{id}}), agregando as métricas de servidores diferentes.
+     */
+    @Override
+    protected String endpointPath(URL url) {
+        String path = url.getPath();
+        return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+
+    /**
+     * Monta a URI de consulta de livros a partir da query já construída.
      *
-     * @param filter filtros de pesquisa
+     * @param query parâmetros de pesquisa gerados por {@link #buildQuery(BookToSearchDTO)}
      * @return URI construída
      */
-    private URI buildUri(BookToSearchDTO filter) {
+    URI buildUri(String query) {
+        String url = baseUrl + "/book";
+        return URI.create(query.isEmpty() ? url : url + "?" + query);
+    }
+
+    /**
+     * Monta os parâmetros de consulta de livros a partir do filtro informado.
+     *
+     * <p>
+     * Os parâmetros são sempre emitidos na mesma ordem, de modo que o resultado
+     * também é a forma canônica do filtro, utilizada como chave do cache de pesquisas.
+     * </p>
+     *
+     * @param filter filtros de pesquisa
+     * @return parâmetros codificados, sem o {@code ?} inicial
+     */
+    String buildQuery(BookToSearchDTO filter) {
     	
         StringBuilder sb = new StringBuilder();
-        
-        sb.append(ServerConfig.BASE_URL).append("/book?");
 
         if (filter.getId() != null) sb.append("id=").append(filter.getId()).append("&");
         
@@ -270,42 +744,172 @@ public class BookService extends BaseHttpService {
             sb.append("publicationDate=").append(encode(publicationDate)).append("&");
         }
         
-        String url = sb.toString();
+        if (filter.getPage() != null) sb.append("page=").append(filter.getPage()).append("&");
         
-        if (url.endsWith("&") || url.endsWith("?")) url = url.substring(0, url.length() - 1);
+        if (filter.getSize() != null) sb.append("size=").append(filter.getSize()).append("&");
+        
+        if (sb.length() > 0) sb.setLength(sb.length() - 1);
+
+        return sb.toString();
+    }
+
+    /**
+     * Invalida as pesquisas em cache que podem ter sido afetadas pela gravação do livro.
+     *
+     * <p>
+     * São removidas as pesquisas que contêm o livro e aquelas cujo filtro
+     * pode passar a incluí-lo.
+     * </p>
+     *
+     * @param book livro salvo
+     */
+    private void invalidateSearches(BookDTO book) {
+        SEARCH_CACHE.invalidateIf((query, cached) ->
+                cached.contains(book.getId()) || mayMatch(cached.filter, book));
+    }
+
+    /**
+     * Invalida as pesquisas em cache afetadas por uma importação.
+     *
+     * <p>
+     * Importações grandes invalidam todo o cache, pois comparar cada livro
+     * com cada filtro custaria mais do que refazer as pesquisas.
+     * </p>
+     *
+     * @param report relatório da importação
+     */
+    private void invalidateSearches(ImportReportDTO report) {
+        List<BookDTO> books = report != null ? report.getBooks() : null;
+
+        if (books == null || books.size() > MAX_SELECTIVE_INVALIDATION) {
+            SEARCH_CACHE.invalidateAll();
+            return;
+        }
+
+        Set<Long> ids = books.stream()
+                .map(BookDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        SEARCH_CACHE.invalidateIf((query, cached) ->
+                cached.containsAny(ids)
+                || books.stream().anyMatch(book -> mayMatch(cached.filter, book)));
+    }
+
+    /**
+     * Verifica, de forma conservadora, se o livro pode ser retornado pelo filtro.
+     *
+     * <p>
+     * Campos de texto são comparados por "contém", sem diferenciar maiúsculas
+     * e acentos, e os demais por igualdade.
+     * </p>
+     *
+     * @param filter filtro da pesquisa
+     * @param book livro a ser verificado
+     * @return {@code false} somente se o livro certamente não atende ao filtro
+     */
+    private static boolean mayMatch(BookToSearchDTO filter, BookDTO book) {
+        if (filter.getId() != null && !filter.getId().equals(book.getId())) return false;
+
+        if (!mayContain(book.getIsbn(), filter.getIsbn())) return false;
+
+        if (filter.getPublicationDate() != null
+                && !filter.getPublicationDate().equals(book.getPublicationDate())) return false;
+
+        if (!mayContain(book.getTitle(), filter.getTitle())) return false;
+
+        if (filter.getAuthor() != null && !filter.getAuthor().trim().isEmpty()
+                && (book.getAuthors() == null
+                    || book.getAuthors().stream().noneMatch(a -> mayContain(a.getName(), filter.getAuthor()))))
+            return false;
+
+        if (filter.getPublisher() != null && !filter.getPublisher().trim().isEmpty()
+                && (book.getPublishers() == null
+                    || book.getPublishers().stream().noneMatch(p -> mayContain(p.getName(), filter.getPublisher()))))
+            return false;
+
+        return true;
+    }
+
+    private static boolean mayContain(String value, String term) {
+        if (term == null || term.trim().isEmpty()) return true;
+        if (value == null) return false;
+        return normalize(value).contains(normalize(term.trim()));
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Retorna o cache de resultados de pesquisa, para consulta de estatísticas.
+     *
+     * @return cache compartilhado de pesquisas
+     */
+    public static LruCache<String, ?> getSearchCache() {
+        return SEARCH_CACHE;
+    }
 
-        return URI.create(url);
+    /**
+     * Instala o destinatário das falhas das operações síncronas.
+     *
+     * @param listener destinatário das falhas, ou {@code null} para descartá-las
+     */
+    public void setErrorListener(ServiceErrorListener listener) {
+        this.errorListener = listener != null ? listener : ServiceErrorListener.NONE;
     }
 
     /**
-     * Exibe uma mensagem de erro retornado pelo servidor.
+     * Retorna o destinatário das falhas das operações síncronas.
      *
-     * @param error detalhes do erro
-     * @param title título da janela
+     * @return listener instalado, ou {@link ServiceErrorListener#NONE}
      */
-    private void showErrorDialog(ErrorResponseDTO error, String title) {
-        JOptionPane.showMessageDialog(
-                null,
-                "Erro: " + error.getMessage() +
-                "\nStatus: " + error.getStatus() +
-                "\nCaminho: " + error.getPath(),
-                title,
-                JOptionPane.ERROR_MESSAGE
-        );
+    public ServiceErrorListener getErrorListener() {
+        return errorListener;
     }
 
     /**
-     * Exibe mensagem para erros inesperados.
+     * Executa a chamada informando eventuais erros ao listener instalado.
      *
-     * @param e exceção lançada
-     * @param title título da janela
+     * <p>
+     * Nenhuma exceção é propagada.
+     * </p>
+     *
+     * @param call chamada a ser executada
+     * @param operation descrição da operação, utilizada como título de diálogos
+     * @param <T> tipo do resultado
+     * @return resultado da chamada ou {@code null} em caso de erro
+     */
+    private <T> T callReportingErrors(ServiceCall<T> call, String operation) {
+        try {
+            return call.call();
+        } catch (Exception e) {
+            errorListener.onError(new ServiceError(operation, e));
+        }
+        return null;
+    }
+
+    /**
+     * Resultado de pesquisa armazenado em cache, acompanhado do filtro que o originou.
      */
-    private void showUnexpectedErrorDialog(Exception e, String title) {
-        JOptionPane.showMessageDialog(
-                null,
-                "Ocorreu um erro inesperado: " + e.getMessage(),
-                title,
-                JOptionPane.ERROR_MESSAGE
-        );
+    private static final class CachedSearch {
+
+        private final BookToSearchDTO filter;
+        private final List<BookDTO> books;
+
+        private CachedSearch(BookToSearchDTO filter, List<BookDTO> books) {
+            this.filter = filter;
+            this.books = books;
+        }
+
+        private boolean contains(Long id) {
+            return id != null && books.stream().anyMatch(b -> id.equals(b.getId()));
+        }
+
+        private boolean containsAny(Set<Long> ids) {
+            return !ids.isEmpty() && books.stream().anyMatch(b -> ids.contains(b.getId()));
+        }
     }
 }
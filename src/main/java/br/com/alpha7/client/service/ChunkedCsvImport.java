@@ -0,0 +1,156 @@
+package br.com.alpha7.client.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import br.com.alpha7.client.infrastructure.csv.CsvChunk;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.exception.ServiceError;
+import br.com.alpha7.client.infrastructure.http.MultipartFileWriter;
+import br.com.alpha7.client.infrastructure.http.UploadProgressAggregator;
+import br.com.alpha7.client.infrastructure.http.UploadProgressListener;
+
+/**
+ * Envio paralelo das partes de uma importação CSV.
+ *
+ * <p>
+ * As partes são enviadas por no máximo {@code parallelism} "filas": cada fila
+ * retira a próxima parte pendente ao concluir a anterior, sem bloquear threads
+ * do pool enquanto aguarda. Ao final, os relatórios são combinados em um único
+ * {@link ImportReportDTO}, na ordem das partes, com os números de linha dos
+ * erros convertidos para o arquivo original.
+ * </p>
+ *
+ * <p>
+ * A falha de uma parte não interrompe as demais, já que as partes concluídas
+ * já foram gravadas pelo servidor: a falha é incluída no relatório como um erro
+ * na primeira linha da parte. Se todas as partes falharem, a importação falha
+ * com o erro da primeira.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+final class ChunkedCsvImport {
+
+    private final List<CsvChunk> chunks;
+    private final List<MultipartFileWriter> bodies;
+    private final BiFunction<MultipartFileWriter, UploadProgressListener, CompletableFuture<ImportReportDTO>> uploader;
+    private final UploadProgressAggregator progress;
+
+    private final ImportReportDTO[] reports;
+    private final Throwable[] failures;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Prepara o envio das partes.
+     *
+     * @param chunks partes do arquivo original
+     * @param bodies corpos multipart de cada parte, na mesma ordem
+     * @param uploader envia um corpo, informando o andamento ao listener recebido
+     * @param listener destinatário do andamento combinado ou {@code null}
+     */
+    ChunkedCsvImport(List<CsvChunk> chunks, List<MultipartFileWriter> bodies,
+            BiFunction<MultipartFileWriter, UploadProgressListener, CompletableFuture<ImportReportDTO>> uploader,
+            UploadProgressListener listener) {
+        this.chunks = chunks;
+        this.bodies = bodies;
+        this.uploader = uploader;
+        this.reports = new ImportReportDTO[chunks.size()];
+        this.failures = new Throwable[chunks.size()];
+
+        long totalBytes = 0;
+        for (MultipartFileWriter body : bodies) {
+            totalBytes += body.getContentLength();
+        }
+        this.progress = listener != null
+                ? new UploadProgressAggregator(chunks.size(), totalBytes, listener)
+                : null;
+    }
+
+    /**
+     * Inicia o envio das partes.
+     *
+     * @param parallelism quantidade máxima de envios simultâneos
+     * @return futuro com o relatório combinado
+     */
+    CompletableFuture<ImportReportDTO> start(int parallelism) {
+        int lanes = Math.max(1, Math.min(parallelism, chunks.size()));
+        CompletableFuture<?>[] running = new CompletableFuture<?>[lanes];
+
+        for (int i = 0; i < lanes; i++) {
+            running[i] = nextChunk();
+        }
+        return CompletableFuture.allOf(running).thenApply(done -> merge());
+    }
+
+    /**
+     * Envia a próxima parte pendente e, ao concluí-la, a seguinte.
+     */
+    private CompletableFuture<Void> nextChunk() {
+        int index = next.getAndIncrement();
+        if (index >= chunks.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        UploadProgressListener listener = progress != null ? progress.part(index) : null;
+
+        return uploader.apply(bodies.get(index), listener)
+                .handle((report, error) -> {
+                    if (error != null) {
+                        failures[index] = ServiceError.unwrap(error);
+                    } else {
+                        reports[index] = report;
+                    }
+                    return null;
+                })
+                .thenCompose(done -> nextChunk());
+    }
+
+    /**
+     * Combina os relatórios das partes, convertendo os números de linha.
+     */
+    private ImportReportDTO merge() {
+        List<BookDTO> books = new ArrayList<>();
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        Throwable firstFailure = null;
+        boolean anySucceeded = false;
+
+        for (int i = 0; i < chunks.size(); i++) {
+            CsvChunk chunk = chunks.get(i);
+
+            if (failures[i] != null) {
+                if (firstFailure == null) {
+                    firstFailure = failures[i];
+                }
+                errors.add(new ImportErrorDTO((int) chunk.getFirstLineNumber(), "",
+                        "Falha ao importar a parte iniciada nesta linha: " + failures[i].getMessage()));
+                continue;
+            }
+
+            anySucceeded = true;
+            ImportReportDTO report = reports[i];
+            if (report.getBooks() != null) {
+                books.addAll(report.getBooks());
+            }
+            if (report.getErrors() != null) {
+                for (ImportErrorDTO error : report.getErrors()) {
+                    errors.add(new ImportErrorDTO(chunk.toOriginalLine(error.getLineNumber()),
+                            error.getLineContent(), error.getMessage()));
+                }
+            }
+        }
+
+        if (!anySucceeded && firstFailure != null) {
+            throw new CompletionException(firstFailure);
+        }
+        return new ImportReportDTO(books, errors);
+    }
+
+}
@@ -0,0 +1,431 @@
+package br.com.alpha7.client.tools.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import br.com.alpha7.client.infrastructure.dto.AuthorDTO;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
+import br.com.alpha7.client.infrastructure.dto.PublisherDTO;
+import br.com.alpha7.client.infrastructure.exception.ServerException;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.http.LoadBalancer;
+import br.com.alpha7.client.infrastructure.http.ServerNode;
+import br.com.alpha7.client.infrastructure.metrics.EndpointMetrics;
+import br.com.alpha7.client.infrastructure.metrics.LatencyHistogram;
+import br.com.alpha7.client.infrastructure.utils.IsbnUtil;
+import br.com.alpha7.client.service.BaseHttpService;
+import br.com.alpha7.client.service.BookService;
+import br.com.alpha7.client.tools.stub.StubAlpha7Server;
+import br.com.alpha7.client.tools.stub.StubServerSettings;
+
+/**
+ * Gerador de carga sem interface gráfica, que simula vários operadores
+ * utilizando o cliente ao mesmo tempo.
+ *
+ * <p>
+ * Cada sessão executa em sua própria thread, com sua própria instância de
+ * {@link BookService}, uma sequência sorteada de pesquisas, gravações,
+ * remoções, consultas à Open Library e importações de CSV, intercaladas por
+ * um tempo de reflexão com distribuição exponencial. As operações passam
+ * pelo mesmo código do cliente (cache de pesquisas, requisições
+ * condicionais, keep-alive e envio multipart), executado de forma síncrona
+ * na thread da sessão em vez do pool de background, que é dimensionado para
+ * um único operador.
+ * </p>
+ *
+ * <p>
+ * Ao final são informadas, por operação, a vazão e as latências média,
+ * p50, p95, p99 e p99.9, além do reaproveitamento de conexões e do acerto do
+ * cache de pesquisas. As sessões compartilham os caches estáticos do
+ * cliente, de modo que a taxa de acerto do cache tende a ser maior do que a
+ * de operadores em máquinas separadas.
+ * </p>
+ *
+ * <p>
+ * Execução: {@code java -cp ... br.com.alpha7.client.tools.load.LoadDriver},
+ * configurado pelas propriedades {@code alpha7.load.*} ({@link LoadSettings}).
+ * Com {@code -Dalpha7.load.stub=true} o alvo é um {@link StubAlpha7Server}
+ * iniciado no próprio processo, configurado pelas propriedades
+ * {@code alpha7.stub.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class LoadDriver {
+
+    private static final long REPORT_INTERVAL_MILLIS = 10_000;
+
+    private static final String[] TITLE_TERMS = {
+        "Java", "Dados", "História", "Sistemas", "Redes", "Algoritmos", "Ciência",
+        "Engenharia", "Contos", "Poesia", "Economia", "Filosofia", "Análise", "Projeto"
+    };
+
+    private final LoadSettings settings;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    private volatile long measureStart;
+    private volatile long measureEnd;
+
+    /**
+     * Cria o gerador de carga.
+     *
+     * @param settings configurações do teste
+     */
+    public LoadDriver(LoadSettings settings) {
+        this.settings = settings;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Executa o teste, bloqueando até o fim da medição.
+     *
+     * @param out destino das mensagens de andamento
+     * @throws InterruptedException caso a thread seja interrompida
+     */
+    public void run(PrintStream out) throws InterruptedException {
+        long now = System.nanoTime();
+        measureStart = now + TimeUnit.SECONDS.toNanos(settings.getWarmupSeconds());
+        measureEnd = measureStart + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        ThreadFactory factory = ExecutorFactory.namedThreadFactory("alpha7-load");
+        List<Thread> threads = new ArrayList<>(settings.getSessions());
+        for (int i = 0; i < settings.getSessions(); i++) {
+            Thread thread = factory.newThread(new Session(i, new Random(settings.getSeed() * 31 + i)));
+            threads.add(thread);
+            thread.start();
+        }
+
+        out.printf("%d sessões contra %s: aquecimento de %d s, medição de %d s%n",
+                settings.getSessions(), settings.getBaseUrl(),
+                settings.getWarmupSeconds(), settings.getDurationSeconds());
+
+        // as métricas por endpoint do cliente também desconsideram o aquecimento
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(Math.max(0, measureStart - System.nanoTime())));
+        BaseHttpService.getMetricsRegistry().reset();
+
+        while (System.nanoTime() < measureEnd) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(measureEnd - System.nanoTime());
+            Thread.sleep(Math.max(1, Math.min(REPORT_INTERVAL_MILLIS, remaining)));
+
+            long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - now);
+            long operations = 0;
+            long errors = 0;
+            for (Stats s : stats.values()) {
+                operations += s.latency.getCount();
+                errors += s.errors.sum();
+            }
+            out.printf("  %4d s: %d operações medidas, %d erros%n", elapsed, operations, errors);
+        }
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    /**
+     * Imprime o relatório final.
+     *
+     * @param out destino do relatório
+     */
+    public void printReport(PrintStream out) {
+        double seconds = settings.getDurationSeconds();
+
+        out.println();
+        out.printf("%-12s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "Operação", "Total", "Erros", "ops/s", "média", "p50", "p95", "p99", "p99.9", "máx");
+
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            LatencyHistogram.Snapshot latency = entry.getValue().latency.snapshot();
+            long errors = entry.getValue().errors.sum();
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            out.printf("%-12s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey().label, latency.getCount(), errors, latency.getCount() / seconds,
+                    latency.getMeanMillis(), latency.getPercentileMillis(50), latency.getPercentileMillis(95),
+                    latency.getPercentileMillis(99), latency.getPercentileMillis(99.9), latency.getMaxMillis());
+        }
+        out.println("Latências em milissegundos, incluindo as operações com erro.");
+
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            for (Map.Entry<String, LongAdder> cause : entry.getValue().causes.entrySet()) {
+                out.printf("  erro em %s: %s (%d)%n", entry.getKey().label, cause.getKey(), cause.getValue().sum());
+            }
+        }
+
+        out.println();
+        out.printf("%-28s %9s %7s %8s %9s %9s %9s %9s%n",
+                "Endpoint", "Total", "Erros", "Timeouts", "resp p95", "corpo p95", "json p95", "KB in");
+        for (EndpointMetrics endpoint : BaseHttpService.getMetricsRegistry().getEndpointMetrics()) {
+            if (endpoint.getRequests() == 0) {
+                continue;
+            }
+            out.printf("%-28s %9d %7d %8d %9.1f %9.1f %9.1f %9d%n",
+                    endpoint.getEndpoint(), endpoint.getRequests(), endpoint.getErrors(), endpoint.getTimeouts(),
+                    endpoint.getResponseP95Millis(), endpoint.getBodyReadP95Millis(), endpoint.getDecodeP95Millis(),
+                    endpoint.getBytesIn() / 1024);
+        }
+        out.println("resp: até o status (rede + servidor); corpo: espera pelos bytes; json: Jackson.");
+
+        out.printf("Conexões: %d criadas, %d reaproveitadas (%.1f%%)%n",
+                BaseHttpService.getConnectionPoolMonitor().getCreatedConnections(),
+                BaseHttpService.getConnectionPoolMonitor().getReusedConnections(),
+                BaseHttpService.getConnectionPoolMonitor().getReuseRate() * 100);
+        out.printf("Cache de pesquisas: %.1f%% de acertos%n", BookService.getSearchCache().getHitRate() * 100);
+
+        List<ServerNode> nodes = LoadBalancer.forServers(baseUrls()).getNodes();
+        if (nodes.size() > 1) {
+            out.println();
+            for (ServerNode node : nodes) {
+                out.printf("%-40s %9d req %7d falhas %9.1f ms ewma %d retiradas %d redirecionadas (%s)%n",
+                        node.getBaseUrl(), node.getRequests(), node.getFailures(), node.getEwmaMillis(),
+                        node.getEjections(), node.getFailovers(), node.getState());
+            }
+        }
+    }
+
+    private List<String> baseUrls() {
+        return Arrays.asList(settings.getBaseUrl().split("\\s*,\\s*"));
+    }
+
+    /**
+     * Ponto de entrada do gerador de carga.
+     *
+     * @param args argumentos de linha de comando (não utilizados)
+     * @throws Exception caso não seja possível iniciar o servidor simulado
+     */
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+
+        // cada operador real teria seu próprio cache keep-alive, limitado por padrão a 5 conexões
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(Math.max(5, settings.getSessions())));
+        }
+
+        StubAlpha7Server stub = null;
+        if (settings.isEmbeddedStub()) {
+            StubServerSettings stubSettings = StubServerSettings.fromSystemProperties();
+            stubSettings.setThreads(Math.max(stubSettings.getThreads(), settings.getSessions()));
+            stub = new StubAlpha7Server(stubSettings).start();
+            settings.setBaseUrl(stub.getBaseUrl());
+        }
+
+        try {
+            LoadDriver driver = new LoadDriver(settings);
+            driver.run(System.out);
+            driver.printReport(System.out);
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+    }
+
+    /**
+     * Operações executadas pelas sessões.
+     */
+    private enum Operation {
+        SEARCH("pesquisa"),
+        SAVE("gravação"),
+        DELETE("remoção"),
+        OPEN_LIBRARY("openLibrary"),
+        IMPORT("importação");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Estatísticas de uma operação.
+     */
+    private static final class Stats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, LongAdder> causes = new ConcurrentHashMap<>();
+
+        private void record(long nanos, Throwable error) {
+            latency.record(nanos);
+            if (error != null) {
+                errors.increment();
+                causes.computeIfAbsent(describe(error), key -> new LongAdder()).increment();
+            }
+        }
+
+        private static String describe(Throwable error) {
+            if (error instanceof ServerException) {
+                ServerException se = (ServerException) error;
+                return "HTTP " + (se.getErrorResponse() != null ? se.getErrorResponse().getStatus() : "?");
+            }
+            return error.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Sessão de um operador simulado.
+     */
+    private final class Session implements Runnable {
+
+        private final int id;
+        private final Random random;
+        private final BookService service;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private final int totalWeight;
+        private File importFile;
+
+        private Session(int id, Random random) {
+            this.id = id;
+            this.random = random;
+            this.service = new BookService(baseUrls(), Runnable::run);
+            this.totalWeight = settings.getSearchWeight() + settings.getSaveWeight() + settings.getDeleteWeight()
+                    + settings.getOpenLibraryWeight() + settings.getImportWeight();
+        }
+
+        @Override
+        public void run() {
+            try {
+                // distribui o início das sessões ao longo de um tempo de reflexão
+                think(random.nextDouble());
+                while (System.nanoTime() < measureEnd && !Thread.currentThread().isInterrupted()) {
+                    execute(pick());
+                    think(-Math.log(1 - random.nextDouble()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (importFile != null && !importFile.delete()) {
+                    importFile.deleteOnExit();
+                }
+            }
+        }
+
+        private Operation pick() {
+            int ticket = random.nextInt(Math.max(1, totalWeight));
+            if ((ticket -= settings.getSearchWeight()) < 0) return Operation.SEARCH;
+            if ((ticket -= settings.getSaveWeight()) < 0) return Operation.SAVE;
+            if ((ticket -= settings.getDeleteWeight()) < 0) return created.isEmpty() ? Operation.SAVE : Operation.DELETE;
+            if ((ticket -= settings.getOpenLibraryWeight()) < 0) return Operation.OPEN_LIBRARY;
+            return Operation.IMPORT;
+        }
+
+        private void execute(Operation operation) {
+            long start = System.nanoTime();
+            Throwable error = null;
+            try {
+                switch (operation) {
+                case SEARCH:
+                    service.searchBooksAsync(searchFilter()).join();
+                    break;
+                case SAVE:
+                    BookDTO saved = service.saveBookAsync(newBook()).join();
+                    if (saved != null && saved.getId() != null) {
+                        created.push(saved.getId());
+                    }
+                    break;
+                case DELETE:
+                    service.deleteBookAsync(created.pop()).join();
+                    break;
+                case OPEN_LIBRARY:
+                    service.searchByIsbnOpenLibraryAsync(IsbnUtil.randomIsbn13(random)).join();
+                    break;
+                case IMPORT:
+                    service.importBooksFromCsvAsync(importFile()).join();
+                    break;
+                default:
+                    throw new IllegalStateException(operation.name());
+                }
+            } catch (CompletionException e) {
+                error = e.getCause() != null ? e.getCause() : e;
+            } catch (IOException | RuntimeException e) {
+                error = e;
+            }
+
+            long end = System.nanoTime();
+            if (start >= measureStart && end <= measureEnd) {
+                stats.get(operation).record(end - start, error);
+            }
+        }
+
+        private BookToSearchDTO searchFilter() {
+            BookToSearchDTO.BookToSearchDTOBuilder filter = BookToSearchDTO.builder();
+            switch (random.nextInt(4)) {
+            case 0:
+                filter.author("Autor " + (1 + random.nextInt(2000)));
+                break;
+            case 1:
+                filter.title(TITLE_TERMS[random.nextInt(TITLE_TERMS.length)])
+                      .publisher("Editora " + (1 + random.nextInt(200)));
+                break;
+            default:
+                filter.title(TITLE_TERMS[random.nextInt(TITLE_TERMS.length)]);
+                break;
+            }
+            return filter.build();
+        }
+
+        private BookDTO newBook() {
+            return BookDTO.builder()
+                    .isbn(IsbnUtil.randomIsbn13(random))
+                    .title("Livro da sessão " + id + " " + random.nextInt(1_000_000))
+                    .authors(Collections.singletonList(new AuthorDTO(null, "Autor " + (1 + random.nextInt(2000)))))
+                    .publishers(Collections.singletonList(new PublisherDTO(null, "Editora " + (1 + random.nextInt(200)))))
+                    .publicationDate(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27_000)))
+                    .build();
+        }
+
+        private File importFile() throws IOException {
+            if (importFile == null) {
+                StringBuilder csv = new StringBuilder("isbn,title,authors,publishers,publicationDate\n");
+                for (int row = 0; row < settings.getImportRows(); row++) {
+                    csv.append(IsbnUtil.randomIsbn13(random)).append(",Importado ").append(id).append('-').append(row)
+                       .append(",Autor ").append(1 + random.nextInt(2000))
+                       .append(",Editora ").append(1 + random.nextInt(200))
+                       .append(',').append(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27_000)))
+                       .append('\n');
+                }
+                Path path = Files.createTempFile("alpha7-load-" + id + "-", ".csv");
+                Files.write(path, csv.toString().getBytes(StandardCharsets.UTF_8));
+                importFile = path.toFile();
+            }
+            return importFile;
+        }
+
+        /**
+         * Aguarda o tempo de reflexão, em múltiplos do tempo médio configurado.
+         */
+        private void think(double factor) throws InterruptedException {
+            long millis = (long) (factor * settings.getThinkTimeMillis());
+            long remaining = TimeUnit.NANOSECONDS.toMillis(measureEnd - System.nanoTime());
+            if (millis > 0 && remaining > 0) {
+                Thread.sleep(Math.min(millis, remaining));
+            }
+        }
+    }
+
+}
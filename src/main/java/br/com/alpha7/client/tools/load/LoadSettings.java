@@ -0,0 +1,126 @@
+package br.com.alpha7.client.tools.load;
+
+import br.com.alpha7.client.configuration.ServerConfig;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configurações do gerador de carga ({@link LoadDriver}).
+ *
+ * <p>
+ * Define o servidor alvo, a quantidade de sessões simultâneas, a duração do
+ * teste e a composição das operações de cada sessão. Os pesos das operações
+ * são relativos entre si: com os valores padrão, 60% das operações são
+ * pesquisas.
+ * </p>
+ *
+ * <p>
+ * {@link #fromSystemProperties()} lê as configurações das propriedades de
+ * sistema {@code alpha7.load.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class LoadSettings {
+
+	/** URL base da API alvo; várias réplicas são separadas por vírgulas. */
+	@Builder.Default
+	private String baseUrl = ServerConfig.BASE_URL;
+
+	/** Inicia um servidor simulado no próprio processo e o utiliza como alvo. */
+	@Builder.Default
+	private boolean embeddedStub = false;
+
+	/** Quantidade de sessões (operadores) simultâneas. */
+	@Builder.Default
+	private int sessions = 200;
+
+	/** Duração da medição, em segundos, após o aquecimento. */
+	@Builder.Default
+	private int durationSeconds = 60;
+
+	/** Duração do aquecimento, em segundos, cujas medições são descartadas. */
+	@Builder.Default
+	private int warmupSeconds = 10;
+
+	/** Tempo médio, em milissegundos, entre as operações de uma sessão. */
+	@Builder.Default
+	private long thinkTimeMillis = 1000;
+
+	/** Peso das pesquisas de livros. */
+	@Builder.Default
+	private int searchWeight = 60;
+
+	/** Peso das gravações de livros. */
+	@Builder.Default
+	private int saveWeight = 15;
+
+	/** Peso das remoções de livros. */
+	@Builder.Default
+	private int deleteWeight = 5;
+
+	/** Peso das consultas à Open Library. */
+	@Builder.Default
+	private int openLibraryWeight = 15;
+
+	/** Peso das importações de CSV. */
+	@Builder.Default
+	private int importWeight = 5;
+
+	/** Quantidade de registros de cada arquivo importado. */
+	@Builder.Default
+	private int importRows = 200;
+
+	/** Semente do sorteio das operações e dos dados. */
+	@Builder.Default
+	private long seed = 7L;
+
+	/**
+	 * Cria as configurações a partir das propriedades de sistema
+	 * {@code alpha7.load.baseUrl}, {@code .stub}, {@code .sessions},
+	 * {@code .duration}, {@code .warmup}, {@code .thinkTime},
+	 * {@code .mix} (pesos no formato {@code search:60,save:15,delete:5,openLibrary:15,import:5}),
+	 * {@code .importRows} e {@code .seed}.
+	 *
+	 * @return configurações lidas, com os valores padrão para as ausentes
+	 */
+	public static LoadSettings fromSystemProperties() {
+		LoadSettings settings = builder().build();
+		settings.setBaseUrl(System.getProperty("alpha7.load.baseUrl", settings.baseUrl));
+		settings.setEmbeddedStub(Boolean.getBoolean("alpha7.load.stub"));
+		settings.setSessions(Integer.getInteger("alpha7.load.sessions", settings.sessions));
+		settings.setDurationSeconds(Integer.getInteger("alpha7.load.duration", settings.durationSeconds));
+		settings.setWarmupSeconds(Integer.getInteger("alpha7.load.warmup", settings.warmupSeconds));
+		settings.setThinkTimeMillis(Long.getLong("alpha7.load.thinkTime", settings.thinkTimeMillis));
+		settings.setImportRows(Integer.getInteger("alpha7.load.importRows", settings.importRows));
+		settings.setSeed(Long.getLong("alpha7.load.seed", settings.seed));
+
+		String mix = System.getProperty("alpha7.load.mix");
+		if (mix != null) {
+			for (String part : mix.split(",")) {
+				String[] pair = part.trim().split(":");
+				if (pair.length != 2) {
+					throw new IllegalArgumentException("Composição inválida: " + part);
+				}
+				int weight = Integer.parseInt(pair[1].trim());
+				switch (pair[0].trim()) {
+				case "search": settings.setSearchWeight(weight); break;
+				case "save": settings.setSaveWeight(weight); break;
+				case "delete": settings.setDeleteWeight(weight); break;
+				case "openLibrary": settings.setOpenLibraryWeight(weight); break;
+				case "import": settings.setImportWeight(weight); break;
+				default: throw new IllegalArgumentException("Operação desconhecida: " + pair[0]);
+				}
+			}
+		}
+		return settings;
+	}
+
+}
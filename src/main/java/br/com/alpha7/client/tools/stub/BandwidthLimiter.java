@@ -0,0 +1,115 @@
+package br.com.alpha7.client.tools.stub;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Limita a taxa de transferência de uma requisição do servidor simulado.
+ *
+ * <p>
+ * Os fluxos de entrada e saída de uma mesma requisição compartilham o limite.
+ * A contagem recomeça a cada fluxo envolvido, de modo que a latência
+ * simulada antes da resposta não vira crédito de transferência. A transferência é feita em fatias de 1/20 da taxa e, após cada fatia, a
+ * thread aguarda até o instante em que a quantidade transferida seria
+ * alcançada na taxa configurada, simulando um enlace lento sem acumular
+ * atrasos de arredondamento.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+final class BandwidthLimiter {
+
+    private final long bytesPerSecond;
+    private final int slice;
+    private long start;
+    private long transferred;
+
+    /**
+     * @param bytesPerSecond taxa máxima; {@code 0} ou negativo não limita
+     */
+    BandwidthLimiter(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.slice = (int) Math.max(512, Math.min(64 * 1024, bytesPerSecond / 20));
+    }
+
+    InputStream wrap(InputStream in) {
+        if (bytesPerSecond <= 0) {
+            return in;
+        }
+        restart();
+        return new FilterInputStream(in) {
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    pace(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, Math.min(len, slice));
+                if (n > 0) {
+                    pace(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    OutputStream wrap(OutputStream out) {
+        if (bytesPerSecond <= 0) {
+            return out;
+        }
+        restart();
+        return new FilterOutputStream(out) {
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                pace(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    int n = Math.min(len, slice);
+                    out.write(b, off, n);
+                    pace(n);
+                    off += n;
+                    len -= n;
+                }
+            }
+        };
+    }
+
+    /**
+     * Inicia a medição no instante em que a transferência começa.
+     */
+    private synchronized void restart() {
+        start = System.nanoTime();
+        transferred = 0;
+    }
+
+    private synchronized void pace(int bytes) throws InterruptedIOException {
+        transferred += bytes;
+        long due = start + transferred * 1_000_000_000L / bytesPerSecond;
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            try {
+                Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+    }
+
+}
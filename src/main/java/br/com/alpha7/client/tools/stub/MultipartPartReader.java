@@ -0,0 +1,48 @@
+package br.com.alpha7.client.tools.stub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Leitor de linhas do conteúdo de uma parte multipart, já posicionado após os
+ * cabeçalhos da parte.
+ *
+ * <p>
+ * Termina na linha do delimitador seguinte e remove o {@code \r} que
+ * antecede o delimitador quando o arquivo enviado não termina em quebra de
+ * linha. Somente {@link #readLine()} é suportado.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+final class MultipartPartReader extends BufferedReader {
+
+    private final BufferedReader source;
+    private final String delimiter;
+    private String next;
+    private boolean ended;
+
+    MultipartPartReader(BufferedReader source, String delimiter) throws IOException {
+        super(source, 1);
+        this.source = source;
+        this.delimiter = delimiter;
+        this.next = source.readLine();
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        if (ended || next == null || next.startsWith(delimiter)) {
+            ended = true;
+            return null;
+        }
+
+        String line = next;
+        next = source.readLine();
+        if ((next == null || next.startsWith(delimiter)) && line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        return line;
+    }
+
+}
@@ -0,0 +1,432 @@
+package br.com.alpha7.client.tools.stub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
+import br.com.alpha7.client.infrastructure.dto.ErrorResponseDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.factory.ExecutorFactory;
+import br.com.alpha7.client.infrastructure.factory.JsonMapperFactory;
+
+/**
+ * Servidor Alpha7 simulado, executado no próprio processo, para testes de
+ * latência e de carga do cliente sem depender do servidor real nem de rede.
+ *
+ * <p>
+ * Implementa, sobre {@code com.sun.net.httpserver}, os endpoints consumidos
+ * por {@code BookService}:
+ * <ul>
+ *   <li>{@code GET /book} — pesquisa, com os mesmos filtros do servidor e
+ *       paginação por {@code page}/{@code size}</li>
+ *   <li>{@code POST /book} — inclusão ou atualização</li>
+ *   <li>{@code GET /book/{id}} e {@code DELETE /book/{id}}</li>
+ *   <li>{@code POST /book/import} — importação de CSV enviado em multipart</li>
+ *   <li>{@code GET /open-library?isbn=} — consulta simulada à Open Library</li>
+ * </ul>
+ * Os dados vêm de um {@link StubCatalog} sintético. As consultas GET
+ * informam {@code ETag} e respondem {@code 304 Not Modified} enquanto o
+ * catálogo não for alterado.
+ * </p>
+ *
+ * <p>
+ * As condições de rede são configuradas por {@link StubServerSettings}: cada
+ * resposta é atrasada pela latência mais uma variação aleatória, uma fração
+ * das requisições falha com {@code 503} e a transferência dos corpos, nos
+ * dois sentidos, é limitada à banda configurada.
+ * </p>
+ *
+ * <p>
+ * Pode ser executado isoladamente com {@link #main(String[])}, configurado
+ * pelas propriedades de sistema {@code alpha7.stub.*}. Com
+ * {@code -Dalpha7.stub.port=8080} substitui o servidor padrão do cliente.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class StubAlpha7Server implements AutoCloseable {
+
+    private final StubServerSettings settings;
+    private final StubCatalog catalog;
+    private final ObjectMapper mapper = JsonMapperFactory.get();
+    private final Random random;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Cria o servidor com um catálogo sintético gerado conforme as configurações.
+     *
+     * @param settings configurações do servidor
+     */
+    public StubAlpha7Server(StubServerSettings settings) {
+        this.settings = settings;
+        this.catalog = new StubCatalog(settings.getCatalogSize(), settings.getSeed());
+        this.random = new Random(settings.getSeed());
+    }
+
+    /**
+     * Inicia o servidor.
+     *
+     * @return o próprio servidor
+     * @throws IOException caso não seja possível abrir a porta
+     */
+    public synchronized StubAlpha7Server start() throws IOException {
+        if (server != null) {
+            return this;
+        }
+        executor = Executors.newFixedThreadPool(settings.getThreads(),
+                ExecutorFactory.namedThreadFactory("alpha7-stub"));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.getPort()), 256);
+        server.setExecutor(executor);
+        server.createContext(settings.getContextPath() + "/book", this::handle);
+        server.createContext(settings.getContextPath() + "/open-library", this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Encerra o servidor, aguardando no máximo um segundo pelas requisições em andamento.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(1);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Retorna a porta de escuta do servidor iniciado.
+     *
+     * @return porta local
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Retorna a URL base da API, no formato de {@code ServerConfig.BASE_URL}.
+     *
+     * @return URL base do servidor iniciado
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + getPort() + settings.getContextPath();
+    }
+
+    /**
+     * Retorna o catálogo utilizado pelo servidor.
+     *
+     * @return catálogo em memória
+     */
+    public StubCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Retorna a quantidade de requisições recebidas.
+     *
+     * @return total de requisições
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Retorna a quantidade de falhas simuladas.
+     *
+     * @return total de respostas {@code 503} simuladas
+     */
+    public long getInjectedFailureCount() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        BandwidthLimiter limiter = new BandwidthLimiter(settings.getBandwidthBytesPerSecond());
+
+        try {
+            String path = exchange.getRequestURI().getPath().substring(settings.getContextPath().length());
+            String method = exchange.getRequestMethod();
+
+            boolean fail = rollFailure();
+
+            if (path.startsWith("/book/import") && "POST".equals(method)) {
+                // o corpo é recebido antes da resposta, como em um servidor real
+                ImportReportDTO report = fail ? discardBody(exchange, limiter) : importCsv(exchange, limiter);
+                if (delayOrFail(exchange, limiter, fail)) {
+                    sendJson(exchange, limiter, 200, report, null);
+                }
+                return;
+            }
+
+            if (!delayOrFail(exchange, limiter, fail)) return;
+
+            if (path.equals("/open-library") && "GET".equals(method)) {
+                String isbn = query(exchange).get("isbn");
+                BookDTO book = catalog.openLibrary(isbn);
+                if (book == null) {
+                    sendError(exchange, limiter, 404, "Livro não encontrado na Open Library: " + isbn);
+                } else {
+                    sendJson(exchange, limiter, 200, book, etag());
+                }
+            } else if (path.equals("/book") && "GET".equals(method)) {
+                sendJson(exchange, limiter, 200, catalog.search(filter(query(exchange))), etag());
+            } else if (path.equals("/book") && "POST".equals(method)) {
+                BookDTO book;
+                try (InputStream in = limiter.wrap(exchange.getRequestBody())) {
+                    book = mapper.readValue(in, BookDTO.class);
+                } catch (JsonProcessingException e) {
+                    sendError(exchange, limiter, 400, "Corpo da requisição inválido: " + e.getOriginalMessage());
+                    return;
+                }
+                boolean update = book.getId() != null && catalog.find(book.getId()) != null;
+                sendJson(exchange, limiter, update ? 200 : 201, catalog.save(book), null);
+            } else if (path.startsWith("/book/")) {
+                handleBookById(exchange, limiter, path.substring("/book/".length()), method);
+            } else {
+                sendError(exchange, limiter, 404, "Recurso não encontrado: " + path);
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, limiter, 400, e.getMessage());
+        } catch (IOException e) {
+            // cliente desconectou ou cancelou a requisição
+        } catch (RuntimeException e) {
+            sendError(exchange, limiter, 500, String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleBookById(HttpExchange exchange, BandwidthLimiter limiter, String id, String method)
+            throws IOException {
+        long bookId;
+        try {
+            bookId = Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Código inválido: " + id);
+        }
+
+        if ("GET".equals(method)) {
+            BookDTO book = catalog.find(bookId);
+            if (book == null) {
+                sendError(exchange, limiter, 404, "Livro não encontrado: " + bookId);
+            } else {
+                sendJson(exchange, limiter, 200, book, etag());
+            }
+        } else if ("DELETE".equals(method)) {
+            if (catalog.delete(bookId)) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                sendError(exchange, limiter, 404, "Livro não encontrado: " + bookId);
+            }
+        } else {
+            sendError(exchange, limiter, 405, "Método não suportado: " + method);
+        }
+    }
+
+    /**
+     * Sorteia se a requisição deve falhar, conforme a taxa de erros configurada.
+     */
+    private boolean rollFailure() {
+        if (settings.getErrorRate() <= 0) {
+            return false;
+        }
+        synchronized (random) {
+            return random.nextDouble() < settings.getErrorRate();
+        }
+    }
+
+    /**
+     * Aplica a latência simulada e, se for o caso, envia a falha simulada.
+     *
+     * @return {@code false} se uma falha foi enviada no lugar da resposta
+     */
+    private boolean delayOrFail(HttpExchange exchange, BandwidthLimiter limiter, boolean fail) throws IOException {
+        long delay = settings.getLatencyMillis();
+        if (settings.getJitterMillis() > 0) {
+            synchronized (random) {
+                delay += (long) (random.nextDouble() * settings.getJitterMillis());
+            }
+        }
+
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Servidor simulado encerrado", e);
+            }
+        }
+        if (fail) {
+            failures.incrementAndGet();
+            sendError(exchange, limiter, 503, "Falha simulada pelo servidor de testes");
+            return false;
+        }
+        return true;
+    }
+
+    private ImportReportDTO discardBody(HttpExchange exchange, BandwidthLimiter limiter) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = limiter.wrap(exchange.getRequestBody())) {
+            while (in.read(buffer) != -1) {
+                // descarta o arquivo de uma importação que falhará
+            }
+        }
+        return null;
+    }
+
+    private ImportReportDTO importCsv(HttpExchange exchange, BandwidthLimiter limiter) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        int index = contentType != null ? contentType.indexOf("boundary=") : -1;
+        if (index < 0) {
+            throw new IllegalArgumentException("Requisição multipart sem boundary");
+        }
+        String delimiter = "--" + contentType.substring(index + "boundary=".length()).trim();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                limiter.wrap(exchange.getRequestBody()), StandardCharsets.UTF_8), 64 * 1024)) {
+
+            String line;
+            while ((line = reader.readLine()) != null && !line.startsWith(delimiter)) {
+                // preâmbulo
+            }
+            while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                // cabeçalhos da parte
+            }
+            return catalog.importCsv(new MultipartPartReader(reader, delimiter));
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, BandwidthLimiter limiter, int status, Object value, String etag)
+            throws IOException {
+
+        if (etag != null) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+
+        byte[] body = mapper.writeValueAsBytes(value);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = limiter.wrap(exchange.getResponseBody())) {
+            out.write(body);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, BandwidthLimiter limiter, int status, String message)
+            throws IOException {
+        ErrorResponseDTO error = ErrorResponseDTO.builder()
+                .status(status)
+                .error(status >= 500 ? "Server Error" : "Client Error")
+                .message(message)
+                .path(exchange.getRequestURI().getPath())
+                .timestamp(LocalDateTime.now())
+                .build();
+        try {
+            sendJson(exchange, limiter, status, error, null);
+        } catch (IOException ignored) {
+            // resposta já iniciada ou cliente desconectado
+        }
+    }
+
+    private String etag() {
+        return "\"" + catalog.version() + "\"";
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        try {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"),
+                            URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        return params;
+    }
+
+    private static BookToSearchDTO filter(Map<String, String> params) {
+        try {
+            return BookToSearchDTO.builder()
+                    .id(params.containsKey("id") ? Long.valueOf(params.get("id")) : null)
+                    .isbn(params.get("isbn"))
+                    .title(params.get("title"))
+                    .author(params.get("author"))
+                    .publisher(params.get("publisher"))
+                    .publicationDate(params.containsKey("publicationDate")
+                            ? LocalDate.parse(params.get("publicationDate")) : null)
+                    .page(params.containsKey("page") ? Integer.valueOf(params.get("page")) : null)
+                    .size(params.containsKey("size") ? Integer.valueOf(params.get("size")) : null)
+                    .build();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Parâmetro de pesquisa inválido: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia o servidor simulado com as configurações das propriedades de
+     * sistema {@code alpha7.stub.*} ({@link StubServerSettings#fromSystemProperties()})
+     * e aguarda até o encerramento do processo.
+     *
+     * @param args argumentos de linha de comando (não utilizados)
+     * @throws Exception caso não seja possível iniciar o servidor
+     */
+    public static void main(String[] args) throws Exception {
+        StubServerSettings settings = StubServerSettings.fromSystemProperties();
+        StubAlpha7Server server = new StubAlpha7Server(settings).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+
+        System.out.printf("Servidor simulado em %s (%d livros, latência %d+%d ms, erros %.1f%%, banda %s)%n",
+                server.getBaseUrl(), server.getCatalog().size(), settings.getLatencyMillis(),
+                settings.getJitterMillis(), settings.getErrorRate() * 100,
+                settings.getBandwidthBytesPerSecond() > 0
+                        ? settings.getBandwidthBytesPerSecond() + " B/s" : "ilimitada");
+
+        Thread.currentThread().join();
+    }
+
+}
@@ -0,0 +1,482 @@
+package br.com.alpha7.client.tools.stub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import br.com.alpha7.client.infrastructure.dto.AuthorDTO;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.BookToSearchDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportErrorDTO;
+import br.com.alpha7.client.infrastructure.dto.ImportReportDTO;
+import br.com.alpha7.client.infrastructure.dto.PublisherDTO;
+import br.com.alpha7.client.infrastructure.utils.IsbnUtil;
+
+/**
+ * Catálogo de livros em memória do servidor simulado.
+ *
+ * <p>
+ * É gerado de forma determinística a partir de uma semente, com autores e
+ * editoras sorteados de conjuntos pequenos, como em um acervo real. Os livros
+ * são mantidos em ordem de código, de modo que a paginação é estável.
+ * </p>
+ *
+ * <p>
+ * A pesquisa segue as regras do servidor: campos de texto por "contém", sem
+ * diferenciar maiúsculas e acentos, e os demais por igualdade. Cada alteração
+ * incrementa a {@link #version() versão} do catálogo, utilizada como
+ * {@code ETag} das consultas.
+ * </p>
+ *
+ * <p>
+ * Leituras são concorrentes entre si; gravações são exclusivas.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class StubCatalog {
+
+    private static final int AUTHORS = 2_000;
+    private static final int PUBLISHERS = 200;
+
+    private static final String[] WORDS = {
+        "Introdução", "Programação", "Java", "Sistemas", "Dados", "História", "Brasil",
+        "Arquitetura", "Redes", "Algoritmos", "Ciência", "Engenharia", "Memórias", "Contos",
+        "Poesia", "Economia", "Filosofia", "Análise", "Projeto", "Prática"
+    };
+
+    private static final DateTimeFormatter BRAZILIAN_DATE =
+            DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    private final TreeMap<Long, Entry> books = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong version = new AtomicLong(1);
+
+    /**
+     * Cria um catálogo com a quantidade informada de livros sintéticos.
+     *
+     * @param size quantidade de livros
+     * @param seed semente do gerador
+     */
+    public StubCatalog(int size, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            long id = nextId.getAndIncrement();
+            books.put(id, new Entry(synthetic(id, random)));
+        }
+    }
+
+    /**
+     * Retorna a versão atual do catálogo, incrementada a cada alteração.
+     *
+     * @return versão do catálogo
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Retorna a quantidade de livros do catálogo.
+     *
+     * @return quantidade de livros
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pesquisa livros pelo filtro informado.
+     *
+     * <p>
+     * Quando o filtro informa {@code size}, retorna somente a página
+     * {@code page} (iniciando em zero) do resultado.
+     * </p>
+     *
+     * @param filter filtros de pesquisa
+     * @return livros encontrados, em ordem de código
+     */
+    public List<BookDTO> search(BookToSearchDTO filter) {
+        String title = normalizedTerm(filter.getTitle());
+        String author = normalizedTerm(filter.getAuthor());
+        String publisher = normalizedTerm(filter.getPublisher());
+        String isbn = filter.getIsbn() != null ? filter.getIsbn().trim().toUpperCase(Locale.ROOT) : null;
+
+        int skip = 0;
+        int limit = Integer.MAX_VALUE;
+        if (filter.getSize() != null && filter.getSize() > 0) {
+            limit = filter.getSize();
+            skip = (filter.getPage() != null ? Math.max(0, filter.getPage()) : 0) * limit;
+        }
+
+        List<BookDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Iterable<Entry> candidates = filter.getId() != null
+                    ? (books.containsKey(filter.getId())
+                            ? Collections.singletonList(books.get(filter.getId()))
+                            : Collections.<Entry>emptyList())
+                    : books.values();
+
+            for (Entry entry : candidates) {
+                if (!entry.matches(isbn, title, author, publisher, filter.getPublicationDate())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(entry.book);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Busca um livro pelo código.
+     *
+     * @param id código do livro
+     * @return livro encontrado ou {@code null}
+     */
+    public BookDTO find(long id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = books.get(id);
+            return entry != null ? entry.book : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui ou atualiza um livro.
+     *
+     * <p>
+     * Livros sem código, ou com código inexistente, recebem um novo código.
+     * </p>
+     *
+     * @param book livro a ser gravado
+     * @return cópia gravada do livro
+     */
+    public BookDTO save(BookDTO book) {
+        lock.writeLock().lock();
+        try {
+            long id = book.getId() != null && books.containsKey(book.getId())
+                    ? book.getId()
+                    : nextId.getAndIncrement();
+
+            BookDTO saved = copy(book, id);
+            books.put(id, new Entry(saved));
+            version.incrementAndGet();
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um livro.
+     *
+     * @param id código do livro
+     * @return {@code true} se o livro existia
+     */
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = books.remove(id) != null;
+            if (removed) {
+                version.incrementAndGet();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Importa livros de um CSV.
+     *
+     * <p>
+     * O cabeçalho deve conter as colunas {@code isbn} e {@code title}; as
+     * colunas {@code authors}, {@code publishers} e {@code publicationDate} são
+     * opcionais, com vários nomes separados por {@code |}. O separador
+     * ({@code ,} ou {@code ;}) é detectado pelo cabeçalho. Os registros
+     * inválidos são informados no relatório, com o número de linha no arquivo.
+     * </p>
+     *
+     * @param reader conteúdo do arquivo
+     * @return relatório com os livros incluídos e os registros rejeitados
+     * @throws IOException caso ocorra erro de leitura
+     */
+    public ImportReportDTO importCsv(BufferedReader reader) throws IOException {
+        ImportReportDTO report = new ImportReportDTO(new ArrayList<>(), new ArrayList<>());
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            report.getErrors().add(new ImportErrorDTO(1, "", "Arquivo vazio"));
+            return report;
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+
+        char separator = headerLine.indexOf(';') >= 0 && headerLine.indexOf(',') < 0 ? ';' : ',';
+        List<String> header = split(headerLine, separator);
+        int isbn = -1, title = -1, authors = -1, publishers = -1, date = -1;
+
+        for (int i = 0; i < header.size(); i++) {
+            switch (normalize(header.get(i)).replaceAll("[^a-z]", "")) {
+            case "isbn": isbn = i; break;
+            case "title": case "titulo": title = i; break;
+            case "author": case "authors": case "autor": case "autores": authors = i; break;
+            case "publisher": case "publishers": case "editora": case "editoras": publishers = i; break;
+            case "publicationdate": case "datapublicacao": case "datadepublicacao": date = i; break;
+            default: break;
+            }
+        }
+        if (isbn < 0 || title < 0) {
+            report.getErrors().add(new ImportErrorDTO(1, headerLine,
+                    "Cabeçalho inválido: as colunas obrigatórias são isbn e title"));
+            return report;
+        }
+
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+
+            List<String> fields = split(line, separator);
+            if (fields.size() != header.size()) {
+                report.getErrors().add(new ImportErrorDTO(lineNumber, line,
+                        "Quantidade de colunas inválida: esperado " + header.size()
+                        + ", encontrado " + fields.size()));
+                continue;
+            }
+
+            String normalizedIsbn = IsbnUtil.normalize(fields.get(isbn));
+            if (normalizedIsbn == null) {
+                report.getErrors().add(new ImportErrorDTO(lineNumber, line, "ISBN inválido"));
+                continue;
+            }
+            if (fields.get(title).trim().isEmpty()) {
+                report.getErrors().add(new ImportErrorDTO(lineNumber, line, "Título não informado"));
+                continue;
+            }
+
+            LocalDate publicationDate = null;
+            if (date >= 0 && !fields.get(date).trim().isEmpty()) {
+                publicationDate = parseDate(fields.get(date).trim());
+                if (publicationDate == null) {
+                    report.getErrors().add(new ImportErrorDTO(lineNumber, line, "Data de publicação inválida"));
+                    continue;
+                }
+            }
+
+            List<AuthorDTO> authorList = new ArrayList<>();
+            if (authors >= 0) {
+                for (String name : fields.get(authors).split("\\|")) {
+                    if (!name.trim().isEmpty()) authorList.add(new AuthorDTO(null, name.trim()));
+                }
+            }
+            List<PublisherDTO> publisherList = new ArrayList<>();
+            if (publishers >= 0) {
+                for (String name : fields.get(publishers).split("\\|")) {
+                    if (!name.trim().isEmpty()) publisherList.add(new PublisherDTO(null, name.trim()));
+                }
+            }
+
+            report.getBooks().add(save(BookDTO.builder()
+                    .isbn(normalizedIsbn)
+                    .title(fields.get(title).trim())
+                    .authors(authorList)
+                    .publishers(publisherList)
+                    .publicationDate(publicationDate)
+                    .build()));
+        }
+        return report;
+    }
+
+    /**
+     * Gera o livro retornado pela consulta à Open Library.
+     *
+     * <p>
+     * Livros já cadastrados são retornados sem código; os demais são gerados
+     * de forma determinística a partir do ISBN.
+     * </p>
+     *
+     * @param isbn ISBN consultado
+     * @return livro encontrado ou {@code null} se o ISBN for inválido
+     */
+    public BookDTO openLibrary(String isbn) {
+        String normalized = isbn != null ? IsbnUtil.normalize(isbn) : null;
+        if (normalized == null) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            for (Entry entry : books.values()) {
+                if (normalized.equals(entry.book.getIsbn())) {
+                    return copy(entry.book, null);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        BookDTO book = synthetic(0, new Random(normalized.hashCode()));
+        book.setId(null);
+        book.setIsbn(normalized);
+        return book;
+    }
+
+    private static BookDTO synthetic(long id, Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) title.append(' ');
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        title.append(' ').append(id);
+
+        int authorCount = 1 + random.nextInt(3);
+        List<AuthorDTO> authors = new ArrayList<>(authorCount);
+        for (int a = 0; a < authorCount; a++) {
+            long author = 1 + random.nextInt(AUTHORS);
+            authors.add(new AuthorDTO(author, "Autor " + author));
+        }
+        long publisher = 1 + random.nextInt(PUBLISHERS);
+
+        return BookDTO.builder()
+                .id(id)
+                .isbn(IsbnUtil.randomIsbn13(random))
+                .title(title.toString())
+                .authors(authors)
+                .publishers(new ArrayList<>(Collections.singletonList(
+                        new PublisherDTO(publisher, "Editora " + publisher))))
+                .publicationDate(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(27_000)))
+                .build();
+    }
+
+    private static BookDTO copy(BookDTO book, Long id) {
+        return BookDTO.builder()
+                .id(id)
+                .isbn(book.getIsbn())
+                .title(book.getTitle())
+                .authors(book.getAuthors() != null ? new ArrayList<>(book.getAuthors()) : new ArrayList<>())
+                .publishers(book.getPublishers() != null ? new ArrayList<>(book.getPublishers()) : new ArrayList<>())
+                .publicationDate(book.getPublicationDate())
+                .build();
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value, BRAZILIAN_DATE);
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Divide uma linha CSV pelo separador, respeitando campos entre aspas.
+     */
+    private static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == separator && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalizedTerm(String term) {
+        return term == null || term.trim().isEmpty() ? null : normalize(term.trim());
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Livro do catálogo com os campos de texto já normalizados para pesquisa.
+     */
+    private static final class Entry {
+
+        private final BookDTO book;
+        private final String title;
+        private final String authors;
+        private final String publishers;
+
+        private Entry(BookDTO book) {
+            this.book = book;
+            this.title = book.getTitle() != null ? normalize(book.getTitle()) : "";
+            this.authors = book.getAuthors() == null ? "" : book.getAuthors().stream()
+                    .map(AuthorDTO::getName).filter(Objects::nonNull).map(StubCatalog::normalize)
+                    .collect(Collectors.joining("\u0000"));
+            this.publishers = book.getPublishers() == null ? "" : book.getPublishers().stream()
+                    .map(PublisherDTO::getName).filter(Objects::nonNull).map(StubCatalog::normalize)
+                    .collect(Collectors.joining("\u0000"));
+        }
+
+        private boolean matches(String isbn, String title, String author, String publisher, LocalDate date) {
+            if (isbn != null && (book.getIsbn() == null || !book.getIsbn().contains(isbn))) return false;
+            if (date != null && !date.equals(book.getPublicationDate())) return false;
+            if (title != null && !this.title.contains(title)) return false;
+            if (author != null && !authors.contains(author)) return false;
+            if (publisher != null && !publishers.contains(publisher)) return false;
+            return true;
+        }
+    }
+
+}
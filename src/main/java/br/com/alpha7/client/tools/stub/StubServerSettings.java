@@ -0,0 +1,92 @@
+package br.com.alpha7.client.tools.stub;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configurações do servidor simulado ({@link StubAlpha7Server}).
+ *
+ * <p>
+ * Além do tamanho do catálogo sintético, define as condições de rede
+ * simuladas: latência fixa com variação aleatória, taxa de erros e limite de
+ * banda por requisição. Os valores padrão correspondem a um servidor local
+ * sem atrasos nem falhas.
+ * </p>
+ *
+ * <p>
+ * {@link #fromSystemProperties()} lê as configurações das propriedades de
+ * sistema {@code alpha7.stub.*}.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class StubServerSettings {
+
+	/** Porta de escuta; {@code 0} escolhe uma porta livre. */
+	@Builder.Default
+	private int port = 0;
+
+	/** Caminho base da API, equivalente ao do servidor real. */
+	@Builder.Default
+	private String contextPath = "/alpha7-server/api";
+
+	/** Quantidade de livros do catálogo sintético inicial. */
+	@Builder.Default
+	private int catalogSize = 10_000;
+
+	/** Semente do gerador do catálogo e das condições de rede. */
+	@Builder.Default
+	private long seed = 7L;
+
+	/** Latência fixa, em milissegundos, somada a cada resposta. */
+	@Builder.Default
+	private long latencyMillis = 0;
+
+	/** Variação máxima, em milissegundos, somada aleatoriamente à latência. */
+	@Builder.Default
+	private long jitterMillis = 0;
+
+	/** Fração das requisições (0 a 1) respondidas com erro 503. */
+	@Builder.Default
+	private double errorRate = 0;
+
+	/** Banda máxima por requisição, em bytes por segundo; {@code 0} não limita. */
+	@Builder.Default
+	private long bandwidthBytesPerSecond = 0;
+
+	/** Quantidade de threads que atendem as requisições. */
+	@Builder.Default
+	private int threads = 32;
+
+	/**
+	 * Cria as configurações a partir das propriedades de sistema
+	 * {@code alpha7.stub.port}, {@code .catalogSize}, {@code .seed},
+	 * {@code .latency}, {@code .jitter}, {@code .errorRate},
+	 * {@code .bandwidth} e {@code .threads}.
+	 *
+	 * @return configurações lidas, com os valores padrão para as ausentes
+	 */
+	public static StubServerSettings fromSystemProperties() {
+		StubServerSettings defaults = builder().build();
+		return builder()
+				.port(Integer.getInteger("alpha7.stub.port", defaults.port))
+				.contextPath(System.getProperty("alpha7.stub.contextPath", defaults.contextPath))
+				.catalogSize(Integer.getInteger("alpha7.stub.catalogSize", defaults.catalogSize))
+				.seed(Long.getLong("alpha7.stub.seed", defaults.seed))
+				.latencyMillis(Long.getLong("alpha7.stub.latency", defaults.latencyMillis))
+				.jitterMillis(Long.getLong("alpha7.stub.jitter", defaults.jitterMillis))
+				.errorRate(Double.parseDouble(System.getProperty("alpha7.stub.errorRate",
+						String.valueOf(defaults.errorRate))))
+				.bandwidthBytesPerSecond(Long.getLong("alpha7.stub.bandwidth", defaults.bandwidthBytesPerSecond))
+				.threads(Integer.getInteger("alpha7.stub.threads", defaults.threads))
+				.build();
+	}
+
+}
@@ -0,0 +1,241 @@
+package br.com.alpha7.client.view.book;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import br.com.alpha7.client.infrastructure.dto.AuthorDTO;
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.dto.PublisherDTO;
+import br.com.alpha7.client.infrastructure.utils.StringDictionary;
+
+/**
+ * Armazenamento colunar e compacto de livros para exibição em tabela.
+ *
+ * <p>
+ * Em vez de manter um objeto (ou um vetor de células) por linha, cada campo
+ * é guardado em um array próprio:
+ * <ul>
+ *   <li>identificadores em {@code long[]}</li>
+ *   <li>datas de publicação como dias desde a época ({@code int[]})</li>
+ *   <li>autores e editoras como códigos de um {@link StringDictionary},
+ *       com deslocamentos por linha</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Nenhum texto de célula é montado no momento da inserção: a junção de
+ * autores/editoras e a conversão de datas são feitas sob demanda, apenas para
+ * as linhas efetivamente consultadas.
+ * </p>
+ *
+ * <p>
+ * Os dicionários podem ser compartilhados entre várias instâncias, como nas
+ * páginas de uma tabela paginada. Esta classe não é thread-safe.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class BookColumnStore {
+
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final StringDictionary authorDictionary;
+    private final StringDictionary publisherDictionary;
+    private final boolean ownsDictionaries;
+
+    private int size;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] isbns = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private int[] publicationDays = new int[INITIAL_CAPACITY];
+
+    private final RefColumn authors = new RefColumn();
+    private final RefColumn publishers = new RefColumn();
+
+    /**
+     * Cria um armazenamento com dicionários próprios.
+     */
+    public BookColumnStore() {
+        this(new StringDictionary(), new StringDictionary(), true);
+    }
+
+    /**
+     * Cria um armazenamento utilizando os dicionários informados.
+     *
+     * @param authorDictionary dicionário de nomes de autores
+     * @param publisherDictionary dicionário de nomes de editoras
+     */
+    public BookColumnStore(StringDictionary authorDictionary, StringDictionary publisherDictionary) {
+        this(authorDictionary, publisherDictionary, false);
+    }
+
+    private BookColumnStore(StringDictionary authorDictionary, StringDictionary publisherDictionary,
+            boolean ownsDictionaries) {
+        this.authorDictionary = authorDictionary;
+        this.publisherDictionary = publisherDictionary;
+        this.ownsDictionaries = ownsDictionaries;
+    }
+
+    /**
+     * Acrescenta os livros ao final do armazenamento.
+     *
+     * @param books livros a serem acrescentados
+     */
+    public void addAll(List<BookDTO> books) {
+        ensureCapacity(size + books.size());
+        for (BookDTO book : books) {
+            add(book);
+        }
+    }
+
+    /**
+     * Acrescenta um livro ao final do armazenamento.
+     *
+     * @param book livro a ser acrescentado
+     */
+    public void add(BookDTO book) {
+        ensureCapacity(size + 1);
+
+        ids[size] = book.getId() != null ? book.getId() : NO_ID;
+        isbns[size] = book.getIsbn();
+        titles[size] = book.getTitle();
+        publicationDays[size] = book.getPublicationDate() != null
+                ? (int) book.getPublicationDate().toEpochDay()
+                : NO_DATE;
+
+        authors.add(size, book.getAuthors(), AuthorDTO::getName, authorDictionary);
+        publishers.add(size, book.getPublishers(), PublisherDTO::getName, publisherDictionary);
+        size++;
+    }
+
+    /**
+     * Remove todos os livros armazenados, mantendo a capacidade alocada.
+     *
+     * <p>
+     * Os dicionários criados pelo próprio armazenamento também são esvaziados;
+     * dicionários compartilhados ficam a cargo de quem os forneceu.
+     * </p>
+     */
+    public void clear() {
+        Arrays.fill(isbns, 0, size, null);
+        Arrays.fill(titles, 0, size, null);
+        size = 0;
+        authors.clear();
+        publishers.clear();
+        if (ownsDictionaries) {
+            authorDictionary.clear();
+            publisherDictionary.clear();
+        }
+    }
+
+    /** Retorna a quantidade de livros armazenados. */
+    public int size() {
+        return size;
+    }
+
+    /** Retorna o identificador do livro da linha ou {@code null}. */
+    public Long getId(int row) {
+        return ids[row] != NO_ID ? ids[row] : null;
+    }
+
+    /** Retorna o ISBN do livro da linha. */
+    public String getIsbn(int row) {
+        return isbns[row];
+    }
+
+    /** Retorna o título do livro da linha. */
+    public String getTitle(int row) {
+        return titles[row];
+    }
+
+    /** Retorna os nomes dos autores da linha, separados por vírgula. */
+    public String getAuthors(int row) {
+        return authors.join(row, authorDictionary);
+    }
+
+    /** Retorna os nomes das editoras da linha, separados por vírgula. */
+    public String getPublishers(int row) {
+        return publishers.join(row, publisherDictionary);
+    }
+
+    /** Retorna a data de publicação do livro da linha ou {@code null}. */
+    public LocalDate getPublicationDate(int row) {
+        return publicationDays[row] != NO_DATE ? LocalDate.ofEpochDay(publicationDays[row]) : null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        isbns = Arrays.copyOf(isbns, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        publicationDays = Arrays.copyOf(publicationDays, newCapacity);
+    }
+
+    /**
+     * Coluna de listas de textos codificados por dicionário.
+     *
+     * <p>
+     * Os códigos de todas as linhas ficam em um único array; {@code offsets[i]}
+     * e {@code offsets[i + 1]} delimitam os códigos da linha {@code i}.
+     * </p>
+     */
+    private static final class RefColumn {
+
+        private int[] offsets = new int[INITIAL_CAPACITY + 1];
+        private int[] refs = new int[INITIAL_CAPACITY];
+        private int count;
+
+        private <T> void add(int row, List<T> items, Function<T, String> name, StringDictionary dictionary) {
+            if (row + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(row + 2, offsets.length + (offsets.length >> 1)));
+            }
+            if (items != null) {
+                for (T item : items) {
+                    String value = name.apply(item);
+                    if (value == null) {
+                        continue;
+                    }
+                    if (count == refs.length) {
+                        refs = Arrays.copyOf(refs, refs.length + (refs.length >> 1));
+                    }
+                    refs[count++] = dictionary.encode(value);
+                }
+            }
+            offsets[row + 1] = count;
+        }
+
+        private String join(int row, StringDictionary dictionary) {
+            int from = offsets[row];
+            int to = offsets[row + 1];
+
+            if (from == to) {
+                return "";
+            }
+            if (to - from == 1) {
+                return dictionary.decode(refs[from]);
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (int i = from; i < to; i++) {
+                if (i > from) {
+                    sb.append(", ");
+                }
+                sb.append(dictionary.decode(refs[i]));
+            }
+            return sb.toString();
+        }
+
+        private void clear() {
+            count = 0;
+        }
+    }
+
+}
@@ -0,0 +1,289 @@
+package br.com.alpha7.client.view.book;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+import br.com.alpha7.client.infrastructure.http.RequestHandle;
+import br.com.alpha7.client.infrastructure.utils.StringDictionary;
+
+/**
+ * Modelo de tabela de livros com paginação sob demanda.
+ *
+ * <p>
+ * Os livros são buscados no servidor página a página, à medida que a
+ * {@link javax.swing.JTable} solicita as células das linhas visíveis:
+ * <ul>
+ *   <li>uma página ainda não carregada é exibida com linhas provisórias
+ *       ("Carregando...") e solicitada em background</li>
+ *   <li>ao exibir uma página, a seguinte é pré-carregada</li>
+ *   <li>no máximo {@value #MAX_RESIDENT_PAGES} páginas são mantidas em memória;
+ *       as mais distantes da área visível são descartadas e buscadas novamente
+ *       se voltarem a ser exibidas</li>
+ * </ul>
+ * </p>
+ *
+ * <p>
+ * Como o total de resultados não é conhecido, a tabela exibe uma página de
+ * linhas provisórias após a última página carregada, até que o servidor
+ * retorne uma página incompleta.
+ * </p>
+ *
+ * <p>
+ * Cada página é armazenada em um {@link BookColumnStore}, compartilhando os
+ * dicionários de autores e editoras. Deve ser acessado somente na Event
+ * Dispatch Thread.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class BookPagingTableModel extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Quantidade máxima de páginas mantidas em memória. */
+	private static final int MAX_RESIDENT_PAGES = 10;
+
+	private static final String LOADING = "Carregando...";
+
+	private final transient PageLoader loader;
+	private final int pageSize;
+
+	private final transient StringDictionary authorDictionary = new StringDictionary();
+	private final transient StringDictionary publisherDictionary = new StringDictionary();
+
+	private final transient Map<Integer, BookColumnStore> pages = new HashMap<>();
+	private final transient Map<Integer, RequestHandle> loading = new HashMap<>();
+
+	private transient Consumer<Throwable> onError;
+	private transient Runnable onFirstPage;
+
+	private long generation;
+	private int knownRows;
+	private boolean exhausted;
+	private boolean failed;
+	private boolean firstPageNotified;
+	private int currentPage;
+
+    /**
+     * Cria o modelo paginado.
+     *
+     * @param loader responsável por buscar cada página no servidor
+     * @param pageSize quantidade de livros por página
+     */
+	public BookPagingTableModel(PageLoader loader, int pageSize) {
+		this.loader = loader;
+		this.pageSize = pageSize;
+	}
+
+    /**
+     * Descarta as páginas carregadas, cancela as requisições em andamento e
+     * inicia o carregamento da primeira página.
+     */
+	public void reset() {
+		cancelAll();
+		generation++;
+		pages.clear();
+		authorDictionary.clear();
+		publisherDictionary.clear();
+		knownRows = 0;
+		exhausted = false;
+		failed = false;
+		firstPageNotified = false;
+		currentPage = 0;
+		fireTableDataChanged();
+		requestPage(0);
+	}
+
+    /**
+     * Cancela as requisições em andamento e invalida respostas pendentes.
+     */
+	public void cancelAll() {
+		generation++;
+		for (RequestHandle handle : loading.values()) {
+			handle.cancel();
+		}
+		loading.clear();
+	}
+
+    /**
+     * Define a ação executada quando o carregamento de uma página falha.
+     *
+     * <p>
+     * Após uma falha, nenhuma nova página é solicitada até o próximo {@link #reset()}.
+     * </p>
+     *
+     * @param action {@link Consumer} que recebe o erro ocorrido
+     */
+	public void onError(Consumer<Throwable> action) {
+		this.onError = action;
+	}
+
+    /**
+     * Define a ação executada quando a primeira página é carregada.
+     *
+     * @param action ação a ser executada
+     */
+	public void onFirstPage(Runnable action) {
+		this.onFirstPage = action;
+	}
+
+	@Override
+	public int getRowCount() {
+		return exhausted || failed ? knownRows : knownRows + (knownRows > 0 ? pageSize : 0);
+	}
+
+	@Override
+	public int getColumnCount() {
+		return BookTableModel.COLUMNS.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return BookTableModel.COLUMNS[column];
+	}
+
+	@Override
+	public Object getValueAt(int row, int column) {
+		int page = row / pageSize;
+		touch(page);
+
+		BookColumnStore store = pages.get(page);
+		int offset = row % pageSize;
+
+		if (store == null || offset >= store.size()) {
+			requestPage(page);
+			return column == 2 ? LOADING : "";
+		}
+		return BookTableModel.cellValue(store, offset, column);
+	}
+
+    /**
+     * Registra a página como visível e pré-carrega a seguinte.
+     */
+	private void touch(int page) {
+		currentPage = page;
+		if (pages.containsKey(page) && !exhausted) {
+			requestPage(page + 1);
+		}
+	}
+
+    /**
+     * Solicita a página em background, caso ainda não esteja carregada ou em andamento.
+     */
+	private void requestPage(int page) {
+		if (failed || pages.containsKey(page) || loading.containsKey(page)) {
+			return;
+		}
+		if (exhausted && page * pageSize >= knownRows) {
+			return;
+		}
+
+		// a página é sempre aplicada em um evento posterior, mesmo quando já
+		// está em cache, pois esta chamada pode ocorrer durante a pintura da tabela
+		long requestGeneration = generation;
+		RequestHandle handle = new RequestHandle();
+		loading.put(page, handle);
+
+		loader.load(page, pageSize, handle).whenCompleteAsync((books, error) -> {
+			if (requestGeneration != generation) {
+				return;
+			}
+			loading.remove(page);
+
+			if (error != null) {
+				failed = true;
+				int oldRows = getRowCount();
+				knownRows = Math.min(knownRows, page * pageSize);
+				fireRowCountChange(oldRows);
+				if (onError != null) {
+					onError.accept(error);
+				}
+				return;
+			}
+			applyPage(page, books);
+		}, SwingUtilities::invokeLater);
+	}
+
+    /**
+     * Armazena a página recebida, atualiza a quantidade de linhas e descarta
+     * as páginas mais distantes da área visível.
+     */
+	private void applyPage(int page, List<BookDTO> books) {
+		int oldRows = getRowCount();
+
+		BookColumnStore store = new BookColumnStore(authorDictionary, publisherDictionary);
+		store.addAll(books);
+		pages.put(page, store);
+
+		int end = page * pageSize + books.size();
+		if (books.size() < pageSize) {
+			exhausted = true;
+			knownRows = end;
+		} else {
+			knownRows = Math.max(knownRows, end);
+		}
+
+		evictDistantPages();
+		fireRowCountChange(oldRows);
+
+		int first = page * pageSize;
+		int last = Math.min(first + books.size(), getRowCount()) - 1;
+		if (last >= first) {
+			fireTableRowsUpdated(first, last);
+		}
+
+		if (page == 0 && !firstPageNotified) {
+			firstPageNotified = true;
+			if (onFirstPage != null) {
+				onFirstPage.run();
+			}
+		}
+	}
+
+	private void evictDistantPages() {
+		while (pages.size() > MAX_RESIDENT_PAGES) {
+			int farthest = -1;
+			for (int page : pages.keySet()) {
+				if (farthest < 0 || Math.abs(page - currentPage) > Math.abs(farthest - currentPage)) {
+					farthest = page;
+				}
+			}
+			pages.remove(farthest);
+		}
+	}
+
+	private void fireRowCountChange(int oldRows) {
+		int newRows = getRowCount();
+		if (newRows > oldRows) {
+			fireTableRowsInserted(oldRows, newRows - 1);
+		} else if (newRows < oldRows) {
+			fireTableRowsDeleted(newRows, oldRows - 1);
+		}
+	}
+
+    /**
+     * Responsável por buscar uma página de livros no servidor.
+     */
+	@FunctionalInterface
+	public interface PageLoader {
+
+        /**
+         * Busca uma página de livros.
+         *
+         * @param page índice da página, iniciando em zero
+         * @param size quantidade de livros por página
+         * @param handle controle de cancelamento da requisição
+         * @return futuro com os livros da página
+         */
+		CompletableFuture<List<BookDTO>> load(int page, int size, RequestHandle handle);
+	}
+
+}
@@ -8,16 +8,19 @@ import java.awt.Window;
 import java.awt.datatransfer.DataFlavor;
 import java.io.File;
 import java.util.List;
+import java.util.Locale;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
 import javax.swing.TransferHandler;
 import javax.swing.border.EmptyBorder;
 
+import br.com.alpha7.client.infrastructure.http.UploadProgress;
 
 /**
  * Diálogo para importação de livros via arquivo CSV.
@@ -32,6 +35,12 @@ import javax.swing.border.EmptyBorder;
  * os botões "Limpar" e "Importar". O arquivo selecionado fica disponível
  * através de {@link #getSelectedFile()}.
  * </p>
+ *
+ * <p>
+ * Durante a importação, uma barra de progresso exibe os dados enviados, a
+ * taxa de envio e o tempo restante; após o envio, indica que o arquivo está
+ * sendo processado pelo servidor.
+ * </p>
  * 
  * @author Fernando Kramer De Souza
  * @since 1.0.0
@@ -48,6 +57,10 @@ public class BookSearchImportDialog extends JDialog {
 	private JLabel lblDrop;
 	private File selectedFile;
 	
+	private JPanel progressPanel;
+	private JProgressBar progressBar;
+	private JLabel lblProgress;
+	
     /**
      * Cria o diálogo de importação de livros.
      * 
@@ -69,7 +82,7 @@ public class BookSearchImportDialog extends JDialog {
     	add(createContent(), BorderLayout.CENTER);
     	add(createFooter(), BorderLayout.SOUTH);
     	
-    	setSize(500, 300);
+    	setSize(500, 340);
     }
     
     /**
@@ -90,10 +103,31 @@ public class BookSearchImportDialog extends JDialog {
     	dropArea.add(lblDrop, BorderLayout.CENTER);
     	
     	panel.add(dropArea, BorderLayout.CENTER);
+    	panel.add(createProgress(), BorderLayout.SOUTH);
     	
     	return panel;
     }
 
+    /**
+     * Cria o painel de progresso da importação, oculto até o início do envio.
+     * 
+     * @return painel de progresso
+     */
+    private JPanel createProgress() {
+    	
+    	progressPanel = new JPanel(new BorderLayout(5, 5));
+    	
+    	progressBar = new JProgressBar(0, 1000);
+    	progressBar.setStringPainted(true);
+    	lblProgress = new JLabel(" ", SwingConstants.CENTER);
+    	
+    	progressPanel.add(progressBar, BorderLayout.NORTH);
+    	progressPanel.add(lblProgress, BorderLayout.SOUTH);
+    	progressPanel.setVisible(false);
+    	
+    	return progressPanel;
+    }
+
     /**
      * Cria o rodapé com os botões "Limpar" e "Importar".
      * 
@@ -162,6 +196,94 @@ public class BookSearchImportDialog extends JDialog {
         lblDrop.setText("Arraste o arquivo aqui");
     }
 
+    /**
+     * Exibe o andamento do envio do arquivo.
+     * 
+     * <p>
+     * Deve ser chamado na Event Dispatch Thread.
+     * </p>
+     * 
+     * @param progress situação atual do envio
+     */
+    public void showProgress(UploadProgress progress) {
+    	progressPanel.setVisible(true);
+    	
+    	if (!progress.isTransferComplete()) {
+    		progressBar.setIndeterminate(false);
+    		progressBar.setValue((int) (progress.getFraction() * 1000));
+    		progressBar.setString(String.format(Locale.ROOT, "%.0f%%", progress.getFraction() * 100));
+    		lblProgress.setText(formatBytes(progress.getBytesSent()) + " de " + formatBytes(progress.getTotalBytes())
+    				+ " • " + formatBytes((long) progress.getBytesPerSecond()) + "/s"
+    				+ " • restante " + formatMillis(progress.getEtaMillis()));
+    		return;
+    	}
+    	
+    	if (!progress.isResponseReceived()) {
+    		progressBar.setIndeterminate(true);
+    		progressBar.setString("Processando no servidor...");
+    		lblProgress.setText("Envio concluído em " + formatMillis(progress.getTransferMillis()));
+    		return;
+    	}
+    	
+    	progressBar.setIndeterminate(false);
+    	progressBar.setValue(progressBar.getMaximum());
+    	progressBar.setString("Concluído");
+    	lblProgress.setText("Envio: " + formatMillis(progress.getTransferMillis())
+    			+ " • Servidor: " + formatMillis(progress.getServerMillis()));
+    }
+    
+    /**
+     * Exibe uma etapa sem andamento mensurável, como a validação do arquivo.
+     * 
+     * @param message descrição da etapa
+     */
+    public void showStatus(String message) {
+    	progressPanel.setVisible(true);
+    	progressBar.setIndeterminate(true);
+    	progressBar.setString(message);
+    	lblProgress.setText(" ");
+    }
+    
+    /**
+     * Oculta e reinicia a barra de progresso.
+     */
+    public void resetProgress() {
+    	progressBar.setIndeterminate(false);
+    	progressBar.setValue(0);
+    	lblProgress.setText(" ");
+    	progressPanel.setVisible(false);
+    }
+    
+    /**
+     * Formata uma quantidade de bytes em KB ou MB.
+     * 
+     * @param bytes quantidade de bytes
+     * @return texto formatado
+     */
+    public static String formatBytes(long bytes) {
+    	if (bytes < 1024 * 1024) {
+    		return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    	}
+    	return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+    
+    /**
+     * Formata uma duração em milissegundos como {@code mm:ss} ou segundos.
+     * 
+     * @param millis duração em milissegundos ou {@link UploadProgress#UNKNOWN}
+     * @return texto formatado
+     */
+    public static String formatMillis(long millis) {
+    	if (millis == UploadProgress.UNKNOWN) {
+    		return "--:--";
+    	}
+    	if (millis < 60_000) {
+    		return String.format(Locale.ROOT, "%.1f s", millis / 1000.0);
+    	}
+    	long seconds = millis / 1000;
+    	return String.format(Locale.ROOT, "%02d:%02d", seconds / 60, seconds % 60);
+    }
+
     /** Retorna o botão "Importar". */
 	public JButton getBtnImport() {
 		return btnImport;
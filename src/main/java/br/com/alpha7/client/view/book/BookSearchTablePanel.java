@@ -6,7 +6,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 
 /**
  * Painel de exibição da tabela de livros.
@@ -17,6 +16,11 @@ import javax.swing.table.DefaultTableModel;
  * É utilizado para exibir os resultados das buscas de livros e pode ser integrado
  * com controladores para preenchimento e manipulação dos dados.
  * </p>
+ *
+ * <p>
+ * A tabela utiliza o modelo colunar {@link BookTableModel}, que formata as
+ * células somente para as linhas visíveis.
+ * </p>
  * 
  * <p>
  * Fornece método {@link #getTable()} para acessar a {@link JTable} interna.
@@ -48,12 +52,7 @@ public class BookSearchTablePanel extends JPanel {
 	    JPanel panel = new JPanel(new BorderLayout());
 	    panel.setBorder(new EmptyBorder(10, 10, 10, 10));
 
-	    table = new JTable(new DefaultTableModel(
-	        new Object[][] {},
-	        new String[] {
-	            "Código", "ISBN", "Título", "Autor", "Editora", "Data de publicação", "Editar"
-	        }
-	    ));
+	    table = new JTable(new BookTableModel());
 
 	    JScrollPane scrollPane = new JScrollPane(table);
 	    panel.add(scrollPane, BorderLayout.CENTER);
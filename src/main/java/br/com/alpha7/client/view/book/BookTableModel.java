@@ -0,0 +1,125 @@
+package br.com.alpha7.client.view.book;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import br.com.alpha7.client.infrastructure.dto.BookDTO;
+
+/**
+ * Modelo de tabela de livros baseado em armazenamento colunar.
+ *
+ * <p>
+ * Os livros são mantidos em um {@link BookColumnStore} e as células são
+ * formatadas somente quando solicitadas pela {@link javax.swing.JTable}, ou
+ * seja, apenas para as linhas visíveis. Preencher a tabela com um grande
+ * volume de livros custa apenas a cópia dos campos para os arrays e um único
+ * evento de inserção por lote.
+ * </p>
+ *
+ * <p>
+ * Deve ser acessado somente na Event Dispatch Thread.
+ * </p>
+ *
+ * @author Fernando Kramer De Souza
+ * @since 1.0.0
+ */
+public class BookTableModel extends AbstractTableModel {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Nomes das colunas da tabela de livros. */
+	public static final String[] COLUMNS = {
+		"Código", "ISBN", "Título", "Autor", "Editora", "Data de publicação", "Editar"
+	};
+
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	private final transient BookColumnStore store = new BookColumnStore();
+
+    /**
+     * Substitui o conteúdo da tabela pelos livros informados.
+     *
+     * @param books livros a serem exibidos
+     */
+	public void setBooks(List<BookDTO> books) {
+		store.clear();
+		store.addAll(books);
+		fireTableDataChanged();
+	}
+
+    /**
+     * Acrescenta os livros ao final da tabela.
+     *
+     * @param books lote de livros a ser acrescentado
+     */
+	public void append(List<BookDTO> books) {
+		if (books.isEmpty()) {
+			return;
+		}
+		int first = store.size();
+		store.addAll(books);
+		fireTableRowsInserted(first, store.size() - 1);
+	}
+
+    /**
+     * Remove todas as linhas da tabela.
+     */
+	public void clear() {
+		store.clear();
+		fireTableDataChanged();
+	}
+
+	@Override
+	public int getRowCount() {
+		return store.size();
+	}
+
+	@Override
+	public int getColumnCount() {
+		return COLUMNS.length;
+	}
+
+	@Override
+	public String getColumnName(int column) {
+		return COLUMNS[column];
+	}
+
+	@Override
+	public Object getValueAt(int row, int column) {
+		return cellValue(store, row, column);
+	}
+
+    /**
+     * Formata a célula de uma linha do armazenamento colunar.
+     *
+     * @param store armazenamento que contém a linha
+     * @param row índice da linha no armazenamento
+     * @param column índice da coluna
+     * @return valor a ser exibido
+     */
+	static Object cellValue(BookColumnStore store, int row, int column) {
+		switch (column) {
+		case 0:
+			return store.getId(row);
+		case 1:
+			return store.getIsbn(row);
+		case 2:
+			return store.getTitle(row);
+		case 3:
+			return store.getAuthors(row);
+		case 4:
+			return store.getPublishers(row);
+		case 5:
+			LocalDate date = store.getPublicationDate(row);
+			return date != null ? date.format(FORMATTER) : "";
+		case 6:
+			return "Editar";
+		default:
+			return null;
+		}
+	}
+
+}